@@ -0,0 +1,48 @@
+package com.smartclinic.benchmark;
+
+import com.smartclinic.service.DoctorService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Doctor login with valid credentials, dominated by the BCrypt check on the verifier pool.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Thread)
+public class AuthBenchmark {
+
+    private DoctorService doctorService;
+
+    private BenchmarkData data;
+
+    private SplittableRandom random;
+
+    @Setup(Level.Trial)
+    public void setUp(ClinicState clinic) {
+        doctorService = clinic.bean(DoctorService.class);
+        data = clinic.data;
+        random = new SplittableRandom(42);
+    }
+
+    @Benchmark
+    public Object authenticateDoctor() {
+        String email = BenchmarkData.doctorEmail(1 + random.nextInt(data.doctorCount));
+        return doctorService.authenticateDoctor(email, BenchmarkData.PASSWORD);
+    }
+}
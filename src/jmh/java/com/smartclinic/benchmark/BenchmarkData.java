@@ -0,0 +1,52 @@
+package com.smartclinic.benchmark;
+
+import com.smartclinic.config.SyntheticDataGenerator;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+
+/**
+ * Benchmark data loaded by the synthetic data generator with a fixed seed.
+ * Creates rows patients and rows appointments and one doctor per 100 rows (at least 100).
+ * Availability and future appointments cover the next 60 days.
+ * Tables start empty, so doctor and patient IDs run from 1 to their count.
+ */
+public final class BenchmarkData {
+
+    public static final String PASSWORD = SyntheticDataGenerator.PASSWORD;
+
+    public static final String[] SPECIALIZATIONS = SyntheticDataGenerator.SPECIALIZATIONS;
+
+    public static final String[] FIRST_NAMES = SyntheticDataGenerator.FIRST_NAMES;
+
+    public static final String[] LAST_NAMES = SyntheticDataGenerator.LAST_NAMES;
+
+    public final int doctorCount;
+
+    public final int patientCount;
+
+    public final LocalDate firstDay;
+
+    private BenchmarkData(int doctorCount, int patientCount, LocalDate firstDay) {
+        this.doctorCount = doctorCount;
+        this.patientCount = patientCount;
+        this.firstDay = firstDay;
+    }
+
+    public static BenchmarkData seed(JdbcTemplate jdbc, int rows) {
+        int doctorCount = Math.max(100, rows / 100);
+        SyntheticDataGenerator generator = new SyntheticDataGenerator(jdbc, null);
+        generator.setSeed(42L);
+        generator.setDoctors(doctorCount);
+        generator.setPatients(rows);
+        generator.setAppointments(rows);
+        generator.setPastDays(30);
+        generator.setFutureDays(60);
+        generator.generate();
+        return new BenchmarkData(doctorCount, rows, LocalDate.now().plusDays(1));
+    }
+
+    public static String doctorEmail(int index) {
+        return SyntheticDataGenerator.doctorEmail(index);
+    }
+}
@@ -0,0 +1,99 @@
+package com.smartclinic.benchmark;
+
+import com.smartclinic.model.Appointment;
+import com.smartclinic.model.Doctor;
+import com.smartclinic.model.Patient;
+import com.smartclinic.service.AppointmentService;
+import com.smartclinic.service.AppointmentSlotIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Booking hot path: the in-memory conflict check, and a full createAppointment
+ * that is rolled back so the seeded data stays the same across iterations.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Thread)
+public class BookingBenchmark {
+
+    private AppointmentSlotIndex slotIndex;
+
+    private AppointmentService appointmentService;
+
+    private TransactionTemplate transactionTemplate;
+
+    private BenchmarkData data;
+
+    private SplittableRandom random;
+
+    @Setup(Level.Trial)
+    public void setUp(ClinicState clinic) {
+        slotIndex = clinic.bean(AppointmentSlotIndex.class);
+        appointmentService = clinic.bean(AppointmentService.class);
+        transactionTemplate = new TransactionTemplate(clinic.bean(PlatformTransactionManager.class));
+        data = clinic.data;
+        random = new SplittableRandom(42);
+    }
+
+    @Benchmark
+    public boolean hasConflict() {
+        return slotIndex.hasConflict(randomDoctorId(), randomDate(), randomTime(), 30, null);
+    }
+
+    @Benchmark
+    public Object createAppointment() {
+        Appointment appointment = new Appointment();
+        Doctor doctor = new Doctor();
+        doctor.setDoctorId(randomDoctorId());
+        Patient patient = new Patient();
+        patient.setPatientId(1L + random.nextInt(data.patientCount));
+        appointment.setDoctor(doctor);
+        appointment.setPatient(patient);
+        appointment.setAppointmentDate(randomDate());
+        appointment.setAppointmentTime(randomTime());
+        appointment.setDurationMinutes(30);
+        appointment.setAppointmentType("Consultation");
+
+        return transactionTemplate.execute(status -> {
+            status.setRollbackOnly();
+            try {
+                return appointmentService.createAppointment(appointment);
+            } catch (RuntimeException e) {
+                // Slot already taken; the rejected booking is part of the measured path
+                return e;
+            }
+        });
+    }
+
+    private long randomDoctorId() {
+        return 1L + random.nextInt(data.doctorCount);
+    }
+
+    private LocalDate randomDate() {
+        return data.firstDay.plusDays(random.nextInt(14));
+    }
+
+    private LocalTime randomTime() {
+        return LocalTime.of(9, 0).plusMinutes(15L * random.nextInt(32));
+    }
+}
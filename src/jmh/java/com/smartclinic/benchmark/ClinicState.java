@@ -0,0 +1,77 @@
+package com.smartclinic.benchmark;
+
+import com.smartclinic.SmartClinicManagementApplication;
+import com.smartclinic.service.AppointmentSlotIndex;
+import com.smartclinic.service.AvailabilityIndex;
+import com.smartclinic.service.DashboardStatsService;
+import com.smartclinic.service.NameSearchIndex;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Application context on an in-memory H2 database seeded with the requested number of rows.
+ * Shared by all benchmark threads of one trial; the in-memory indexes are rebuilt after seeding.
+ * The settings are passed as command-line arguments, which take precedence over application.properties:
+ * the tables start empty (no sample data), so BenchmarkData IDs run from 1, and the slow-query proxy is off.
+ */
+@State(Scope.Benchmark)
+public class ClinicState {
+
+    @Param({"10000", "100000", "1000000"})
+    public int rows;
+
+    public ConfigurableApplicationContext context;
+
+    public BenchmarkData data;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(SmartClinicManagementApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(
+                        "--spring.datasource.url=jdbc:h2:mem:bench" + rows + ";DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.jpa.open-in-view=false",
+                        "--spring.sql.init.mode=never",
+                        "--clinic.sql.slow-query.enabled=false",
+                        "--clinic.sql.slow-query.explain=false",
+                        "--spring.autoconfigure.exclude="
+                                + "org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration,"
+                                + "org.springframework.boot.actuate.autoconfigure.security.servlet.ManagementWebSecurityAutoConfiguration,"
+                                + "org.springframework.boot.autoconfigure.mongo.MongoAutoConfiguration,"
+                                + "org.springframework.boot.autoconfigure.data.mongo.MongoDataAutoConfiguration,"
+                                + "org.springframework.boot.autoconfigure.mongo.MongoReactiveAutoConfiguration,"
+                                + "org.springframework.boot.autoconfigure.data.mongo.MongoReactiveDataAutoConfiguration,"
+                                + "org.springframework.boot.autoconfigure.data.mongo.MongoReactiveRepositoriesAutoConfiguration",
+                        "--jwt.secret=benchmarkSecretKeyThatIsLongEnoughForHmacSha256Signing",
+                        "--security.password.bcrypt-strength=10",
+                        "--logging.level.root=WARN");
+
+        data = BenchmarkData.seed(context.getBean(JdbcTemplate.class), rows);
+
+        context.getBean(AppointmentSlotIndex.class).rebuild();
+        context.getBean(NameSearchIndex.class).rebuild();
+        context.getBean(AvailabilityIndex.class).rebuild();
+        context.getBean(DashboardStatsService.class).reconcile();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+}
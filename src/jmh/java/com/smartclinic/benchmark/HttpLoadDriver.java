@@ -0,0 +1,139 @@
+package com.smartclinic.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop HTTP load driver for comparing request execution modes.
+ * Each client sends GET requests back to back for the duration, cycling through the paths;
+ * prints throughput and latency percentiles of the measured phase.
+ *
+ * Usage: HttpLoadDriver baseUrl [clients=2000] [warmupSeconds=15] [seconds=60] [paths=/api/doctors/search/name?name=smith,...]
+ */
+public final class HttpLoadDriver {
+
+    private static final String DEFAULT_PATHS = "/api/doctors/search/name?name=smith,/api/doctors/1,/api/doctors/specializations,/doctors";
+
+    private HttpLoadDriver() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            System.err.println("Usage: HttpLoadDriver baseUrl [clients] [warmupSeconds] [seconds] [paths]");
+            System.exit(1);
+        }
+        String baseUrl = args[0];
+        int clients = args.length > 1 ? Integer.parseInt(args[1]) : 2000;
+        int warmupSeconds = args.length > 2 ? Integer.parseInt(args[2]) : 15;
+        int seconds = args.length > 3 ? Integer.parseInt(args[3]) : 60;
+        String[] paths = (args.length > 4 ? args[4] : DEFAULT_PATHS).split(",");
+
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        List<HttpRequest> requests = new ArrayList<>();
+        for (String path : paths) {
+            requests.add(HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(30)).GET().build());
+        }
+
+        AtomicBoolean measuring = new AtomicBoolean();
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicLong errors = new AtomicLong();
+        LatencyLog[] logs = new LatencyLog[clients];
+        CountDownLatch done = new CountDownLatch(clients);
+        for (int i = 0; i < clients; i++) {
+            LatencyLog log = new LatencyLog();
+            logs[i] = log;
+            int offset = i;
+            Thread thread = new Thread(() -> {
+                int next = offset;
+                try {
+                    while (running.get()) {
+                        HttpRequest request = requests.get(next++ % requests.size());
+                        long start = System.nanoTime();
+                        boolean ok;
+                        try {
+                            ok = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() < 500;
+                        } catch (Exception e) {
+                            ok = false;
+                        }
+                        long elapsed = System.nanoTime() - start;
+                        if (measuring.get()) {
+                            if (ok) {
+                                log.add(elapsed);
+                            } else {
+                                errors.incrementAndGet();
+                            }
+                        }
+                    }
+                } finally {
+                    done.countDown();
+                }
+            }, "load-client-" + i);
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        Thread.sleep(warmupSeconds * 1000L);
+        measuring.set(true);
+        long measureStart = System.nanoTime();
+        Thread.sleep(seconds * 1000L);
+        measuring.set(false);
+        double measuredSeconds = (System.nanoTime() - measureStart) / 1e9;
+        running.set(false);
+        done.await();
+
+        long[] all = LatencyLog.merge(logs);
+        Arrays.sort(all);
+        System.out.printf("clients=%d duration=%.1fs requests=%d errors=%d throughput=%.1f req/s%n",
+                clients, measuredSeconds, all.length, errors.get(), all.length / measuredSeconds);
+        System.out.printf("latency ms: p50=%.2f p95=%.2f p99=%.2f p99.9=%.2f max=%.2f%n",
+                percentile(all, 0.50), percentile(all, 0.95), percentile(all, 0.99), percentile(all, 0.999),
+                all.length == 0 ? 0.0 : all[all.length - 1] / 1e6);
+    }
+
+    private static double percentile(long[] sorted, double fraction) {
+        if (sorted.length == 0) {
+            return 0.0;
+        }
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(fraction * sorted.length) - 1)] / 1e6;
+    }
+
+    /**
+     * Latencies of one client in nanoseconds, written only by that client.
+     */
+    private static final class LatencyLog {
+        private long[] values = new long[1024];
+        private int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        static long[] merge(LatencyLog[] logs) {
+            int total = 0;
+            for (LatencyLog log : logs) {
+                total += log.size;
+            }
+            long[] all = new long[total];
+            int position = 0;
+            for (LatencyLog log : logs) {
+                System.arraycopy(log.values, 0, all, position, log.size);
+                position += log.size;
+            }
+            return all;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.smartclinic.benchmark;
+
+import com.smartclinic.dto.FreeSlot;
+import com.smartclinic.service.AvailabilityIndex;
+import com.smartclinic.service.DoctorService;
+import com.smartclinic.service.NameSearchIndex;
+import com.smartclinic.service.PatientService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Doctor search: name lookups through the service (index plus entity load),
+ * the bare patient typeahead index, available-doctor search by specialization,
+ * and the earliest free slots across a specialization over a 60-day horizon.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Thread)
+public class SearchBenchmark {
+
+    private DoctorService doctorService;
+
+    private PatientService patientService;
+
+    private NameSearchIndex nameSearchIndex;
+
+    private AvailabilityIndex availabilityIndex;
+
+    private BenchmarkData data;
+
+    private SplittableRandom random;
+
+    @Setup(Level.Trial)
+    public void setUp(ClinicState clinic) {
+        doctorService = clinic.bean(DoctorService.class);
+        patientService = clinic.bean(PatientService.class);
+        nameSearchIndex = clinic.bean(NameSearchIndex.class);
+        availabilityIndex = clinic.bean(AvailabilityIndex.class);
+        data = clinic.data;
+        random = new SplittableRandom(42);
+    }
+
+    @Benchmark
+    public Object searchDoctorsByName() {
+        return doctorService.searchDoctorsByName(randomName());
+    }
+
+    @Benchmark
+    public Object typeaheadPatients() {
+        return patientService.typeaheadPatients(randomPrefix(), NameSearchIndex.DEFAULT_TYPEAHEAD_LIMIT);
+    }
+
+    @Benchmark
+    public List<Long> searchPatientIndex() {
+        return nameSearchIndex.searchPatients(randomPrefix(), NameSearchIndex.DEFAULT_TYPEAHEAD_LIMIT);
+    }
+
+    @Benchmark
+    public List<Long> findAvailableDoctors() {
+        String specialization = BenchmarkData.SPECIALIZATIONS[random.nextInt(BenchmarkData.SPECIALIZATIONS.length)];
+        LocalDateTime dateTime = data.firstDay.plusDays(random.nextInt(14))
+                .atTime(LocalTime.of(9, 0).plusMinutes(15L * random.nextInt(32)));
+        return availabilityIndex.findAvailableDoctors(specialization, dateTime);
+    }
+
+    @Benchmark
+    public List<FreeSlot> findEarliestSlots() {
+        String specialization = BenchmarkData.SPECIALIZATIONS[random.nextInt(BenchmarkData.SPECIALIZATIONS.length)];
+        LocalDateTime from = data.firstDay.atTime(LocalTime.of(8, 0).plusMinutes(15L * random.nextInt(40)));
+        return availabilityIndex.findFreeSlots(specialization, from, 60, 30 * (1 + random.nextInt(2)), 20);
+    }
+
+    private String randomName() {
+        return BenchmarkData.LAST_NAMES[random.nextInt(BenchmarkData.LAST_NAMES.length)];
+    }
+
+    private String randomPrefix() {
+        String name = BenchmarkData.FIRST_NAMES[random.nextInt(BenchmarkData.FIRST_NAMES.length)];
+        return name.substring(0, 3 + random.nextInt(name.length() - 2));
+    }
+}
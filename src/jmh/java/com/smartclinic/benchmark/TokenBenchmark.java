@@ -0,0 +1,94 @@
+package com.smartclinic.benchmark;
+
+import com.smartclinic.service.TokenService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JWT generation and validation. Needs no database, so it runs on a bare TokenService;
+ * the rows parameter does not apply.
+ * claimsCacheEntries 0 turns the verified-claims cache off. validateToken repeats one token, so with
+ * the cache on it measures hits; validateDistinctTokens cycles through DISTINCT_TOKENS tokens, ten
+ * times the cache size, so nine in ten validations miss and verify the signature.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TokenBenchmark {
+
+    private static final String USERNAME = "doctor1@load.example";
+
+    private static final int DISTINCT_TOKENS = 100_000;
+
+    @Param({"0", "10000"})
+    public int claimsCacheEntries;
+
+    private TokenService tokenService;
+
+    private String token;
+
+    private String[] distinctTokens;
+
+    private String[] distinctUsernames;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        tokenService = new TokenService();
+        ReflectionTestUtils.setField(tokenService, "secret", "benchmarkSecretKeyThatIsLongEnoughForHmacSha256Signing");
+        ReflectionTestUtils.setField(tokenService, "expiration", 86400000L);
+        ReflectionTestUtils.setField(tokenService, "claimsCacheMaxEntries", claimsCacheEntries);
+        ReflectionTestUtils.setField(tokenService, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.invokeMethod(tokenService, "init");
+        token = tokenService.generateToken(USERNAME, "DOCTOR", 1L);
+
+        // Tokens issued in the same second for the same user are identical, so every token gets its own user
+        distinctTokens = new String[DISTINCT_TOKENS];
+        distinctUsernames = new String[DISTINCT_TOKENS];
+        for (int i = 0; i < DISTINCT_TOKENS; i++) {
+            distinctUsernames[i] = BenchmarkData.doctorEmail(i + 1);
+            distinctTokens[i] = tokenService.generateToken(distinctUsernames[i], "DOCTOR", i + 1L);
+        }
+    }
+
+    /**
+     * Position of one benchmark thread in the distinct tokens.
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return tokenService.generateToken(USERNAME, "DOCTOR", 1L);
+    }
+
+    @Benchmark
+    public Boolean validateToken() {
+        return tokenService.validateToken(token, USERNAME);
+    }
+
+    @Benchmark
+    public Boolean validateDistinctTokens(Cursor cursor) {
+        int i = cursor.next;
+        cursor.next = i + 1 == DISTINCT_TOKENS ? 0 : i + 1;
+        return tokenService.validateToken(distinctTokens[i], distinctUsernames[i]);
+    }
+}
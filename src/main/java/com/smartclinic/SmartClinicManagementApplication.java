@@ -1,5 +1,6 @@
 package com.smartclinic;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
@@ -15,9 +16,13 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 @EnableJpaRepositories(basePackages = "com.smartclinic.repository")
 public class SmartClinicManagementApplication {
 
+    /**
+     * BCrypt encoder with configurable cost (log2 rounds, 4-31, default 10).
+     * Existing hashes with a lower cost are upgraded on the next successful login.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${security.password.bcrypt-strength:10}") int strength) {
+        return new BCryptPasswordEncoder(strength);
     }
 
     public static void main(String[] args) {
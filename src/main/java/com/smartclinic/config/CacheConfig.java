@@ -0,0 +1,65 @@
+package com.smartclinic.config;
+
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.util.List;
+
+/**
+ * Hibernate second-level cache on a local Caffeine JCache provider.
+ * Region sizes and expiry live in application.conf; hit, miss, put and eviction counts of
+ * each region are published as cache.* metrics tagged with the region name.
+ */
+@Configuration
+public class CacheConfig {
+
+    /**
+     * Entity region of Doctor.
+     */
+    public static final String DOCTOR_REGION = "doctors";
+
+    /**
+     * Query region of the specialization list and doctor counts.
+     */
+    public static final String DOCTOR_DIRECTORY_REGION = "doctor-directory";
+
+    private static final List<String> REGIONS = List.of(DOCTOR_REGION, DOCTOR_DIRECTORY_REGION,
+            "default-query-results-region", "default-update-timestamps-region");
+
+    @Bean(destroyMethod = "close")
+    public CacheManager jcacheManager() {
+        return Caching.getCachingProvider(CaffeineCachingProvider.class.getName()).getCacheManager();
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager jcacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, jcacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "create");
+        };
+    }
+
+    @Bean
+    public MeterBinder secondLevelCacheMetrics(CacheManager jcacheManager) {
+        return registry -> {
+            for (String region : REGIONS) {
+                Cache<Object, Object> cache = jcacheManager.getCache(region);
+                if (cache != null) {
+                    JCacheMetrics.monitor(registry, cache);
+                }
+            }
+        };
+    }
+}
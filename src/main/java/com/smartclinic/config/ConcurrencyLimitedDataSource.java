@@ -0,0 +1,152 @@
+package com.smartclinic.config;
+
+import io.micrometer.core.instrument.Timer;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * DataSource that lets at most a fixed number of connections be checked out at once by virtual threads.
+ * Callers beyond the limit wait on a fair semaphore and fail after the acquire timeout
+ * instead of piling up inside the pool; the permit is returned when the connection is closed.
+ * Platform threads (the scheduler, the outbox worker, the slow-query log) bypass the limiter and
+ * draw on the pool connections left over above the limit, so background work never queues
+ * behind requests.
+ */
+final class ConcurrencyLimitedDataSource extends DelegatingDataSource {
+
+    // Thread.isVirtual() is Java 21 API and the build targets Java 17
+    private static final MethodHandle IS_VIRTUAL = lookUpIsVirtual();
+
+    private final Semaphore permits;
+
+    private final long acquireTimeoutMillis;
+
+    // Set once the meter registry is up; until then waits are not recorded
+    private volatile Timer waitTimer;
+
+    ConcurrencyLimitedDataSource(DataSource target, int maxConcurrency, long acquireTimeoutMillis) {
+        super(target);
+        this.permits = new Semaphore(maxConcurrency, true);
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!onVirtualThread()) {
+            return super.getConnection();
+        }
+        acquire();
+        return limited(() -> super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        if (!onVirtualThread()) {
+            return super.getConnection(username, password);
+        }
+        acquire();
+        return limited(() -> super.getConnection(username, password));
+    }
+
+    /**
+     * Threads currently waiting for a permit.
+     */
+    int queued() {
+        return permits.getQueueLength();
+    }
+
+    /**
+     * Permits not in use.
+     */
+    int available() {
+        return permits.availablePermits();
+    }
+
+    void setWaitTimer(Timer waitTimer) {
+        this.waitTimer = waitTimer;
+    }
+
+    private static MethodHandle lookUpIsVirtual() {
+        try {
+            return MethodHandles.publicLookup().findVirtual(Thread.class, "isVirtual", MethodType.methodType(boolean.class));
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Whether the caller runs on a virtual thread; always true before Java 21, so every caller is limited.
+     */
+    private static boolean onVirtualThread() {
+        if (IS_VIRTUAL == null) {
+            return true;
+        }
+        try {
+            return (boolean) IS_VIRTUAL.invoke(Thread.currentThread());
+        } catch (Throwable e) {
+            return true;
+        }
+    }
+
+    private void acquire() throws SQLException {
+        long start = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new SQLTransientConnectionException("Database concurrency limit reached; no permit within "
+                        + acquireTimeoutMillis + " ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a database permit", e);
+        } finally {
+            Timer timer = waitTimer;
+            if (timer != null) {
+                timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    private Connection limited(ConnectionSupplier supplier) throws SQLException {
+        Connection connection;
+        try {
+            connection = supplier.get();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if ("close".equals(method.getName()) && released.compareAndSet(false, true)) {
+                        try {
+                            connection.close();
+                        } finally {
+                            permits.release();
+                        }
+                        return null;
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                });
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSupplier {
+        Connection get() throws SQLException;
+    }
+}
@@ -0,0 +1,168 @@
+package com.smartclinic.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency timers for every public service method and every repository call, plus the number
+ * of rows each repository query returned.
+ *
+ * Service timers (clinic.service) wrap the transaction, so they include commit time.
+ * Repository timers (clinic.repository) cover one Spring Data call each; row counts
+ * (clinic.repository.rows) are recorded for list, page, slice and optional results.
+ * Meters of successful calls are looked up once per method and cached. The running repository
+ * method is also published to QueryOrigin so slow statements can name their caller.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class HotPathMetricsAspect {
+
+    static final String SERVICE_TIMER = "clinic.service";
+
+    static final String REPOSITORY_TIMER = "clinic.repository";
+
+    static final String REPOSITORY_ROWS = "clinic.repository.rows";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final Map<Method, Timer> serviceTimers = new ConcurrentHashMap<>();
+
+    // Keyed by proxy class first: inherited methods such as findById are shared by all repositories
+    private final Map<Class<?>, Map<Method, RepositoryMeters>> repositoryMeters = new ConcurrentHashMap<>();
+
+    private final Map<Class<?>, String> repositoryNames = new ConcurrentHashMap<>();
+
+    @Around("@within(org.springframework.stereotype.Service) && execution(public * *(..))")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        String className = joinPoint.getTarget().getClass().getSimpleName();
+        long start = System.nanoTime();
+        try {
+            Object result = joinPoint.proceed();
+            serviceTimers.computeIfAbsent(method, m -> serviceTimer(className, m.getName(), "none"))
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (Throwable e) {
+            serviceTimer(className, method.getName(), e.getClass().getSimpleName())
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Object proxy = joinPoint.getThis();
+        String repository = repositoryName(proxy);
+        RepositoryMeters meters = repositoryMeters
+                .computeIfAbsent(proxy.getClass(), type -> new ConcurrentHashMap<>())
+                .computeIfAbsent(method, m -> new RepositoryMeters(repository + "." + m.getName(),
+                        repositoryTimer(repository, m.getName(), "none"),
+                        DistributionSummary.builder(REPOSITORY_ROWS)
+                                .description("Rows returned by a repository query")
+                                .tag("repository", repository)
+                                .tag("method", m.getName())
+                                .register(meterRegistry)));
+        String outerOrigin = QueryOrigin.enter(meters.origin);
+        long start = System.nanoTime();
+        try {
+            Object result = joinPoint.proceed();
+            meters.timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            long rows = rowCount(result);
+            if (rows >= 0) {
+                meters.rows.record(rows);
+            }
+            return result;
+        } catch (Throwable e) {
+            repositoryTimer(repository, method.getName(), e.getClass().getSimpleName())
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        } finally {
+            QueryOrigin.exit(outerOrigin);
+        }
+    }
+
+    private Timer serviceTimer(String className, String method, String exception) {
+        return Timer.builder(SERVICE_TIMER)
+                .description("Service method latency")
+                .tag("class", className)
+                .tag("method", method)
+                .tag("exception", exception)
+                .register(meterRegistry);
+    }
+
+    private Timer repositoryTimer(String repository, String method, String exception) {
+        return Timer.builder(REPOSITORY_TIMER)
+                .description("Repository call latency")
+                .tag("repository", repository)
+                .tag("method", method)
+                .tag("exception", exception)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Simple name of the application repository interface behind a Spring Data proxy,
+     * so inherited methods such as findById are tagged with the repository they were called on.
+     */
+    private String repositoryName(Object proxy) {
+        return repositoryNames.computeIfAbsent(proxy.getClass(), type -> {
+            for (Class<?> candidate : AopProxyUtils.proxiedUserInterfaces(proxy)) {
+                if (candidate.getPackageName().startsWith("com.smartclinic")) {
+                    return candidate.getSimpleName();
+                }
+            }
+            return type.getSimpleName();
+        });
+    }
+
+    /**
+     * Rows in a query result, or -1 when the result is not a row container (counts, streams, void).
+     */
+    private static long rowCount(Object result) {
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Slice<?> slice) {
+            return slice.getNumberOfElements();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        return -1;
+    }
+
+    private static final class RepositoryMeters {
+
+        private final String origin;
+
+        private final Timer timer;
+
+        private final DistributionSummary rows;
+
+        private RepositoryMeters(String origin, Timer timer, DistributionSummary rows) {
+            this.origin = origin;
+            this.timer = timer;
+            this.rows = rows;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.smartclinic.config;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Percentile histograms for the service methods that carry SLOs.
+ * Histograms are what Prometheus needs to compute p95/p99 across instances, but each one adds
+ * a few dozen buckets per tag combination, so they are only turned on for the booking and
+ * search paths listed in clinic.metrics.histogram-methods (ClassName.methodName).
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Value("${clinic.metrics.histogram-methods:}")
+    private List<String> histogramMethods;
+
+    @Bean
+    public MeterFilter serviceHistogramFilter() {
+        Set<String> methods = new HashSet<>(histogramMethods);
+        return new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                if (HotPathMetricsAspect.SERVICE_TIMER.equals(id.getName())
+                        && methods.contains(id.getTag("class") + "." + id.getTag("method"))) {
+                    return DistributionStatisticConfig.builder()
+                            .percentilesHistogram(true)
+                            .build()
+                            .merge(config);
+                }
+                return config;
+            }
+        };
+    }
+}
@@ -0,0 +1,49 @@
+package com.smartclinic.config;
+
+import com.smartclinic.model.Prescription;
+import com.smartclinic.repository.PrescriptionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.config.EnableReactiveMongoAuditing;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.ReactiveIndexOperations;
+import org.springframework.data.mongodb.repository.config.EnableReactiveMongoRepositories;
+import reactor.core.publisher.Flux;
+
+/**
+ * Reactive MongoDB for prescriptions, enabled by the mongo profile.
+ * Other profiles exclude the MongoDB auto-configuration, so the reactive repository is only
+ * registered here. Auditing fills createdAt and updatedAt, and the indexes behind the
+ * appointment, patient and newest-first lookups are created once the application is ready.
+ */
+@Configuration
+@Profile("mongo")
+@EnableReactiveMongoRepositories(basePackageClasses = PrescriptionRepository.class)
+@EnableReactiveMongoAuditing
+public class PrescriptionMongoConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(PrescriptionMongoConfig.class);
+
+    @Autowired
+    private ReactiveMongoTemplate mongoTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndexes() {
+        ReactiveIndexOperations indexes = mongoTemplate.indexOps(Prescription.class);
+        Flux.just(
+                        new Index().on("appointmentId", Sort.Direction.ASC),
+                        new Index().on("patientId", Sort.Direction.ASC).on("_id", Sort.Direction.DESC),
+                        new Index().on("patientInfo.name", Sort.Direction.ASC).on("_id", Sort.Direction.ASC),
+                        new Index().on("medications.dosage", Sort.Direction.ASC))
+                .concatMap(indexes::ensureIndex)
+                .subscribe(name -> log.debug("Ensured prescription index {}", name),
+                        e -> log.warn("Could not create prescription indexes", e));
+    }
+}
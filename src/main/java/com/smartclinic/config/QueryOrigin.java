@@ -0,0 +1,34 @@
+package com.smartclinic.config;
+
+/**
+ * Repository method currently running on this thread, as Repository.method.
+ * Set by HotPathMetricsAspect around every repository call and read by the slow-query log.
+ */
+final class QueryOrigin {
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private QueryOrigin() {
+    }
+
+    /**
+     * Mark the start of a repository call; returns the outer origin to restore afterwards.
+     */
+    static String enter(String origin) {
+        String outer = CURRENT.get();
+        CURRENT.set(origin);
+        return outer;
+    }
+
+    static void exit(String outer) {
+        if (outer == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(outer);
+        }
+    }
+
+    static String current() {
+        return CURRENT.get();
+    }
+}
@@ -0,0 +1,88 @@
+package com.smartclinic.config;
+
+import com.smartclinic.service.DoctorService;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * Read-replica routing, enabled by the read-replica profile.
+ * Replaces the auto-configured DataSource with one that keeps writes on the primary
+ * (spring.datasource.*) and sends read-only service transactions to the replica
+ * (clinic.datasource.replica.*). Both pools are built here rather than as beans, so the
+ * router is the only DataSource in the context and other wrappers apply to it once.
+ * Both pools publish hikaricp.* metrics tagged pool=primary and pool=replica.
+ */
+@Configuration
+@Profile("read-replica")
+public class ReadReplicaConfig {
+
+    @Bean
+    public DataSource dataSource(DataSourceProperties properties, Environment environment,
+                                 ObjectProvider<MeterRegistry> meterRegistry) {
+        Binder binder = Binder.get(environment);
+
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        primary.setPoolName("primary");
+
+        String replicaUrl = environment.getProperty("clinic.datasource.replica.url");
+        if (replicaUrl == null || replicaUrl.isBlank()) {
+            throw new IllegalStateException("The read-replica profile needs clinic.datasource.replica.url");
+        }
+        HikariDataSource replica = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(environment.getProperty("clinic.datasource.replica.driver-class-name",
+                        properties.determineDriverClassName()))
+                .url(replicaUrl)
+                .username(environment.getProperty("clinic.datasource.replica.username", properties.determineUsername()))
+                .password(environment.getProperty("clinic.datasource.replica.password", properties.determinePassword()))
+                .build();
+        binder.bind("clinic.datasource.replica.hikari", Bindable.ofInstance(replica));
+        replica.setPoolName("replica");
+        replica.setReadOnly(true);
+
+        meterRegistry.ifAvailable(registry -> {
+            primary.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+            replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+        });
+
+        return new ReadReplicaDataSource(primary, replica, DoctorService.class.getPackageName(),
+                environment.getProperty("clinic.datasource.replica.max-lag-ms", Long.class, 1000L),
+                environment.getProperty("clinic.datasource.replica.lag-query"),
+                environment.getProperty("clinic.datasource.replica.lag-check-interval-ms", Long.class, 1000L));
+    }
+
+    @Bean
+    public MeterBinder readReplicaMetrics(DataSource dataSource) {
+        return registry -> {
+            ReadReplicaDataSource routing;
+            try {
+                routing = dataSource.unwrap(ReadReplicaDataSource.class);
+            } catch (SQLException e) {
+                return;
+            }
+            Gauge.builder("clinic.db.replica.lag", routing, ReadReplicaDataSource::lagMillis)
+                    .description("Replication lag from the last check in milliseconds, -1 when unknown")
+                    .baseUnit("milliseconds")
+                    .register(registry);
+            Gauge.builder("clinic.db.replica.usable", routing, r -> r.replicaUsable() ? 1 : 0)
+                    .description("1 while read-only service transactions are sent to the replica")
+                    .register(registry);
+        };
+    }
+}
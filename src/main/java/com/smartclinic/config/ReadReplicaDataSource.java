@@ -0,0 +1,147 @@
+package com.smartclinic.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DataSource that sends read-only service transactions to a replica and everything else to the primary.
+ * A transaction goes to the replica only when it is read-only, was started by a method in the
+ * service package, and the replica passed its last lag check. Repository calls made outside a
+ * service transaction (index warm-up, login lookups) always read the primary.
+ *
+ * The routing decision needs the transaction's read-only flag, which Spring sets after the
+ * transaction has begun, so the physical connection is fetched lazily on the first statement.
+ * A background thread runs the lag query against the replica every check interval; while lag is
+ * above the limit or the query fails, reads fall back to the primary.
+ */
+final class ReadReplicaDataSource extends LazyConnectionDataSourceProxy implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReadReplicaDataSource.class);
+
+    private static final String PRIMARY = "primary";
+
+    private static final String REPLICA = "replica";
+
+    private final DataSource primary;
+
+    private final DataSource replica;
+
+    private final String servicePackagePrefix;
+
+    private final long maxLagMillis;
+
+    private final String lagQuery;
+
+    private final ScheduledExecutorService lagChecker;
+
+    private volatile long lagMillis;
+
+    private volatile boolean replicaUsable = true;
+
+    ReadReplicaDataSource(DataSource primary, DataSource replica, String servicePackage,
+                          long maxLagMillis, String lagQuery, long checkIntervalMillis) {
+        this.primary = primary;
+        this.replica = replica;
+        this.servicePackagePrefix = servicePackage + ".";
+        this.maxLagMillis = maxLagMillis;
+        this.lagQuery = lagQuery;
+
+        AbstractRoutingDataSource router = new AbstractRoutingDataSource() {
+            @Override
+            protected Object determineCurrentLookupKey() {
+                return routesToReplica() ? REPLICA : PRIMARY;
+            }
+        };
+        router.setTargetDataSources(Map.of(PRIMARY, primary, REPLICA, replica));
+        router.setDefaultTargetDataSource(primary);
+        router.setLenientFallback(false);
+        router.afterPropertiesSet();
+        setTargetDataSource(router);
+
+        if (lagQuery != null && !lagQuery.isBlank()) {
+            lagChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "replica-lag-check");
+                thread.setDaemon(true);
+                return thread;
+            });
+            lagChecker.scheduleWithFixedDelay(this::checkLag, 0, checkIntervalMillis, TimeUnit.MILLISECONDS);
+        } else {
+            lagChecker = null;
+        }
+    }
+
+    /**
+     * Replication lag in milliseconds from the last check; 0 without a lag query, -1 when unknown.
+     */
+    long lagMillis() {
+        return lagMillis;
+    }
+
+    /**
+     * Whether read-only service transactions currently go to the replica.
+     */
+    boolean replicaUsable() {
+        return replicaUsable;
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (lagChecker != null) {
+            lagChecker.shutdownNow();
+        }
+        if (replica instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+        if (primary instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private boolean routesToReplica() {
+        if (!replicaUsable || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return false;
+        }
+        String transactionName = TransactionSynchronizationManager.getCurrentTransactionName();
+        return transactionName != null && transactionName.startsWith(servicePackagePrefix);
+    }
+
+    private void checkLag() {
+        boolean wasUsable = replicaUsable;
+        long lag = -1L;
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery(lagQuery)) {
+            // No row or NULL means the lag is unknown, e.g. replication is stopped; reads fall back to the primary
+            if (result.next()) {
+                lag = result.getLong(1);
+                if (result.wasNull()) {
+                    lag = -1L;
+                }
+            }
+        } catch (SQLException | RuntimeException e) {
+            if (wasUsable) {
+                log.warn("Replica lag check failed", e);
+            }
+        }
+        lagMillis = lag;
+        replicaUsable = lag >= 0 && lag <= maxLagMillis;
+        if (wasUsable && !replicaUsable) {
+            log.warn("Replica lag {} ms is unknown or above {} ms, reading from the primary", lag, maxLagMillis);
+        } else if (!wasUsable && replicaUsable) {
+            log.info("Replica lag back to {} ms, reading from the replica again", lag);
+        }
+    }
+}
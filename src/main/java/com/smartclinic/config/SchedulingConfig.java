@@ -0,0 +1,12 @@
+package com.smartclinic.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables scheduled background jobs such as counter reconciliation.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
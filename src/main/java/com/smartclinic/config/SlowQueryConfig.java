@@ -0,0 +1,38 @@
+package com.smartclinic.config;
+
+import com.smartclinic.service.SlowQueryLog;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * Slow-query logging in place of spring.jpa.show-sql.
+ * Wraps the DataSource so every statement is timed; statements over
+ * clinic.sql.slow-query.threshold-ms are recorded by SlowQueryLog with their bind parameters,
+ * calling repository method and EXPLAIN plan. Disable with clinic.sql.slow-query.enabled=false.
+ */
+@Configuration
+public class SlowQueryConfig {
+
+    /**
+     * Wraps the DataSource in the statement timer.
+     * Static so it is registered before the DataSource bean is created.
+     */
+    @Bean
+    public static BeanPostProcessor slowQueryTimer(Environment environment, ObjectProvider<SlowQueryLog> slowQueryLog) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof SlowQueryDataSource)
+                        && environment.getProperty("clinic.sql.slow-query.enabled", Boolean.class, true)) {
+                    return new SlowQueryDataSource(dataSource, slowQueryLog.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+}
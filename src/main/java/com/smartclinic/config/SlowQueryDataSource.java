@@ -0,0 +1,151 @@
+package com.smartclinic.config;
+
+import com.smartclinic.service.SlowQueryLog;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+
+/**
+ * DataSource that times every statement and hands the ones over the slow-query threshold to
+ * SlowQueryLog together with their bind parameters and the repository method that issued them.
+ * Bind values are kept per statement as they are set; nothing is formatted or logged on the
+ * executing thread.
+ */
+final class SlowQueryDataSource extends DelegatingDataSource {
+
+    private final SlowQueryLog slowQueryLog;
+
+    SlowQueryDataSource(DataSource target, SlowQueryLog slowQueryLog) {
+        super(target);
+        this.slowQueryLog = slowQueryLog;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return timed(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return timed(super.getConnection(username, password));
+    }
+
+    private Connection timed(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    Object result = invoke(connection, method, args);
+                    String name = method.getName();
+                    if (result instanceof CallableStatement statement && "prepareCall".equals(name)) {
+                        return statementProxy(statement, CallableStatement.class, (String) args[0]);
+                    }
+                    if (result instanceof PreparedStatement statement && "prepareStatement".equals(name)) {
+                        return statementProxy(statement, PreparedStatement.class, (String) args[0]);
+                    }
+                    if (result instanceof Statement statement && "createStatement".equals(name)) {
+                        return statementProxy(statement, Statement.class, null);
+                    }
+                    return result;
+                });
+    }
+
+    private Object statementProxy(Statement statement, Class<? extends Statement> type, String sql) {
+        return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, new TimedStatement(statement, sql));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    /**
+     * Captures bind values and times execute* calls of one statement.
+     */
+    private final class TimedStatement implements InvocationHandler {
+
+        private final Statement statement;
+
+        // Prepared SQL, or the SQL of the last plain-statement execute/addBatch
+        private String sql;
+
+        private Object[] parameters = new Object[8];
+
+        private int parameterCount;
+
+        private TimedStatement(Statement statement, String sql) {
+            this.statement = statement;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.startsWith("execute")) {
+                if (args != null && args.length > 0 && args[0] instanceof String statementSql) {
+                    sql = statementSql;
+                }
+                long start = System.nanoTime();
+                try {
+                    return SlowQueryDataSource.invoke(statement, method, args);
+                } finally {
+                    long elapsed = System.nanoTime() - start;
+                    if (slowQueryLog.isSlow(elapsed) && sql != null) {
+                        String caller = QueryOrigin.current();
+                        slowQueryLog.record("executeBatch".equals(name) ? sql + " /* batch */" : sql,
+                                Arrays.copyOf(parameters, parameterCount), elapsed,
+                                caller != null ? caller : callerFromStack(), getTargetDataSource());
+                    }
+                }
+            }
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                bind(index, "setNull".equals(name) ? null : args[1]);
+            } else if ("clearParameters".equals(name)) {
+                Arrays.fill(parameters, 0, parameterCount, null);
+                parameterCount = 0;
+            } else if ("addBatch".equals(name) && args != null && args.length == 1 && args[0] instanceof String batchSql) {
+                sql = batchSql;
+            }
+            return SlowQueryDataSource.invoke(statement, method, args);
+        }
+
+        private void bind(int index, Object value) {
+            if (index < 1) {
+                return;
+            }
+            if (index > parameters.length) {
+                parameters = Arrays.copyOf(parameters, Math.max(index, parameters.length * 2));
+            }
+            parameters[index - 1] = value;
+            parameterCount = Math.max(parameterCount, index);
+        }
+    }
+
+    /**
+     * First application frame outside this package, for statements not issued through a repository
+     * (JdbcTemplate calls in services). Only walked for slow statements.
+     */
+    private static String callerFromStack() {
+        String configPackage = SlowQueryDataSource.class.getPackageName();
+        return StackWalker.getInstance().walk(frames -> frames
+                .filter(frame -> frame.getClassName().startsWith("com.smartclinic.")
+                        && !frame.getClassName().startsWith(configPackage + "."))
+                .map(frame -> {
+                    String className = frame.getClassName();
+                    return className.substring(className.lastIndexOf('.') + 1) + "." + frame.getMethodName();
+                })
+                .findFirst()
+                .orElse("unknown"));
+    }
+}
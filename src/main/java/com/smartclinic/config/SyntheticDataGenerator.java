@@ -0,0 +1,553 @@
+package com.smartclinic.config;
+
+import com.smartclinic.model.Prescription;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.sql.Date;
+import java.sql.Time;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Synthetic Data Generator
+ * Bulk-loads a deterministic, production-sized clinic for load and performance testing.
+ * The same seed and sizes always produce the same data. Rows are streamed to the database in
+ * JDBC batches instead of being built up front; only compact per-doctor and per-patient arrays
+ * are kept so appointments and prescriptions can reference them.
+ *
+ * Doctor popularity follows a Zipf distribution and appointment times cluster around the
+ * morning and afternoon peaks. Appointments never overlap for a doctor, so fully booked
+ * popular doctors spill over to others. Past appointments are mostly completed, and a share of
+ * those gets a prescription document when a MongoTemplate is given.
+ *
+ * Expects empty doctor, patient and appointment tables; generated e-mails are unique per index.
+ */
+public class SyntheticDataGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+
+    /**
+     * Password of every generated doctor and patient.
+     */
+    public static final String PASSWORD = "loadtest-password";
+
+    public static final String[] SPECIALIZATIONS = {
+            "Cardiologist", "Neurologist", "Orthopedist", "Pediatrician", "Dermatologist",
+            "Oncologist", "Psychiatrist", "Radiologist", "Urologist", "Ophthalmologist",
+            "Internal Medicine", "Family Medicine", "Endocrinologist", "Gastroenterologist", "Pulmonologist"
+    };
+
+    public static final String[] FIRST_NAMES = {
+            "Emily", "Mark", "Sarah", "Tom", "Alice", "John", "Maria", "David", "Olivia", "James",
+            "Sophia", "Daniel", "Laura", "Michael", "Anna", "Robert", "Elena", "Peter", "Grace", "Lucas",
+            "Hannah", "Samuel", "Chloe", "Noah", "Isabella", "Ethan", "Mia", "Liam", "Ava", "Benjamin",
+            "Zoe", "Henry", "Lily", "Jack", "Nora", "Owen", "Ruby", "Leo", "Clara", "Adam"
+    };
+
+    public static final String[] LAST_NAMES = {
+            "Adams", "Johnson", "Lee", "Wilson", "Brown", "Smith", "Garcia", "Miller", "Davis", "Moore",
+            "Taylor", "Anderson", "Thomas", "Jackson", "White", "Harris", "Martin", "Clark", "Lewis", "Walker",
+            "Young", "Allen", "King", "Wright", "Scott", "Green", "Baker", "Nelson", "Carter", "Mitchell",
+            "Perez", "Roberts", "Turner", "Phillips", "Campbell", "Parker", "Evans", "Edwards", "Collins", "Stewart"
+    };
+
+    private static final String[] APPOINTMENT_TYPES = {
+            "Consultation", "Follow-up", "Examination", "Check-up", "Procedure"
+    };
+
+    private static final String[] DIAGNOSES = {
+            "Hypertension", "Type 2 Diabetes", "Migraine", "Asthma", "Osteoarthritis",
+            "Eczema", "Anxiety Disorder", "Hypothyroidism", "Acid Reflux", "Seasonal Allergies"
+    };
+
+    private static final String[] MEDICATIONS = {
+            "Lisinopril", "Metformin", "Sumatriptan", "Albuterol", "Ibuprofen",
+            "Hydrocortisone", "Sertraline", "Levothyroxine", "Omeprazole", "Cetirizine"
+    };
+
+    private static final String EMAIL_DOMAIN = "@load.example";
+
+    private static final int BATCH_SIZE = 5000;
+
+    private static final int DOCUMENT_BATCH_SIZE = 1000;
+
+    private static final LocalTime OPENING = LocalTime.of(8, 0);
+
+    private static final int SLOT_MINUTES = 30;
+
+    /**
+     * Relative demand for each 30-minute slot from 08:00 to 18:00; peaks mid-morning and mid-afternoon.
+     */
+    private static final int[] SLOT_WEIGHTS = {
+            3, 5, 8, 10, 10, 8, 6, 4, 2, 2, 4, 6, 9, 10, 9, 7, 5, 4, 3, 2
+    };
+
+    private static final int SLOTS_PER_DAY = SLOT_WEIGHTS.length;
+
+    /**
+     * Random (doctor, day, slot) picks before falling back to the next free slot in order.
+     */
+    private static final int MAX_PICKS = 8;
+
+    /**
+     * One pooled allocation of appointments_seq; the sequence is moved this far past the last generated ID.
+     */
+    private static final int SEQUENCE_HEADROOM = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final MongoTemplate mongoTemplate;
+
+    private long seed = 42L;
+
+    private int doctors = 1000;
+
+    private int patients = 100000;
+
+    private int appointments = 1000000;
+
+    private int pastDays = 120;
+
+    private int futureDays = 60;
+
+    private double doctorSkew = 1.0;
+
+    private double prescriptionRatio = 0.3;
+
+    /**
+     * @param mongoTemplate may be null, in which case no prescriptions are generated
+     */
+    public SyntheticDataGenerator(JdbcTemplate jdbcTemplate, MongoTemplate mongoTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * E-mail of the generated doctor with the given 1-based index.
+     */
+    public static String doctorEmail(int index) {
+        return "doctor" + index + EMAIL_DOMAIN;
+    }
+
+    /**
+     * E-mail of the generated patient with the given 1-based index.
+     */
+    public static String patientEmail(int index) {
+        return "patient" + index + EMAIL_DOMAIN;
+    }
+
+    /**
+     * Generate and load everything.
+     * Past appointments span pastDays before today; future ones, and the availability
+     * that covers them, span futureDays from today.
+     */
+    public void generate() {
+        int days = pastDays + futureDays;
+        long capacity = (long) doctors * days * SLOTS_PER_DAY;
+        if (capacity > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many doctor slots to track: " + capacity);
+        }
+        if (appointments > capacity) {
+            throw new IllegalArgumentException("Cannot fit " + appointments + " appointments into "
+                    + capacity + " doctor slots; add doctors or days");
+        }
+
+        long started = System.currentTimeMillis();
+        Random random = new Random(seed);
+        String passwordHash = new BCryptPasswordEncoder().encode(PASSWORD);
+
+        DoctorData doctorData = loadDoctors(random, passwordHash);
+        log.info("Generated {} doctors in {} ms", doctors, System.currentTimeMillis() - started);
+
+        PatientData patientData = loadPatients(random, passwordHash);
+        log.info("Generated {} patients in {} ms", patients, System.currentTimeMillis() - started);
+
+        int availabilityRows = loadAvailability(random, doctorData);
+        log.info("Generated {} availability rows in {} ms", availabilityRows, System.currentTimeMillis() - started);
+
+        int prescriptions = loadAppointments(random, doctorData, patientData);
+        log.info("Generated {} appointments and {} prescriptions in {} ms", appointments, prescriptions,
+                System.currentTimeMillis() - started);
+    }
+
+    private DoctorData loadDoctors(Random random, String passwordHash) {
+        DoctorData data = new DoctorData(doctors);
+        Batch batch = new Batch("INSERT INTO doctors (email, password_hash, first_name, last_name, specialization, " +
+                "license_number, phone_number, bio, years_experience, consultation_fee, office_location, " +
+                "working_hours_start, working_hours_end, is_active, created_at, updated_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, '08:00:00', '18:00:00', true, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)");
+        for (int i = 0; i < doctors; i++) {
+            String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+            String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            String specialization = SPECIALIZATIONS[random.nextInt(SPECIALIZATIONS.length)];
+            String license = String.format("LT%08d", i + 1);
+            data.names[i] = "Dr. " + firstName + " " + lastName;
+            data.specializations[i] = specialization;
+            data.licenses[i] = license;
+            batch.add(doctorEmail(i + 1), passwordHash, firstName, lastName, specialization, license,
+                    String.format("+1555%07d", i + 1), specialization + " seeing patients since "
+                            + (2000 + random.nextInt(24)), 1 + random.nextInt(35), 100 + random.nextInt(250),
+                    "Room " + (100 + random.nextInt(400)));
+        }
+        batch.flush();
+        data.ids = generatedIds("SELECT doctor_id FROM doctors WHERE email LIKE ? ORDER BY doctor_id", doctors);
+
+        // Popularity ranks are shuffled so popular doctors are spread over specializations
+        int[] rankToDoctor = new int[doctors];
+        for (int i = 0; i < doctors; i++) {
+            rankToDoctor[i] = i;
+        }
+        for (int i = doctors - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = rankToDoctor[i];
+            rankToDoctor[i] = rankToDoctor[j];
+            rankToDoctor[j] = swap;
+        }
+        double total = 0;
+        for (int rank = 0; rank < doctors; rank++) {
+            total += 1.0 / Math.pow(rank + 1, doctorSkew);
+            data.cumulativePopularity[rank] = total;
+        }
+        data.rankToDoctor = rankToDoctor;
+        return data;
+    }
+
+    private PatientData loadPatients(Random random, String passwordHash) {
+        PatientData data = new PatientData(patients);
+        LocalDate today = LocalDate.now();
+        Batch batch = new Batch("INSERT INTO patients (email, password_hash, first_name, last_name, phone_number, " +
+                "date_of_birth, gender, address, blood_type, is_active, created_at, updated_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, true, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)");
+        String[] bloodTypes = {"O+", "A+", "B+", "O-", "A-", "AB+", "B-", "AB-"};
+        for (int i = 0; i < patients; i++) {
+            int firstName = random.nextInt(FIRST_NAMES.length);
+            int lastName = random.nextInt(LAST_NAMES.length);
+            int age = 1 + random.nextInt(95);
+            data.firstNames[i] = (byte) firstName;
+            data.lastNames[i] = (byte) lastName;
+            data.ages[i] = (byte) age;
+            batch.add(patientEmail(i + 1), passwordHash, FIRST_NAMES[firstName], LAST_NAMES[lastName],
+                    String.format("+1888%07d", i + 1), Date.valueOf(today.minusYears(age).minusDays(random.nextInt(365))),
+                    random.nextBoolean() ? "FEMALE" : "MALE", (1 + random.nextInt(999)) + " Main St",
+                    bloodTypes[random.nextInt(bloodTypes.length)]);
+        }
+        batch.flush();
+        data.ids = generatedIds("SELECT patient_id FROM patients WHERE email LIKE ? ORDER BY patient_id", patients);
+        return data;
+    }
+
+    /**
+     * One working day per doctor per upcoming weekday, with occasional lunch breaks and days off.
+     */
+    private int loadAvailability(Random random, DoctorData doctorData) {
+        LocalDate today = LocalDate.now();
+        LocalTime closing = OPENING.plusMinutes((long) SLOTS_PER_DAY * SLOT_MINUTES);
+        Batch batch = new Batch("INSERT INTO doctor_availability (doctor_id, date, start_time, end_time, " +
+                "availability_type, reason, is_recurring, created_at) VALUES (?, ?, ?, ?, ?, ?, false, CURRENT_TIMESTAMP)");
+        int rows = 0;
+        for (int doctor = 0; doctor < doctors; doctor++) {
+            for (int day = 0; day < futureDays; day++) {
+                LocalDate date = today.plusDays(day);
+                if (date.getDayOfWeek() == DayOfWeek.SATURDAY || date.getDayOfWeek() == DayOfWeek.SUNDAY) {
+                    continue;
+                }
+                Date sqlDate = Date.valueOf(date);
+                long doctorId = doctorData.ids[doctor];
+                batch.add(doctorId, sqlDate, Time.valueOf(OPENING), Time.valueOf(closing), "AVAILABLE", null);
+                rows++;
+                int exception = random.nextInt(100);
+                if (exception < 3) {
+                    batch.add(doctorId, sqlDate, Time.valueOf(OPENING), Time.valueOf(closing), "UNAVAILABLE", "Day off");
+                    rows++;
+                } else if (exception < 33) {
+                    batch.add(doctorId, sqlDate, Time.valueOf("12:00:00"), Time.valueOf("13:00:00"), "BREAK", "Lunch");
+                    rows++;
+                }
+            }
+        }
+        batch.flush();
+        return rows;
+    }
+
+    /**
+     * Place every appointment in a free (doctor, day, slot) cell and stream it out,
+     * writing prescriptions for a share of the completed ones along the way.
+     * Returns the number of prescriptions written.
+     */
+    private int loadAppointments(Random random, DoctorData doctorData, PatientData patientData) {
+        int days = pastDays + futureDays;
+        LocalDate firstDay = LocalDate.now().minusDays(pastDays);
+        int capacity = doctors * days * SLOTS_PER_DAY;
+        BitSet booked = new BitSet(capacity);
+        int[] cumulativeSlotWeights = new int[SLOTS_PER_DAY];
+        int slotWeightTotal = 0;
+        for (int slot = 0; slot < SLOTS_PER_DAY; slot++) {
+            slotWeightTotal += SLOT_WEIGHTS[slot];
+            cumulativeSlotWeights[slot] = slotWeightTotal;
+        }
+
+        long nextId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(appointment_id), 0) + 1 FROM appointments", Long.class);
+        Batch batch = new Batch("INSERT INTO appointments (appointment_id, doctor_id, patient_id, appointment_date, " +
+                "appointment_time, status, appointment_type, reason_for_visit, duration_minutes, created_at, updated_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)");
+        List<Prescription> documents = new ArrayList<>(DOCUMENT_BATCH_SIZE);
+        int prescriptions = 0;
+        int fallback = 0;
+
+        for (int i = 0; i < appointments; i++) {
+            int cell = -1;
+            for (int pick = 0; pick < MAX_PICKS && cell < 0; pick++) {
+                int doctor = doctorData.rankToDoctor[pickIndex(doctorData.cumulativePopularity, random.nextDouble()
+                        * doctorData.cumulativePopularity[doctors - 1])];
+                int dayStart = (doctor * days + random.nextInt(days)) * SLOTS_PER_DAY;
+                int wanted = dayStart + pickIndex(cumulativeSlotWeights, random.nextInt(slotWeightTotal));
+                int free = booked.nextClearBit(wanted);
+                if (free >= dayStart + SLOTS_PER_DAY) {
+                    free = booked.nextClearBit(dayStart);
+                }
+                if (free < dayStart + SLOTS_PER_DAY) {
+                    cell = free;
+                }
+            }
+            if (cell < 0) {
+                fallback = booked.nextClearBit(fallback);
+                if (fallback >= capacity) {
+                    fallback = booked.nextClearBit(0);
+                }
+                cell = fallback;
+            }
+            booked.set(cell);
+
+            int doctor = cell / (days * SLOTS_PER_DAY);
+            int day = cell / SLOTS_PER_DAY % days;
+            LocalDate date = firstDay.plusDays(day);
+            LocalTime time = OPENING.plusMinutes((long) (cell % SLOTS_PER_DAY) * SLOT_MINUTES);
+            // Squaring skews towards low indexes: a minority of patients makes most visits
+            double r = random.nextDouble();
+            int patient = (int) (r * r * patients);
+            String status = status(random, day < pastDays);
+            String diagnosis = DIAGNOSES[random.nextInt(DIAGNOSES.length)];
+            long appointmentId = nextId++;
+            batch.add(appointmentId, doctorData.ids[doctor], patientData.ids[patient], Date.valueOf(date), Time.valueOf(time),
+                    status, APPOINTMENT_TYPES[random.nextInt(APPOINTMENT_TYPES.length)], diagnosis + " review", SLOT_MINUTES);
+
+            if (mongoTemplate != null && "COMPLETED".equals(status) && random.nextDouble() < prescriptionRatio) {
+                documents.add(prescription(random, appointmentId, doctorData, doctor, patientData, patient,
+                        date.atTime(time).plusMinutes(SLOT_MINUTES), diagnosis));
+                if (documents.size() == DOCUMENT_BATCH_SIZE) {
+                    mongoTemplate.insert(documents, Prescription.class);
+                    prescriptions += documents.size();
+                    documents.clear();
+                }
+            }
+        }
+        batch.flush();
+        if (!documents.isEmpty()) {
+            mongoTemplate.insert(documents, Prescription.class);
+            prescriptions += documents.size();
+        }
+        advanceAppointmentSequence(nextId + SEQUENCE_HEADROOM);
+        return prescriptions;
+    }
+
+    private static String status(Random random, boolean past) {
+        int roll = random.nextInt(100);
+        if (past) {
+            return roll < 85 ? "COMPLETED" : roll < 95 ? "CANCELLED" : "NO_SHOW";
+        }
+        return roll < 70 ? "SCHEDULED" : roll < 95 ? "CONFIRMED" : "CANCELLED";
+    }
+
+    private Prescription prescription(Random random, long appointmentId, DoctorData doctorData, int doctor,
+                                      PatientData patientData, int patient, LocalDateTime issuedAt, String diagnosisName) {
+        Prescription prescription = new Prescription();
+        prescription.setAppointmentId(appointmentId);
+        prescription.setPatientId(patientData.ids[patient]);
+        prescription.setDoctorId(doctorData.ids[doctor]);
+        prescription.setPrescriptionDate(issuedAt);
+        prescription.setCreatedAt(issuedAt);
+        prescription.setUpdatedAt(issuedAt);
+
+        Prescription.PatientInfo patientInfo = new Prescription.PatientInfo();
+        patientInfo.setName(FIRST_NAMES[patientData.firstNames[patient]] + " " + LAST_NAMES[patientData.lastNames[patient]]);
+        patientInfo.setAge((int) patientData.ages[patient]);
+        prescription.setPatientInfo(patientInfo);
+
+        Prescription.DoctorInfo doctorInfo = new Prescription.DoctorInfo();
+        doctorInfo.setName(doctorData.names[doctor]);
+        doctorInfo.setLicenseNumber(doctorData.licenses[doctor]);
+        doctorInfo.setSpecialization(doctorData.specializations[doctor]);
+        prescription.setDoctorInfo(doctorInfo);
+
+        Prescription.Diagnosis diagnosis = new Prescription.Diagnosis();
+        diagnosis.setPrimary(diagnosisName);
+        prescription.setDiagnosis(diagnosis);
+
+        Prescription.Medication medication = new Prescription.Medication();
+        medication.setMedicationName(MEDICATIONS[random.nextInt(MEDICATIONS.length)]);
+        medication.setDosage((5 + random.nextInt(20) * 5) + "mg");
+        medication.setFrequency(random.nextBoolean() ? "Once daily" : "Twice daily");
+        medication.setDuration((7 + random.nextInt(84)) + " days");
+        medication.setQuantity(7 + random.nextInt(170));
+        medication.setRefills(random.nextInt(4));
+        prescription.setMedications(Arrays.asList(medication));
+
+        prescription.setStatus(Prescription.PrescriptionStatus.ACTIVE);
+        return prescription;
+    }
+
+    /**
+     * Index of the first cumulative weight above value.
+     */
+    private static int pickIndex(double[] cumulative, double value) {
+        int position = Arrays.binarySearch(cumulative, value);
+        return Math.min(position >= 0 ? position + 1 : -(position + 1), cumulative.length - 1);
+    }
+
+    private static int pickIndex(int[] cumulative, int value) {
+        int position = Arrays.binarySearch(cumulative, value);
+        return Math.min(position >= 0 ? position + 1 : -(position + 1), cumulative.length - 1);
+    }
+
+    /**
+     * IDs of the generated rows in insertion order.
+     */
+    private long[] generatedIds(String sql, int expected) {
+        long[] ids = new long[expected];
+        int[] count = {0};
+        jdbcTemplate.query(sql, rs -> {
+            if (count[0] < expected) {
+                ids[count[0]] = rs.getLong(1);
+            }
+            count[0]++;
+        }, "%" + EMAIL_DOMAIN);
+        if (count[0] != expected) {
+            throw new IllegalStateException("Expected " + expected + " generated rows but found " + count[0]
+                    + "; synthetic data must be loaded into empty tables");
+        }
+        return ids;
+    }
+
+    /**
+     * Move the Hibernate appointment sequence past the generated IDs so later bookings do not collide.
+     */
+    private void advanceAppointmentSequence(long next) {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        if ("H2".equals(product)) {
+            jdbcTemplate.execute("ALTER SEQUENCE appointments_seq RESTART WITH " + next);
+        } else if ("MySQL".equals(product)) {
+            jdbcTemplate.update("UPDATE appointments_seq SET next_val = ?", next);
+        } else {
+            log.warn("Unknown database {}; move appointments_seq to {} manually.", product, next);
+        }
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    public void setDoctors(int doctors) {
+        this.doctors = doctors;
+    }
+
+    public void setPatients(int patients) {
+        this.patients = patients;
+    }
+
+    public void setAppointments(int appointments) {
+        this.appointments = appointments;
+    }
+
+    public void setPastDays(int pastDays) {
+        this.pastDays = pastDays;
+    }
+
+    public void setFutureDays(int futureDays) {
+        this.futureDays = futureDays;
+    }
+
+    /**
+     * Zipf exponent of doctor popularity; 0 spreads appointments evenly.
+     */
+    public void setDoctorSkew(double doctorSkew) {
+        this.doctorSkew = doctorSkew;
+    }
+
+    /**
+     * Share of completed appointments that get a prescription document.
+     */
+    public void setPrescriptionRatio(double prescriptionRatio) {
+        this.prescriptionRatio = prescriptionRatio;
+    }
+
+    /**
+     * Rows of one insert statement, sent to the database every BATCH_SIZE rows.
+     */
+    private final class Batch {
+        private final String sql;
+        private final List<Object[]> rows = new ArrayList<>(BATCH_SIZE);
+
+        Batch(String sql) {
+            this.sql = sql;
+        }
+
+        void add(Object... row) {
+            rows.add(row);
+            if (rows.size() == BATCH_SIZE) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (!rows.isEmpty()) {
+                jdbcTemplate.batchUpdate(sql, rows);
+                rows.clear();
+            }
+        }
+    }
+
+    private static final class DoctorData {
+        private long[] ids;
+        private int[] rankToDoctor;
+        private final double[] cumulativePopularity;
+        private final String[] names;
+        private final String[] specializations;
+        private final String[] licenses;
+
+        DoctorData(int count) {
+            cumulativePopularity = new double[count];
+            names = new String[count];
+            specializations = new String[count];
+            licenses = new String[count];
+        }
+    }
+
+    /**
+     * Name indexes and age per patient, kept as bytes so a million patients stay small.
+     */
+    private static final class PatientData {
+        private long[] ids;
+        private final byte[] firstNames;
+        private final byte[] lastNames;
+        private final byte[] ages;
+
+        PatientData(int count) {
+            firstNames = new byte[count];
+            lastNames = new byte[count];
+            ages = new byte[count];
+        }
+    }
+}
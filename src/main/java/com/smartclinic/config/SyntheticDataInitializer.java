@@ -0,0 +1,76 @@
+package com.smartclinic.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Synthetic Data Initializer
+ * Loads production-sized synthetic data at startup when the loadtest profile is active.
+ * Sizes come from the loadtest.* properties; see application-loadtest.properties.
+ */
+@Component
+@Profile("loadtest")
+public class SyntheticDataInitializer implements CommandLineRunner {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectProvider<MongoTemplate> mongoTemplate;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Value("${loadtest.seed:42}")
+    private long seed;
+
+    @Value("${loadtest.doctors:1000}")
+    private int doctors;
+
+    @Value("${loadtest.patients:100000}")
+    private int patients;
+
+    @Value("${loadtest.appointments:1000000}")
+    private int appointments;
+
+    @Value("${loadtest.past-days:120}")
+    private int pastDays;
+
+    @Value("${loadtest.future-days:60}")
+    private int futureDays;
+
+    @Value("${loadtest.doctor-skew:1.0}")
+    private double doctorSkew;
+
+    @Value("${loadtest.prescription-ratio:0.3}")
+    private double prescriptionRatio;
+
+    @Value("${loadtest.exit-after-load:false}")
+    private boolean exitAfterLoad;
+
+    @Override
+    public void run(String... args) throws Exception {
+        SyntheticDataGenerator generator = new SyntheticDataGenerator(jdbcTemplate, mongoTemplate.getIfAvailable());
+        generator.setSeed(seed);
+        generator.setDoctors(doctors);
+        generator.setPatients(patients);
+        generator.setAppointments(appointments);
+        generator.setPastDays(pastDays);
+        generator.setFutureDays(futureDays);
+        generator.setDoctorSkew(doctorSkew);
+        generator.setPrescriptionRatio(prescriptionRatio);
+        generator.generate();
+
+        if (exitAfterLoad) {
+            System.exit(SpringApplication.exit(applicationContext));
+        }
+    }
+}
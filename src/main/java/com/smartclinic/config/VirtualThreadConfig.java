@@ -0,0 +1,90 @@
+package com.smartclinic.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Virtual-thread request execution, enabled by the virtual-threads profile.
+ * Tomcat hands every request to a new virtual thread, so requests blocked on JDBC no longer
+ * hold a platform thread. Because request concurrency is then effectively unbounded, the
+ * DataSource is wrapped in a semaphore limiter for virtual threads, sized below the connection
+ * pool (clinic.db.max-concurrency, clinic.db.acquire-timeout-ms). Background jobs run on platform
+ * threads and use the remaining connections without a permit.
+ *
+ * Virtual threads need a Java 21 runtime; the build still targets Java 17, so the executor
+ * is looked up reflectively and startup fails with a clear message on older JVMs.
+ */
+@Configuration
+@Profile("virtual-threads")
+public class VirtualThreadConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService virtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("The virtual-threads profile needs Java 21 or later, running on "
+                    + Runtime.version(), e);
+        }
+    }
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandler(ExecutorService virtualThreadExecutor) {
+        return protocolHandler -> protocolHandler.setExecutor(virtualThreadExecutor);
+    }
+
+    /**
+     * Wraps the DataSource in the concurrency limiter.
+     * Static so it is registered before the DataSource bean is created.
+     */
+    @Bean
+    public static BeanPostProcessor databaseConcurrencyLimiter(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ConcurrencyLimitedDataSource)) {
+                    int poolSize = environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10);
+                    int maxConcurrency = environment.getProperty("clinic.db.max-concurrency", Integer.class, poolSize);
+                    long acquireTimeout = environment.getProperty("clinic.db.acquire-timeout-ms", Long.class, 2000L);
+                    return new ConcurrencyLimitedDataSource(dataSource, maxConcurrency, acquireTimeout);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder databaseConcurrencyMetrics(DataSource dataSource) {
+        return registry -> {
+            ConcurrencyLimitedDataSource limited;
+            try {
+                // The limiter may sit under other DataSource wrappers such as the slow-query timer
+                limited = dataSource.unwrap(ConcurrencyLimitedDataSource.class);
+            } catch (SQLException e) {
+                return;
+            }
+            Gauge.builder("clinic.db.permits.queued", limited, ConcurrencyLimitedDataSource::queued)
+                    .description("Threads waiting for a database permit")
+                    .register(registry);
+            Gauge.builder("clinic.db.permits.available", limited, ConcurrencyLimitedDataSource::available)
+                    .description("Database permits not in use")
+                    .register(registry);
+            limited.setWaitTimer(Timer.builder("clinic.db.permits.wait")
+                    .description("Time spent waiting for a database permit")
+                    .publishPercentileHistogram()
+                    .register(registry));
+        };
+    }
+}
@@ -0,0 +1,95 @@
+package com.smartclinic.controller;
+
+import com.smartclinic.dto.AppointmentRequest;
+import com.smartclinic.dto.BookingResult;
+import com.smartclinic.dto.CursorPage;
+import com.smartclinic.model.Appointment;
+import com.smartclinic.service.AppointmentService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * REST Controller for Appointment entity operations.
+ * Provides booking and listing endpoints for the Smart Clinic Management System.
+ */
+@RestController
+@RequestMapping("/api/appointments")
+@CrossOrigin(origins = "*", maxAge = 3600, exposedHeaders = CursorPageResponses.NEXT_CURSOR_HEADER)
+public class AppointmentController {
+
+    /**
+     * Largest number of appointments accepted in one batch request.
+     */
+    private static final int MAX_BATCH_SIZE = 1000;
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    /**
+     * Get one page of appointments ordered by ID.
+     * GET /api/appointments?after={id}&limit={limit}
+     */
+    @GetMapping
+    public ResponseEntity<List<Appointment>> getAppointments(
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_LIMIT) int limit) {
+        return CursorPageResponses.of(appointmentService.getAppointmentsPage(after, limit));
+    }
+
+    /**
+     * Get appointment by ID.
+     * GET /api/appointments/{id}
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<?> getAppointmentById(@PathVariable Long id) {
+        try {
+            Appointment appointment = appointmentService.getAppointmentDetail(id);
+            return ResponseEntity.ok(appointment);
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * Get one page of a doctor's schedule in time order, starting today.
+     * GET /api/appointments/doctor/{doctorId}?after={cursor}&limit={limit}
+     */
+    @GetMapping("/doctor/{doctorId}")
+    public ResponseEntity<?> getDoctorSchedule(
+            @PathVariable Long doctorId,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_LIMIT) int limit) {
+        try {
+            return CursorPageResponses.of(appointmentService.getDoctorSchedulePage(doctorId, after, limit));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Create a batch of appointments with per-item results.
+     * Lookup, validation and conflict failures are reported per item; a database error while
+     * writing the accepted items fails the whole batch with 400 and nothing is saved.
+     * POST /api/appointments/batch
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<?> createAppointments(@RequestBody List<AppointmentRequest> requests) {
+        if (requests.isEmpty() || requests.size() > MAX_BATCH_SIZE) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("error", "Batch must contain between 1 and " + MAX_BATCH_SIZE + " appointments"));
+        }
+        try {
+            List<BookingResult> results = appointmentService.createAppointments(requests.stream()
+                    .map(AppointmentRequest::toAppointment)
+                    .collect(Collectors.toList()));
+            return ResponseEntity.ok(results);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.smartclinic.controller;
+
+import com.smartclinic.dto.CursorPage;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+/**
+ * Builds list responses for keyset-paginated endpoints.
+ * The body stays a plain JSON array; the cursor for the next page travels in a header.
+ */
+final class CursorPageResponses {
+
+    /**
+     * Response header carrying the cursor of the next page, absent on the last page.
+     */
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private CursorPageResponses() {
+    }
+
+    static <T> ResponseEntity<List<T>> of(CursorPage<T> page) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        if (page.hasNext()) {
+            builder.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return builder.body(page.getItems());
+    }
+}
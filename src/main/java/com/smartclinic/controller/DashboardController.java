@@ -0,0 +1,29 @@
+package com.smartclinic.controller;
+
+import com.smartclinic.dto.DashboardSummary;
+import com.smartclinic.service.DashboardStatsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST Controller for dashboard statistics.
+ * Serves pre-aggregated counters so the dashboards do not download full entity lists.
+ */
+@RestController
+@RequestMapping("/api/dashboard")
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class DashboardController {
+
+    @Autowired
+    private DashboardStatsService dashboardStatsService;
+
+    /**
+     * Get doctor, patient and appointment counts.
+     * GET /api/dashboard/summary
+     */
+    @GetMapping("/summary")
+    public ResponseEntity<DashboardSummary> getSummary() {
+        return ResponseEntity.ok(dashboardStatsService.getSummary());
+    }
+}
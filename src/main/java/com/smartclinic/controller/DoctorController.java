@@ -1,14 +1,30 @@
 package com.smartclinic.controller;
 
+import com.smartclinic.dto.CursorPage;
+import com.smartclinic.dto.DoctorSchedule;
+import com.smartclinic.dto.DoctorSummary;
+import com.smartclinic.dto.FreeSlot;
 import com.smartclinic.model.Doctor;
+import com.smartclinic.model.DoctorAvailability;
+import com.smartclinic.service.AvailabilityIndex;
+import com.smartclinic.service.DoctorAvailabilityService;
+import com.smartclinic.service.DoctorScheduleService;
 import com.smartclinic.service.DoctorService;
+import com.smartclinic.service.NameSearchIndex;
+import com.smartclinic.service.PasswordVerifier;
+import com.smartclinic.service.TokenService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
 import java.util.List;
 import java.util.Map;
 
@@ -19,12 +35,21 @@ import java.util.Map;
  */
 @RestController
 @RequestMapping("/api/doctors")
-@CrossOrigin(origins = "*", maxAge = 3600)
+@CrossOrigin(origins = "*", maxAge = 3600, exposedHeaders = {CursorPageResponses.NEXT_CURSOR_HEADER, HttpHeaders.ETAG})
 public class DoctorController {
 
     @Autowired
     private DoctorService doctorService;
 
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private DoctorAvailabilityService availabilityService;
+
+    @Autowired
+    private DoctorScheduleService scheduleService;
+
     /**
      * Create a new doctor.
      * POST /api/doctors
@@ -40,13 +65,14 @@ public class DoctorController {
     }
 
     /**
-     * Get all doctors.
-     * GET /api/doctors
+     * Get one page of doctors ordered by ID.
+     * GET /api/doctors?after={id}&limit={limit}
      */
     @GetMapping
-    public ResponseEntity<List<Doctor>> getAllDoctors() {
-        List<Doctor> doctors = doctorService.getAllDoctors();
-        return ResponseEntity.ok(doctors);
+    public ResponseEntity<List<DoctorSummary>> getAllDoctors(
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_LIMIT) int limit) {
+        return CursorPageResponses.of(doctorService.getDoctorsPage(after, limit));
     }
 
     /**
@@ -56,7 +82,7 @@ public class DoctorController {
     @GetMapping("/{id}")
     public ResponseEntity<?> getDoctorById(@PathVariable Long id) {
         try {
-            Doctor doctor = doctorService.getDoctorById(id);
+            Doctor doctor = doctorService.getDoctorDetail(id);
             return ResponseEntity.ok(doctor);
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
@@ -96,18 +122,29 @@ public class DoctorController {
      * GET /api/doctors/search/name?name={name}
      */
     @GetMapping("/search/name")
-    public ResponseEntity<List<Doctor>> searchDoctorsByName(@RequestParam String name) {
-        List<Doctor> doctors = doctorService.searchDoctorsByName(name);
+    public ResponseEntity<List<DoctorSummary>> searchDoctorsByName(@RequestParam String name) {
+        List<DoctorSummary> doctors = doctorService.searchDoctorsByName(name);
         return ResponseEntity.ok(doctors);
     }
 
+    /**
+     * Typeahead search over doctor name, specialization and office location.
+     * GET /api/doctors/search/typeahead?q={query}&limit={limit}
+     */
+    @GetMapping("/search/typeahead")
+    public ResponseEntity<List<DoctorSummary>> typeaheadDoctors(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "" + NameSearchIndex.DEFAULT_TYPEAHEAD_LIMIT) int limit) {
+        return ResponseEntity.ok(doctorService.typeaheadDoctors(q, limit));
+    }
+
     /**
      * Search doctors by specialization.
      * GET /api/doctors/search/specialization?specialization={specialization}
      */
     @GetMapping("/search/specialization")
-    public ResponseEntity<List<Doctor>> searchDoctorsBySpecialization(@RequestParam String specialization) {
-        List<Doctor> doctors = doctorService.searchDoctorsBySpecialization(specialization);
+    public ResponseEntity<List<DoctorSummary>> searchDoctorsBySpecialization(@RequestParam String specialization) {
+        List<DoctorSummary> doctors = doctorService.searchDoctorsBySpecialization(specialization);
         return ResponseEntity.ok(doctors);
     }
 
@@ -116,18 +153,177 @@ public class DoctorController {
      * GET /api/doctors/available?specialization={specialization}&dateTime={dateTime}
      */
     @GetMapping("/available")
-    public ResponseEntity<List<Doctor>> findAvailableDoctors(
+    public ResponseEntity<List<DoctorSummary>> findAvailableDoctors(
             @RequestParam String specialization,
             @RequestParam String dateTime) {
         try {
             LocalDateTime parsedDateTime = LocalDateTime.parse(dateTime);
-            List<Doctor> availableDoctors = doctorService.findAvailableDoctors(specialization, parsedDateTime);
+            List<DoctorSummary> availableDoctors = doctorService.findAvailableDoctors(specialization, parsedDateTime);
             return ResponseEntity.ok(availableDoctors);
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
         }
     }
 
+    /**
+     * Find the earliest free slots of the given length across doctors of a specialization.
+     * GET /api/doctors/available/slots?specialization={specialization}&from={dateTime}&days={days}&duration={minutes}&limit={limit}
+     */
+    @GetMapping("/available/slots")
+    public ResponseEntity<List<FreeSlot>> findFreeSlots(
+            @RequestParam(required = false) String specialization,
+            @RequestParam(required = false) String from,
+            @RequestParam(defaultValue = "" + AvailabilityIndex.DEFAULT_SEARCH_DAYS) int days,
+            @RequestParam(defaultValue = "" + AvailabilityIndex.SLOT_MINUTES) int duration,
+            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_LIMIT) int limit) {
+        try {
+            LocalDateTime parsedFrom = from != null ? LocalDateTime.parse(from) : null;
+            return ResponseEntity.ok(availabilityService.getFreeSlots(specialization, parsedFrom, days, duration, limit));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Find the first free slots of a doctor.
+     * GET /api/doctors/{id}/free-slots?from={dateTime}&days={days}&duration={minutes}&limit={limit}
+     */
+    @GetMapping("/{id}/free-slots")
+    public ResponseEntity<List<FreeSlot>> getFreeSlots(
+            @PathVariable Long id,
+            @RequestParam(required = false) String from,
+            @RequestParam(defaultValue = "" + AvailabilityIndex.DEFAULT_SEARCH_DAYS) int days,
+            @RequestParam(defaultValue = "" + AvailabilityIndex.SLOT_MINUTES) int duration,
+            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_LIMIT) int limit) {
+        try {
+            LocalDateTime parsedFrom = from != null ? LocalDateTime.parse(from) : null;
+            return ResponseEntity.ok(availabilityService.getFreeSlots(id, parsedFrom, days, duration, limit));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Get a doctor's timeline of free, busy and blocked periods.
+     * Defaults to the current week (Monday to Sunday); answers 304 when If-None-Match matches the ETag,
+     * which is checked before the timeline is built, and 404 for an unknown doctor.
+     * GET /api/doctors/{id}/schedule?from={date}&to={date}
+     */
+    @GetMapping("/{id}/schedule")
+    public ResponseEntity<?> getSchedule(
+            @PathVariable Long id,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        try {
+            LocalDate startDate = from != null ? LocalDate.parse(from)
+                    : LocalDate.now().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            LocalDate endDate = to != null ? LocalDate.parse(to) : startDate.plusDays(6);
+            if (!scheduleService.doctorExists(id)) {
+                return ResponseEntity.notFound().build();
+            }
+            if (ifNoneMatch != null) {
+                String etag = scheduleService.getScheduleEtag(id, startDate, endDate);
+                if (matchesEtag(ifNoneMatch, etag)) {
+                    return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                            .eTag(etag)
+                            .cacheControl(CacheControl.noCache())
+                            .build();
+                }
+            }
+            DoctorSchedule schedule = scheduleService.getSchedule(id, startDate, endDate);
+            return ResponseEntity.ok()
+                    .eTag(schedule.getEtag())
+                    .cacheControl(CacheControl.noCache())
+                    .body(schedule);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Add an availability row to a doctor's schedule.
+     * POST /api/doctors/{id}/availability
+     */
+    @PostMapping("/{id}/availability")
+    public ResponseEntity<?> createAvailability(@PathVariable Long id, @RequestBody DoctorAvailability availability) {
+        try {
+            DoctorAvailability createdAvailability = availabilityService.createAvailability(id, availability);
+            return ResponseEntity.status(HttpStatus.CREATED).body(createdAvailability);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Remove an availability row from a doctor's schedule.
+     * DELETE /api/doctors/{id}/availability/{availabilityId}
+     */
+    @DeleteMapping("/{id}/availability/{availabilityId}")
+    public ResponseEntity<?> deleteAvailability(@PathVariable Long id, @PathVariable Long availabilityId) {
+        try {
+            availabilityService.deleteAvailability(id, availabilityId);
+            return ResponseEntity.ok().body(Map.of("message", "Availability deleted successfully"));
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * Expand a doctor's recurring availability into concrete slots.
+     * POST /api/doctors/{id}/availability/materialize?from={date}&days={days}
+     */
+    @PostMapping("/{id}/availability/materialize")
+    public ResponseEntity<?> materializeAvailability(
+            @PathVariable Long id,
+            @RequestParam(required = false) String from,
+            @RequestParam(defaultValue = "90") int days) {
+        try {
+            LocalDate startDate = from != null ? LocalDate.parse(from) : LocalDate.now();
+            int created = availabilityService.materializeRecurring(id, startDate, days);
+            return ResponseEntity.ok(Map.of("created", created));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Expand the recurring availability of every doctor into concrete slots.
+     * POST /api/doctors/availability/materialize?from={date}&days={days}
+     */
+    @PostMapping("/availability/materialize")
+    public ResponseEntity<?> materializeAllAvailability(
+            @RequestParam(required = false) String from,
+            @RequestParam(defaultValue = "90") int days) {
+        try {
+            LocalDate startDate = from != null ? LocalDate.parse(from) : LocalDate.now();
+            int created = availabilityService.materializeRecurring(null, startDate, days);
+            return ResponseEntity.ok(Map.of("created", created));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Change the type of all concrete slots in a date range, optionally for selected doctors only.
+     * PUT /api/doctors/availability/type?startDate={date}&endDate={date}&currentType={type}&newType={type}&doctorIds={ids}
+     */
+    @PutMapping("/availability/type")
+    public ResponseEntity<?> updateAvailabilityType(
+            @RequestParam String startDate,
+            @RequestParam String endDate,
+            @RequestParam DoctorAvailability.AvailabilityType currentType,
+            @RequestParam DoctorAvailability.AvailabilityType newType,
+            @RequestParam(required = false) List<Long> doctorIds) {
+        try {
+            int updated = availabilityService.updateAvailabilityType(doctorIds, LocalDate.parse(startDate),
+                    LocalDate.parse(endDate), currentType, newType);
+            return ResponseEntity.ok(Map.of("updated", updated));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
     /**
      * Get all specializations.
      * GET /api/doctors/specializations
@@ -143,8 +339,8 @@ public class DoctorController {
      * GET /api/doctors/with-appointments
      */
     @GetMapping("/with-appointments")
-    public ResponseEntity<List<Doctor>> getDoctorsWithUpcomingAppointments() {
-        List<Doctor> doctors = doctorService.getDoctorsWithUpcomingAppointments();
+    public ResponseEntity<List<DoctorSummary>> getDoctorsWithUpcomingAppointments() {
+        List<DoctorSummary> doctors = doctorService.getDoctorsWithUpcomingAppointments();
         return ResponseEntity.ok(doctors);
     }
 
@@ -188,14 +384,60 @@ public class DoctorController {
         }
     }
 
+    /**
+     * Doctor login.
+     * POST /api/doctors/login
+     * Returns 503 with Retry-After when password verification capacity is exhausted.
+     */
+    @PostMapping("/login")
+    public ResponseEntity<?> login(@RequestBody Map<String, String> credentials) {
+        String email = credentials.get("email");
+        String password = credentials.get("password");
+        if (email == null || password == null) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Email and password are required"));
+        }
+
+        try {
+            return doctorService.authenticateDoctor(email, password)
+                    .<ResponseEntity<?>>map(doctor -> ResponseEntity.ok(Map.of(
+                            "doctorId", doctor.getDoctorId(),
+                            "token", tokenService.generateDoctorToken(doctor.getEmail(), doctor.getDoctorId()))))
+                    .orElse(ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                            .body(Map.of("error", "Invalid email or password")));
+        } catch (PasswordVerifier.BusyException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(Map.of("error", e.getMessage()));
+        }
+    }
+
     /**
      * Get doctor by email.
      * GET /api/doctors/by-email?email={email}
      */
     @GetMapping("/by-email")
     public ResponseEntity<?> getDoctorByEmail(@RequestParam String email) {
-        return doctorService.getDoctorByEmail(email)
+        return doctorService.getDoctorDetailByEmail(email)
                 .map(doctor -> ResponseEntity.ok(doctor))
                 .orElse(ResponseEntity.notFound().build());
     }
+
+    /**
+     * Whether an If-None-Match header names the given ETag; weak tags and "*" match as well.
+     */
+    private static boolean matchesEtag(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
@@ -0,0 +1,125 @@
+package com.smartclinic.controller;
+
+import com.smartclinic.dto.CursorPage;
+import com.smartclinic.dto.PatientSummary;
+import com.smartclinic.model.Patient;
+import com.smartclinic.service.NameSearchIndex;
+import com.smartclinic.service.PatientService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import jakarta.validation.Valid;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * REST Controller for Patient entity operations.
+ * Provides CRUD endpoints and patient lookup for the Smart Clinic Management System.
+ */
+@RestController
+@RequestMapping("/api/patients")
+@CrossOrigin(origins = "*", maxAge = 3600, exposedHeaders = CursorPageResponses.NEXT_CURSOR_HEADER)
+public class PatientController {
+
+    @Autowired
+    private PatientService patientService;
+
+    /**
+     * Register a new patient.
+     * POST /api/patients
+     */
+    @PostMapping
+    public ResponseEntity<?> createPatient(@Valid @RequestBody Patient patient) {
+        try {
+            Patient createdPatient = patientService.createPatient(patient);
+            return ResponseEntity.status(HttpStatus.CREATED).body(createdPatient);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Get one page of patients ordered by ID.
+     * GET /api/patients?after={id}&limit={limit}
+     */
+    @GetMapping
+    public ResponseEntity<List<PatientSummary>> getPatients(
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_LIMIT) int limit) {
+        return CursorPageResponses.of(patientService.getPatientsPage(after, limit));
+    }
+
+    /**
+     * Get patient by ID.
+     * GET /api/patients/{id}
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<?> getPatientById(@PathVariable Long id) {
+        try {
+            Patient patient = patientService.getPatientDetail(id);
+            return ResponseEntity.ok(patient);
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * Update patient by ID.
+     * PUT /api/patients/{id}
+     */
+    @PutMapping("/{id}")
+    public ResponseEntity<?> updatePatient(@PathVariable Long id, @Valid @RequestBody Patient patientDetails) {
+        try {
+            Patient updatedPatient = patientService.updatePatient(id, patientDetails);
+            return ResponseEntity.ok(updatedPatient);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Delete patient by ID.
+     * DELETE /api/patients/{id}
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<?> deletePatient(@PathVariable Long id) {
+        try {
+            patientService.deletePatient(id);
+            return ResponseEntity.ok().body(Map.of("message", "Patient deleted successfully"));
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * Search patients by name, email or phone number.
+     * GET /api/patients/search?q={query}
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<PatientSummary>> searchPatients(@RequestParam String q) {
+        return ResponseEntity.ok(patientService.searchPatients(q));
+    }
+
+    /**
+     * Search patients by name.
+     * GET /api/patients/search/name?name={name}
+     */
+    @GetMapping("/search/name")
+    public ResponseEntity<List<PatientSummary>> searchPatientsByName(@RequestParam String name) {
+        List<PatientSummary> patients = patientService.searchPatientsByName(name);
+        return ResponseEntity.ok(patients);
+    }
+
+    /**
+     * Typeahead search over patient names.
+     * GET /api/patients/search/typeahead?q={query}&limit={limit}
+     */
+    @GetMapping("/search/typeahead")
+    public ResponseEntity<List<PatientSummary>> typeaheadPatients(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "" + NameSearchIndex.DEFAULT_TYPEAHEAD_LIMIT) int limit) {
+        return ResponseEntity.ok(patientService.typeaheadPatients(q, limit));
+    }
+}
@@ -0,0 +1,205 @@
+package com.smartclinic.controller;
+
+import com.smartclinic.dto.CursorPage;
+import com.smartclinic.model.Prescription;
+import com.smartclinic.service.PrescriptionService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import jakarta.validation.Valid;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * REST Controller for Prescription operations, enabled by the mongo profile.
+ * Handlers return Flux and Mono from the reactive MongoDB repository, so no request thread
+ * waits on the database. Listings take a limit (default CursorPage.DEFAULT_LIMIT, at most
+ * CursorPage.MAX_LIMIT). With Accept: application/json a listing is collected into one array.
+ * With Accept: application/x-ndjson it is written one document per line, and the next document
+ * is only requested from the driver after the previous one has been written.
+ */
+@RestController
+@RequestMapping("/api/prescriptions")
+@CrossOrigin(origins = "*", maxAge = 3600)
+@Profile("mongo")
+public class PrescriptionController {
+
+    @Autowired
+    private PrescriptionService prescriptionService;
+
+    /**
+     * Create a new prescription.
+     * POST /api/prescriptions
+     */
+    @PostMapping
+    public Mono<ResponseEntity<?>> createPrescription(@Valid @RequestBody Prescription prescription) {
+        return prescriptionService.createPrescription(prescription)
+                .<ResponseEntity<?>>map(saved -> ResponseEntity.status(HttpStatus.CREATED).body(saved))
+                .onErrorResume(RuntimeException.class,
+                        e -> Mono.just(ResponseEntity.badRequest().body(Map.of("error", e.getMessage()))));
+    }
+
+    /**
+     * Get prescriptions ordered by patient name.
+     * GET /api/prescriptions?limit={limit}
+     */
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<Prescription> getAllPrescriptions(@RequestParam(defaultValue = "" + CursorPage.DEFAULT_LIMIT) int limit) {
+        return prescriptionService.getAllPrescriptions(limit);
+    }
+
+    /**
+     * Stream prescriptions newest first as NDJSON, optionally of one patient.
+     * GET /api/prescriptions/stream?patientId={patientId}&limit={limit}
+     */
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Prescription> streamPrescriptions(
+            @RequestParam(required = false) Long patientId,
+            @RequestParam(defaultValue = "" + PrescriptionService.MAX_STREAM_LIMIT) int limit) {
+        return prescriptionService.streamPrescriptions(patientId, limit);
+    }
+
+    /**
+     * Get prescription by ID.
+     * GET /api/prescriptions/{id}
+     */
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Prescription>> getPrescriptionById(@PathVariable String id) {
+        return prescriptionService.getPrescriptionById(id)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Update prescription by ID.
+     * PUT /api/prescriptions/{id}
+     */
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<?>> updatePrescription(@PathVariable String id,
+                                                      @Valid @RequestBody Prescription prescriptionDetails) {
+        return prescriptionService.updatePrescription(id, prescriptionDetails)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build())
+                .onErrorResume(RuntimeException.class,
+                        e -> Mono.just(ResponseEntity.badRequest().body(Map.of("error", e.getMessage()))));
+    }
+
+    /**
+     * Delete prescription by ID.
+     * DELETE /api/prescriptions/{id}
+     */
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<?>> deletePrescription(@PathVariable String id) {
+        return prescriptionService.deletePrescription(id)
+                .<ResponseEntity<?>>map(deleted -> deleted
+                        ? ResponseEntity.ok().body(Map.of("message", "Prescription deleted successfully"))
+                        : ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Get prescriptions by patient name (case-insensitive, contains).
+     * GET /api/prescriptions/patient/{patientName}?limit={limit}
+     */
+    @GetMapping(value = "/patient/{patientName}",
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<Prescription> getPrescriptionsByPatientName(
+            @PathVariable String patientName,
+            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_LIMIT) int limit) {
+        return prescriptionService.searchByPatientName(patientName, limit);
+    }
+
+    /**
+     * Get prescription by appointment ID.
+     * GET /api/prescriptions/appointment/{appointmentId}
+     */
+    @GetMapping("/appointment/{appointmentId}")
+    public Mono<ResponseEntity<Prescription>> getPrescriptionByAppointmentId(@PathVariable Long appointmentId) {
+        return prescriptionService.getPrescriptionByAppointmentId(appointmentId)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Search prescriptions by medication name.
+     * GET /api/prescriptions/medication?name={medication}&limit={limit}
+     */
+    @GetMapping(value = "/medication",
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<Prescription> searchPrescriptionsByMedication(
+            @RequestParam String name,
+            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_LIMIT) int limit) {
+        return prescriptionService.searchByMedication(name, limit);
+    }
+
+    /**
+     * Get prescriptions with a medication of the given dosage.
+     * GET /api/prescriptions/dosage/{dosage}?limit={limit}
+     */
+    @GetMapping(value = "/dosage/{dosage}",
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<Prescription> getPrescriptionsByDosage(
+            @PathVariable String dosage,
+            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_LIMIT) int limit) {
+        return prescriptionService.getByDosage(dosage, limit);
+    }
+
+    /**
+     * Search prescriptions by additional instructions.
+     * GET /api/prescriptions/search/notes?text={searchText}&limit={limit}
+     */
+    @GetMapping(value = "/search/notes",
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<Prescription> searchPrescriptionsByNotes(
+            @RequestParam String text,
+            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_LIMIT) int limit) {
+        return prescriptionService.searchByInstructions(text, limit);
+    }
+
+    /**
+     * Get the most recent prescriptions.
+     * GET /api/prescriptions/recent?limit={limit}
+     */
+    @GetMapping(value = "/recent",
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<Prescription> getRecentPrescriptions(@RequestParam(defaultValue = "" + CursorPage.DEFAULT_LIMIT) int limit) {
+        return prescriptionService.getRecentPrescriptions(limit);
+    }
+
+    /**
+     * Get prescription statistics.
+     * GET /api/prescriptions/statistics
+     */
+    @GetMapping("/statistics")
+    public Mono<Map<String, Object>> getPrescriptionStatistics() {
+        return prescriptionService.getStatistics();
+    }
+
+    /**
+     * Get prescriptions by multiple appointment IDs.
+     * POST /api/prescriptions/by-appointments
+     */
+    @PostMapping("/by-appointments")
+    public Mono<ResponseEntity<?>> getPrescriptionsByAppointmentIds(@RequestBody List<Long> appointmentIds) {
+        return prescriptionService.getByAppointmentIds(appointmentIds)
+                .collectList()
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .onErrorResume(RuntimeException.class,
+                        e -> Mono.just(ResponseEntity.badRequest().body(Map.of("error", e.getMessage()))));
+    }
+
+    /**
+     * Check if prescription exists for appointment.
+     * GET /api/prescriptions/exists/appointment/{appointmentId}
+     */
+    @GetMapping("/exists/appointment/{appointmentId}")
+    public Mono<Map<String, Boolean>> checkPrescriptionExists(@PathVariable Long appointmentId) {
+        return prescriptionService.existsForAppointment(appointmentId)
+                .map(exists -> Map.of("exists", exists));
+    }
+}
@@ -0,0 +1,141 @@
+package com.smartclinic.controller;
+
+import com.smartclinic.dto.DoctorAppointmentCount;
+import com.smartclinic.model.Appointment;
+import com.smartclinic.model.AppointmentDailyRollup;
+import com.smartclinic.service.AppointmentExportService;
+import com.smartclinic.service.AppointmentExportService.ExportFormat;
+import com.smartclinic.service.AppointmentRollupService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * REST Controller for appointment reports.
+ * Answers the stored-procedure reports from the daily appointment rollups and streams
+ * CSV/NDJSON exports without buffering them in memory.
+ */
+@RestController
+@RequestMapping("/api/reports")
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class ReportController {
+
+    @Autowired
+    private AppointmentRollupService rollupService;
+
+    @Autowired
+    private AppointmentExportService exportService;
+
+    /**
+     * Get the doctors with the most appointments in a year or, when month is given, in a month.
+     * GET /api/reports/top-doctors?year={year}&month={month}&status={status,...}&limit={limit}
+     */
+    @GetMapping("/top-doctors")
+    public ResponseEntity<?> getTopDoctors(
+            @RequestParam int year,
+            @RequestParam(required = false) Integer month,
+            @RequestParam(required = false) List<Appointment.AppointmentStatus> status,
+            @RequestParam(defaultValue = "1") int limit) {
+        try {
+            List<DoctorAppointmentCount> doctors = month != null
+                    ? rollupService.getTopDoctorsByMonth(year, month, status, limit)
+                    : rollupService.getTopDoctorsByYear(year, status, limit);
+            return ResponseEntity.ok(doctors);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Get the appointment counts of one day per doctor and status.
+     * GET /api/reports/daily?date={date}
+     */
+    @GetMapping("/daily")
+    public ResponseEntity<?> getDailyCounts(@RequestParam String date) {
+        try {
+            List<AppointmentDailyRollup> rollups = rollupService.getDailyRollups(LocalDate.parse(date));
+            return ResponseEntity.ok(rollups);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Export the appointments of a date range as CSV or NDJSON.
+     * GET /api/reports/export/appointments?from={date}&to={date}&format={csv|ndjson}
+     */
+    @GetMapping("/export/appointments")
+    public ResponseEntity<?> exportAppointments(
+            @RequestParam String from,
+            @RequestParam String to,
+            @RequestParam(defaultValue = "csv") String format) {
+        try {
+            LocalDate startDate = LocalDate.parse(from);
+            LocalDate endDate = LocalDate.parse(to);
+            if (endDate.isBefore(startDate)) {
+                throw new RuntimeException("End date must not be before start date");
+            }
+            ExportFormat exportFormat = ExportFormat.parse(format);
+            StreamingResponseBody body = out -> exportService.exportAppointmentsBetween(startDate, endDate, exportFormat, out);
+            return export("appointments-" + startDate + "-" + endDate, exportFormat, body);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Export the daily appointment report of one date as CSV or NDJSON.
+     * GET /api/reports/export/daily?date={date}&format={csv|ndjson}
+     */
+    @GetMapping("/export/daily")
+    public ResponseEntity<?> exportDailyReport(
+            @RequestParam String date,
+            @RequestParam(defaultValue = "csv") String format) {
+        try {
+            LocalDate reportDate = LocalDate.parse(date);
+            ExportFormat exportFormat = ExportFormat.parse(format);
+            StreamingResponseBody body = out -> exportService.exportDailyReport(reportDate, exportFormat, out);
+            return export("daily-report-" + reportDate, exportFormat, body);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Recompute the rollups of a date range, or of all history when no range is given.
+     * POST /api/reports/rollups/backfill?from={date}&to={date}
+     */
+    @PostMapping("/rollups/backfill")
+    public ResponseEntity<?> backfillRollups(
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to) {
+        try {
+            int rows;
+            if (from == null && to == null) {
+                rows = rollupService.backfillAll();
+            } else {
+                LocalDate startDate = from != null ? LocalDate.parse(from) : LocalDate.now();
+                LocalDate endDate = to != null ? LocalDate.parse(to) : LocalDate.now();
+                rows = rollupService.backfill(startDate, endDate);
+            }
+            return ResponseEntity.ok(Map.of("rows", rows));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    private static ResponseEntity<StreamingResponseBody> export(String fileName, ExportFormat format,
+                                                                StreamingResponseBody body) {
+        return ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"" + fileName + "." + format.getExtension() + "\"")
+                .body(body);
+    }
+}
@@ -0,0 +1,44 @@
+package com.smartclinic.controller;
+
+import com.smartclinic.service.SlowQueryLog;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+/**
+ * REST Controller for the slow-query log.
+ * Lists the most recent statements over the slow-query threshold with their plans.
+ */
+@RestController
+@RequestMapping("/api/admin/slow-queries")
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class SlowQueryController {
+
+    @Autowired
+    private SlowQueryLog slowQueryLog;
+
+    /**
+     * Get the most recent slow statements, newest first.
+     * GET /api/admin/slow-queries?limit={limit}
+     */
+    @GetMapping
+    public ResponseEntity<?> getSlowQueries(@RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(Map.of(
+                "thresholdMillis", slowQueryLog.getThresholdMillis(),
+                "recorded", slowQueryLog.getRecordedCount(),
+                "dropped", slowQueryLog.getDroppedCount(),
+                "queries", slowQueryLog.getRecent(Math.max(1, limit))));
+    }
+
+    /**
+     * Empty the slow-query buffer.
+     * DELETE /api/admin/slow-queries
+     */
+    @DeleteMapping
+    public ResponseEntity<?> clearSlowQueries() {
+        slowQueryLog.clear();
+        return ResponseEntity.ok(Map.of("message", "Slow-query log cleared"));
+    }
+}
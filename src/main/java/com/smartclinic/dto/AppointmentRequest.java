@@ -0,0 +1,126 @@
+package com.smartclinic.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.smartclinic.model.Appointment;
+import com.smartclinic.model.Doctor;
+import com.smartclinic.model.Patient;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Booking request payload referencing doctor and patient by ID.
+ * Converted into an unsaved Appointment for the service layer.
+ */
+public class AppointmentRequest {
+
+    @JsonProperty("doctorId")
+    private Long doctorId;
+
+    @JsonProperty("patientId")
+    private Long patientId;
+
+    @JsonProperty("appointmentDate")
+    private LocalDate appointmentDate;
+
+    @JsonProperty("appointmentTime")
+    private LocalTime appointmentTime;
+
+    @JsonProperty("durationMinutes")
+    private Integer durationMinutes;
+
+    @JsonProperty("appointmentType")
+    private String appointmentType;
+
+    @JsonProperty("reasonForVisit")
+    private String reasonForVisit;
+
+    @JsonProperty("notes")
+    private String notes;
+
+    /**
+     * Build an unsaved appointment with doctor and patient references holding only their IDs.
+     * The service resolves the references to managed entities.
+     */
+    public Appointment toAppointment() {
+        Doctor doctor = new Doctor();
+        doctor.setDoctorId(doctorId);
+        Patient patient = new Patient();
+        patient.setPatientId(patientId);
+
+        Appointment appointment = new Appointment(patient, doctor, appointmentDate, appointmentTime);
+        if (durationMinutes != null) {
+            appointment.setDurationMinutes(durationMinutes);
+        }
+        if (appointmentType != null) {
+            appointment.setAppointmentType(appointmentType);
+        }
+        appointment.setReasonForVisit(reasonForVisit);
+        appointment.setNotes(notes);
+        return appointment;
+    }
+
+    public Long getDoctorId() {
+        return doctorId;
+    }
+
+    public void setDoctorId(Long doctorId) {
+        this.doctorId = doctorId;
+    }
+
+    public Long getPatientId() {
+        return patientId;
+    }
+
+    public void setPatientId(Long patientId) {
+        this.patientId = patientId;
+    }
+
+    public LocalDate getAppointmentDate() {
+        return appointmentDate;
+    }
+
+    public void setAppointmentDate(LocalDate appointmentDate) {
+        this.appointmentDate = appointmentDate;
+    }
+
+    public LocalTime getAppointmentTime() {
+        return appointmentTime;
+    }
+
+    public void setAppointmentTime(LocalTime appointmentTime) {
+        this.appointmentTime = appointmentTime;
+    }
+
+    public Integer getDurationMinutes() {
+        return durationMinutes;
+    }
+
+    public void setDurationMinutes(Integer durationMinutes) {
+        this.durationMinutes = durationMinutes;
+    }
+
+    public String getAppointmentType() {
+        return appointmentType;
+    }
+
+    public void setAppointmentType(String appointmentType) {
+        this.appointmentType = appointmentType;
+    }
+
+    public String getReasonForVisit() {
+        return reasonForVisit;
+    }
+
+    public void setReasonForVisit(String reasonForVisit) {
+        this.reasonForVisit = reasonForVisit;
+    }
+
+    public String getNotes() {
+        return notes;
+    }
+
+    public void setNotes(String notes) {
+        this.notes = notes;
+    }
+}
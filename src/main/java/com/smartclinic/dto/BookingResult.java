@@ -0,0 +1,55 @@
+package com.smartclinic.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Outcome of a single appointment within a batch booking request.
+ * Either carries the new appointment ID or the reason the item was rejected.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BookingResult {
+
+    @JsonProperty("index")
+    private final int index;
+
+    @JsonProperty("success")
+    private final boolean success;
+
+    @JsonProperty("appointmentId")
+    private final Long appointmentId;
+
+    @JsonProperty("error")
+    private final String error;
+
+    private BookingResult(int index, boolean success, Long appointmentId, String error) {
+        this.index = index;
+        this.success = success;
+        this.appointmentId = appointmentId;
+        this.error = error;
+    }
+
+    public static BookingResult success(int index, Long appointmentId) {
+        return new BookingResult(index, true, appointmentId, null);
+    }
+
+    public static BookingResult failure(int index, String error) {
+        return new BookingResult(index, false, null, error);
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    public Long getAppointmentId() {
+        return appointmentId;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
@@ -0,0 +1,61 @@
+package com.smartclinic.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paginated listing.
+ * The next cursor is the sort key of the last item, or null on the final page.
+ */
+public class CursorPage<T> {
+
+    /**
+     * Page size used when the client does not ask for one.
+     */
+    public static final int DEFAULT_LIMIT = 50;
+
+    /**
+     * Largest page size a client may request.
+     */
+    public static final int MAX_LIMIT = 500;
+
+    private final List<T> items;
+
+    private final String nextCursor;
+
+    public CursorPage(List<T> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Build a page from a query that fetched up to limit + 1 rows.
+     * The extra row only signals that another page exists and is dropped.
+     */
+    public static <T> CursorPage<T> of(List<T> rows, int limit, Function<T, String> cursorOf) {
+        if (rows.size() <= limit) {
+            return new CursorPage<>(rows, null);
+        }
+        List<T> items = rows.subList(0, limit);
+        return new CursorPage<>(items, cursorOf.apply(items.get(limit - 1)));
+    }
+
+    /**
+     * Clamp a requested page size into [1, MAX_LIMIT].
+     */
+    public static int clampLimit(int limit) {
+        return Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,64 @@
+package com.smartclinic.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Pre-aggregated counters shown on the dashboard and admin overview.
+ */
+public class DashboardSummary {
+
+    @JsonProperty("totalDoctors")
+    private final long totalDoctors;
+
+    @JsonProperty("activeDoctors")
+    private final long activeDoctors;
+
+    @JsonProperty("activePatients")
+    private final long activePatients;
+
+    @JsonProperty("totalAppointments")
+    private final long totalAppointments;
+
+    @JsonProperty("appointmentsByStatus")
+    private final Map<String, Long> appointmentsByStatus;
+
+    @JsonProperty("reconciledAt")
+    private final LocalDateTime reconciledAt;
+
+    public DashboardSummary(long totalDoctors, long activeDoctors, long activePatients, long totalAppointments,
+                            Map<String, Long> appointmentsByStatus, LocalDateTime reconciledAt) {
+        this.totalDoctors = totalDoctors;
+        this.activeDoctors = activeDoctors;
+        this.activePatients = activePatients;
+        this.totalAppointments = totalAppointments;
+        this.appointmentsByStatus = appointmentsByStatus;
+        this.reconciledAt = reconciledAt;
+    }
+
+    public long getTotalDoctors() {
+        return totalDoctors;
+    }
+
+    public long getActiveDoctors() {
+        return activeDoctors;
+    }
+
+    public long getActivePatients() {
+        return activePatients;
+    }
+
+    public long getTotalAppointments() {
+        return totalAppointments;
+    }
+
+    public Map<String, Long> getAppointmentsByStatus() {
+        return appointmentsByStatus;
+    }
+
+    public LocalDateTime getReconciledAt() {
+        return reconciledAt;
+    }
+}
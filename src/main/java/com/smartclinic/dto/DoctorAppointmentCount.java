@@ -0,0 +1,28 @@
+package com.smartclinic.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Number of appointments of one doctor over a reporting period.
+ */
+public class DoctorAppointmentCount {
+
+    @JsonProperty("doctorId")
+    private final Long doctorId;
+
+    @JsonProperty("appointmentCount")
+    private final long appointmentCount;
+
+    public DoctorAppointmentCount(Long doctorId, long appointmentCount) {
+        this.doctorId = doctorId;
+        this.appointmentCount = appointmentCount;
+    }
+
+    public Long getDoctorId() {
+        return doctorId;
+    }
+
+    public long getAppointmentCount() {
+        return appointmentCount;
+    }
+}
@@ -0,0 +1,58 @@
+package com.smartclinic.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Timeline of one doctor over a date range, in start order.
+ * The ETag changes whenever an appointment or availability row in the range is added, changed or removed.
+ */
+public class DoctorSchedule {
+
+    @JsonProperty("doctorId")
+    private final Long doctorId;
+
+    @JsonProperty("from")
+    private final LocalDate from;
+
+    @JsonProperty("to")
+    private final LocalDate to;
+
+    @JsonProperty("segments")
+    private final List<ScheduleSegment> segments;
+
+    @JsonIgnore
+    private final String etag;
+
+    public DoctorSchedule(Long doctorId, LocalDate from, LocalDate to, List<ScheduleSegment> segments, String etag) {
+        this.doctorId = doctorId;
+        this.from = from;
+        this.to = to;
+        this.segments = segments;
+        this.etag = etag;
+    }
+
+    public Long getDoctorId() {
+        return doctorId;
+    }
+
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public LocalDate getTo() {
+        return to;
+    }
+
+    public List<ScheduleSegment> getSegments() {
+        return segments;
+    }
+
+    @JsonIgnore
+    public String getEtag() {
+        return etag;
+    }
+}
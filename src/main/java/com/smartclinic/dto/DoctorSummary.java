@@ -0,0 +1,141 @@
+package com.smartclinic.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.math.BigDecimal;
+import java.time.LocalTime;
+
+/**
+ * Read-only view of a doctor for list and search responses.
+ * Built directly by a JPQL constructor expression, so no entity or lazy collection is loaded.
+ */
+public class DoctorSummary {
+
+    @JsonProperty("doctorId")
+    private final Long doctorId;
+
+    @JsonProperty("email")
+    private final String email;
+
+    @JsonProperty("firstName")
+    private final String firstName;
+
+    @JsonProperty("lastName")
+    private final String lastName;
+
+    @JsonProperty("specialization")
+    private final String specialization;
+
+    @JsonProperty("licenseNumber")
+    private final String licenseNumber;
+
+    @JsonProperty("phoneNumber")
+    private final String phoneNumber;
+
+    @JsonProperty("yearsExperience")
+    private final Integer yearsExperience;
+
+    @JsonProperty("consultationFee")
+    private final BigDecimal consultationFee;
+
+    @JsonProperty("officeLocation")
+    private final String officeLocation;
+
+    @JsonProperty("workingHoursStart")
+    private final LocalTime workingHoursStart;
+
+    @JsonProperty("workingHoursEnd")
+    private final LocalTime workingHoursEnd;
+
+    @JsonProperty("profileImageUrl")
+    private final String profileImageUrl;
+
+    @JsonProperty("isActive")
+    private final Boolean isActive;
+
+    public DoctorSummary(Long doctorId, String email, String firstName, String lastName, String specialization,
+                         String licenseNumber, String phoneNumber, Integer yearsExperience, BigDecimal consultationFee,
+                         String officeLocation, LocalTime workingHoursStart, LocalTime workingHoursEnd,
+                         String profileImageUrl, Boolean isActive) {
+        this.doctorId = doctorId;
+        this.email = email;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.specialization = specialization;
+        this.licenseNumber = licenseNumber;
+        this.phoneNumber = phoneNumber;
+        this.yearsExperience = yearsExperience;
+        this.consultationFee = consultationFee;
+        this.officeLocation = officeLocation;
+        this.workingHoursStart = workingHoursStart;
+        this.workingHoursEnd = workingHoursEnd;
+        this.profileImageUrl = profileImageUrl;
+        this.isActive = isActive;
+    }
+
+    public Long getDoctorId() {
+        return doctorId;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public String getSpecialization() {
+        return specialization;
+    }
+
+    public String getLicenseNumber() {
+        return licenseNumber;
+    }
+
+    public String getPhoneNumber() {
+        return phoneNumber;
+    }
+
+    public Integer getYearsExperience() {
+        return yearsExperience;
+    }
+
+    public BigDecimal getConsultationFee() {
+        return consultationFee;
+    }
+
+    public String getOfficeLocation() {
+        return officeLocation;
+    }
+
+    public LocalTime getWorkingHoursStart() {
+        return workingHoursStart;
+    }
+
+    public LocalTime getWorkingHoursEnd() {
+        return workingHoursEnd;
+    }
+
+    public String getProfileImageUrl() {
+        return profileImageUrl;
+    }
+
+    public Boolean getIsActive() {
+        return isActive;
+    }
+
+    @JsonProperty("fullName")
+    public String getFullName() {
+        return "Dr. " + firstName + " " + lastName;
+    }
+
+    @JsonProperty("name")
+    public String getName() {
+        return firstName + " " + lastName;
+    }
+}
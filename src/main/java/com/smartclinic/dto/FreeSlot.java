@@ -0,0 +1,39 @@
+package com.smartclinic.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.LocalDateTime;
+
+/**
+ * A bookable period of one doctor.
+ * Start is inclusive and end exclusive.
+ */
+public class FreeSlot {
+
+    @JsonProperty("doctorId")
+    private final Long doctorId;
+
+    @JsonProperty("start")
+    private final LocalDateTime start;
+
+    @JsonProperty("end")
+    private final LocalDateTime end;
+
+    public FreeSlot(Long doctorId, LocalDateTime start, LocalDateTime end) {
+        this.doctorId = doctorId;
+        this.start = start;
+        this.end = end;
+    }
+
+    public Long getDoctorId() {
+        return doctorId;
+    }
+
+    public LocalDateTime getStart() {
+        return start;
+    }
+
+    public LocalDateTime getEnd() {
+        return end;
+    }
+}
@@ -0,0 +1,100 @@
+package com.smartclinic.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.smartclinic.model.Patient;
+
+import java.time.LocalDate;
+import java.time.Period;
+
+/**
+ * Read-only view of a patient for list and search responses.
+ * Built directly by a JPQL constructor expression; leaves out address and medical fields.
+ */
+public class PatientSummary {
+
+    @JsonProperty("patientId")
+    private final Long patientId;
+
+    @JsonProperty("email")
+    private final String email;
+
+    @JsonProperty("firstName")
+    private final String firstName;
+
+    @JsonProperty("lastName")
+    private final String lastName;
+
+    @JsonProperty("phoneNumber")
+    private final String phoneNumber;
+
+    @JsonProperty("dateOfBirth")
+    private final LocalDate dateOfBirth;
+
+    @JsonProperty("gender")
+    private final Patient.Gender gender;
+
+    @JsonProperty("bloodType")
+    private final String bloodType;
+
+    @JsonProperty("isActive")
+    private final Boolean isActive;
+
+    public PatientSummary(Long patientId, String email, String firstName, String lastName, String phoneNumber,
+                          LocalDate dateOfBirth, Patient.Gender gender, String bloodType, Boolean isActive) {
+        this.patientId = patientId;
+        this.email = email;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.phoneNumber = phoneNumber;
+        this.dateOfBirth = dateOfBirth;
+        this.gender = gender;
+        this.bloodType = bloodType;
+        this.isActive = isActive;
+    }
+
+    public Long getPatientId() {
+        return patientId;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public String getPhoneNumber() {
+        return phoneNumber;
+    }
+
+    public LocalDate getDateOfBirth() {
+        return dateOfBirth;
+    }
+
+    public Patient.Gender getGender() {
+        return gender;
+    }
+
+    public String getBloodType() {
+        return bloodType;
+    }
+
+    public Boolean getIsActive() {
+        return isActive;
+    }
+
+    @JsonProperty("fullName")
+    public String getFullName() {
+        return firstName + " " + lastName;
+    }
+
+    @JsonProperty("age")
+    public int getAge() {
+        return dateOfBirth != null ? Period.between(dateOfBirth, LocalDate.now()).getYears() : 0;
+    }
+}
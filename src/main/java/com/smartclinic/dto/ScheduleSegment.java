@@ -0,0 +1,100 @@
+package com.smartclinic.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.smartclinic.model.Appointment;
+import com.smartclinic.model.DoctorAvailability;
+
+import java.time.LocalDateTime;
+
+/**
+ * One period of a doctor's schedule timeline.
+ * Start is inclusive and end exclusive. Busy segments carry their appointment,
+ * blocked segments the availability type and reason that block them.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ScheduleSegment {
+
+    public enum State {
+        FREE,
+        BUSY,
+        BLOCKED
+    }
+
+    @JsonProperty("state")
+    private final State state;
+
+    @JsonProperty("start")
+    private final LocalDateTime start;
+
+    @JsonProperty("end")
+    private final LocalDateTime end;
+
+    @JsonProperty("appointmentId")
+    private final Long appointmentId;
+
+    @JsonProperty("patientId")
+    private final Long patientId;
+
+    @JsonProperty("appointmentStatus")
+    private final Appointment.AppointmentStatus appointmentStatus;
+
+    @JsonProperty("appointmentType")
+    private final String appointmentType;
+
+    @JsonProperty("availabilityType")
+    private final DoctorAvailability.AvailabilityType availabilityType;
+
+    @JsonProperty("reason")
+    private final String reason;
+
+    public ScheduleSegment(State state, LocalDateTime start, LocalDateTime end, Long appointmentId, Long patientId,
+                           Appointment.AppointmentStatus appointmentStatus, String appointmentType,
+                           DoctorAvailability.AvailabilityType availabilityType, String reason) {
+        this.state = state;
+        this.start = start;
+        this.end = end;
+        this.appointmentId = appointmentId;
+        this.patientId = patientId;
+        this.appointmentStatus = appointmentStatus;
+        this.appointmentType = appointmentType;
+        this.availabilityType = availabilityType;
+        this.reason = reason;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public LocalDateTime getStart() {
+        return start;
+    }
+
+    public LocalDateTime getEnd() {
+        return end;
+    }
+
+    public Long getAppointmentId() {
+        return appointmentId;
+    }
+
+    public Long getPatientId() {
+        return patientId;
+    }
+
+    public Appointment.AppointmentStatus getAppointmentStatus() {
+        return appointmentStatus;
+    }
+
+    public String getAppointmentType() {
+        return appointmentType;
+    }
+
+    public DoctorAvailability.AvailabilityType getAvailabilityType() {
+        return availabilityType;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+}
@@ -0,0 +1,65 @@
+package com.smartclinic.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * One statement that ran over the slow-query threshold, with its bind parameters,
+ * the repository method that issued it and, for queries, the execution plan.
+ */
+public class SlowQuery {
+
+    @JsonProperty("executedAt")
+    private final LocalDateTime executedAt;
+
+    @JsonProperty("elapsedMillis")
+    private final double elapsedMillis;
+
+    @JsonProperty("caller")
+    private final String caller;
+
+    @JsonProperty("sql")
+    private final String sql;
+
+    @JsonProperty("parameters")
+    private final List<String> parameters;
+
+    @JsonProperty("plan")
+    private final String plan;
+
+    public SlowQuery(LocalDateTime executedAt, double elapsedMillis, String caller, String sql,
+                     List<String> parameters, String plan) {
+        this.executedAt = executedAt;
+        this.elapsedMillis = elapsedMillis;
+        this.caller = caller;
+        this.sql = sql;
+        this.parameters = parameters;
+        this.plan = plan;
+    }
+
+    public LocalDateTime getExecutedAt() {
+        return executedAt;
+    }
+
+    public double getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public String getCaller() {
+        return caller;
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    public List<String> getParameters() {
+        return parameters;
+    }
+
+    public String getPlan() {
+        return plan;
+    }
+}
@@ -17,11 +17,16 @@ import java.util.Objects;
  * Links patients and doctors with appointment details
  */
 @Entity
-@Table(name = "appointments")
+@Table(name = "appointments", indexes = {
+    @Index(name = "idx_appointments_doctor_date_time", columnList = "doctor_id, appointment_date, appointment_time"),
+    @Index(name = "idx_appointments_patient_date", columnList = "patient_id, appointment_date"),
+    @Index(name = "idx_appointments_date_time", columnList = "appointment_date, appointment_time")
+})
 public class Appointment {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "appointment_seq")
+    @SequenceGenerator(name = "appointment_seq", sequenceName = "appointments_seq", allocationSize = 50)
     @Column(name = "appointment_id")
     @JsonProperty("appointmentId")
     private Long appointmentId;
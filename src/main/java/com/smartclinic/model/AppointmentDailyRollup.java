@@ -0,0 +1,105 @@
+package com.smartclinic.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+
+/**
+ * AppointmentDailyRollup entity - number of appointments per day, doctor and status
+ * Maintained incrementally from the appointment event outbox and rebuilt by the backfill job;
+ * monthly and yearly reports read these rows instead of scanning appointments.
+ */
+@Entity
+@Table(name = "appointment_daily_rollups",
+       uniqueConstraints = @UniqueConstraint(name = "uk_appointment_daily_rollups",
+                                             columnNames = {"rollup_date", "doctor_id", "status"}))
+public class AppointmentDailyRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "rollup_id")
+    @JsonProperty("rollupId")
+    private Long rollupId;
+
+    @Column(name = "rollup_date", nullable = false)
+    @JsonProperty("date")
+    private LocalDate rollupDate;
+
+    // Plain ID so rollups survive independently of doctor deletes
+    @Column(name = "doctor_id", nullable = false)
+    @JsonProperty("doctorId")
+    private Long doctorId;
+
+    @Column(name = "status", nullable = false, length = 20)
+    @Enumerated(EnumType.STRING)
+    @JsonProperty("status")
+    private Appointment.AppointmentStatus status;
+
+    @Column(name = "appointment_count", nullable = false)
+    @JsonProperty("appointmentCount")
+    private long appointmentCount;
+
+    // Constructors
+    public AppointmentDailyRollup() {
+    }
+
+    public AppointmentDailyRollup(LocalDate rollupDate, Long doctorId, Appointment.AppointmentStatus status,
+                                  long appointmentCount) {
+        this.rollupDate = rollupDate;
+        this.doctorId = doctorId;
+        this.status = status;
+        this.appointmentCount = appointmentCount;
+    }
+
+    // Getters and Setters
+    public Long getRollupId() {
+        return rollupId;
+    }
+
+    public void setRollupId(Long rollupId) {
+        this.rollupId = rollupId;
+    }
+
+    public LocalDate getRollupDate() {
+        return rollupDate;
+    }
+
+    public void setRollupDate(LocalDate rollupDate) {
+        this.rollupDate = rollupDate;
+    }
+
+    public Long getDoctorId() {
+        return doctorId;
+    }
+
+    public void setDoctorId(Long doctorId) {
+        this.doctorId = doctorId;
+    }
+
+    public Appointment.AppointmentStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(Appointment.AppointmentStatus status) {
+        this.status = status;
+    }
+
+    public long getAppointmentCount() {
+        return appointmentCount;
+    }
+
+    public void setAppointmentCount(long appointmentCount) {
+        this.appointmentCount = appointmentCount;
+    }
+
+    @Override
+    public String toString() {
+        return "AppointmentDailyRollup{" +
+                "rollupDate=" + rollupDate +
+                ", doctorId=" + doctorId +
+                ", status=" + status +
+                ", appointmentCount=" + appointmentCount +
+                '}';
+    }
+}
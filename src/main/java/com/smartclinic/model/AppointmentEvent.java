@@ -0,0 +1,234 @@
+package com.smartclinic.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * AppointmentEvent entity - transactional outbox of appointment lifecycle changes
+ * Written in the same transaction as the appointment change and drained in batches by a
+ * background worker; carries a snapshot of the appointment so consumers never reload it.
+ * Processed events are kept for the retention period as an audit trail.
+ */
+@Entity
+@Table(name = "appointment_events", indexes = {
+    @Index(name = "idx_appointment_events_pending", columnList = "processed_at, event_id")
+})
+public class AppointmentEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "appointment_event_seq")
+    @SequenceGenerator(name = "appointment_event_seq", sequenceName = "appointment_events_seq", allocationSize = 50)
+    @Column(name = "event_id")
+    @JsonProperty("eventId")
+    private Long eventId;
+
+    @Column(name = "event_type", nullable = false, length = 20)
+    @Enumerated(EnumType.STRING)
+    @JsonProperty("eventType")
+    private EventType eventType;
+
+    // Plain IDs rather than associations: the appointment may be deleted before the event is drained
+    @Column(name = "appointment_id", nullable = false)
+    @JsonProperty("appointmentId")
+    private Long appointmentId;
+
+    @Column(name = "doctor_id", nullable = false)
+    @JsonProperty("doctorId")
+    private Long doctorId;
+
+    @Column(name = "patient_id", nullable = false)
+    @JsonProperty("patientId")
+    private Long patientId;
+
+    @Column(name = "appointment_date", nullable = false)
+    @JsonProperty("appointmentDate")
+    private LocalDate appointmentDate;
+
+    @Column(name = "appointment_time", nullable = false)
+    @JsonProperty("appointmentTime")
+    private LocalTime appointmentTime;
+
+    @Column(name = "duration_minutes")
+    @JsonProperty("durationMinutes")
+    private Integer durationMinutes;
+
+    // Date before the change, for moves between days; null for a new appointment
+    @Column(name = "previous_appointment_date")
+    @JsonProperty("previousAppointmentDate")
+    private LocalDate previousAppointmentDate;
+
+    @Column(name = "previous_status", length = 20)
+    @Enumerated(EnumType.STRING)
+    @JsonProperty("previousStatus")
+    private Appointment.AppointmentStatus previousStatus;
+
+    // Null for a deleted appointment
+    @Column(name = "status", length = 20)
+    @Enumerated(EnumType.STRING)
+    @JsonProperty("status")
+    private Appointment.AppointmentStatus status;
+
+    @Column(name = "occurred_at", nullable = false)
+    @JsonProperty("occurredAt")
+    private LocalDateTime occurredAt;
+
+    @Column(name = "processed_at")
+    @JsonProperty("processedAt")
+    private LocalDateTime processedAt;
+
+    // Enum for Event Type
+    public enum EventType {
+        CREATED,
+        UPDATED,
+        RESCHEDULED,
+        CANCELLED,
+        COMPLETED,
+        DELETED
+    }
+
+    // Constructors
+    public AppointmentEvent() {
+    }
+
+    /**
+     * Snapshot the current state of an appointment.
+     * A DELETED event records no current status.
+     */
+    public AppointmentEvent(EventType eventType, Appointment appointment,
+                            Appointment.AppointmentStatus previousStatus, LocalDate previousAppointmentDate) {
+        this.eventType = eventType;
+        this.appointmentId = appointment.getAppointmentId();
+        this.doctorId = appointment.getDoctorId();
+        this.patientId = appointment.getPatientId();
+        this.appointmentDate = appointment.getAppointmentDate();
+        this.appointmentTime = appointment.getAppointmentTime();
+        this.durationMinutes = appointment.getDurationMinutes();
+        this.previousAppointmentDate = previousAppointmentDate;
+        this.previousStatus = previousStatus;
+        this.status = eventType == EventType.DELETED ? null : appointment.getStatus();
+        this.occurredAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(Long eventId) {
+        this.eventId = eventId;
+    }
+
+    public EventType getEventType() {
+        return eventType;
+    }
+
+    public void setEventType(EventType eventType) {
+        this.eventType = eventType;
+    }
+
+    public Long getAppointmentId() {
+        return appointmentId;
+    }
+
+    public void setAppointmentId(Long appointmentId) {
+        this.appointmentId = appointmentId;
+    }
+
+    public Long getDoctorId() {
+        return doctorId;
+    }
+
+    public void setDoctorId(Long doctorId) {
+        this.doctorId = doctorId;
+    }
+
+    public Long getPatientId() {
+        return patientId;
+    }
+
+    public void setPatientId(Long patientId) {
+        this.patientId = patientId;
+    }
+
+    public LocalDate getAppointmentDate() {
+        return appointmentDate;
+    }
+
+    public void setAppointmentDate(LocalDate appointmentDate) {
+        this.appointmentDate = appointmentDate;
+    }
+
+    public LocalTime getAppointmentTime() {
+        return appointmentTime;
+    }
+
+    public void setAppointmentTime(LocalTime appointmentTime) {
+        this.appointmentTime = appointmentTime;
+    }
+
+    public Integer getDurationMinutes() {
+        return durationMinutes;
+    }
+
+    public void setDurationMinutes(Integer durationMinutes) {
+        this.durationMinutes = durationMinutes;
+    }
+
+    public LocalDate getPreviousAppointmentDate() {
+        return previousAppointmentDate;
+    }
+
+    public void setPreviousAppointmentDate(LocalDate previousAppointmentDate) {
+        this.previousAppointmentDate = previousAppointmentDate;
+    }
+
+    public Appointment.AppointmentStatus getPreviousStatus() {
+        return previousStatus;
+    }
+
+    public void setPreviousStatus(Appointment.AppointmentStatus previousStatus) {
+        this.previousStatus = previousStatus;
+    }
+
+    public Appointment.AppointmentStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(Appointment.AppointmentStatus status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+
+    public void setOccurredAt(LocalDateTime occurredAt) {
+        this.occurredAt = occurredAt;
+    }
+
+    public LocalDateTime getProcessedAt() {
+        return processedAt;
+    }
+
+    public void setProcessedAt(LocalDateTime processedAt) {
+        this.processedAt = processedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "AppointmentEvent{" +
+                "eventId=" + eventId +
+                ", eventType=" + eventType +
+                ", appointmentId=" + appointmentId +
+                ", doctorId=" + doctorId +
+                ", patientId=" + patientId +
+                ", previousStatus=" + previousStatus +
+                ", status=" + status +
+                ", occurredAt=" + occurredAt +
+                '}';
+    }
+}
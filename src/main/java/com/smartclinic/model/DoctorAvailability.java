@@ -5,6 +5,7 @@ import com.fasterxml.jackson.annotation.JsonBackReference;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -71,6 +72,12 @@ public class DoctorAvailability {
     @JsonProperty("createdAt")
     private LocalDateTime createdAt;
 
+    // Null for rows inserted with plain JDBC until they are first changed
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    @JsonProperty("updatedAt")
+    private LocalDateTime updatedAt;
+
     // Enum for Availability Type
     public enum AvailabilityType {
         AVAILABLE("Available"),
@@ -181,6 +188,14 @@ public class DoctorAvailability {
         this.createdAt = createdAt;
     }
 
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
     // Helper methods
     @JsonProperty("doctorId")
     public Long getDoctorId() {
@@ -0,0 +1,81 @@
+package com.smartclinic.repository;
+
+import com.smartclinic.model.AppointmentEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository interface for the appointment event outbox.
+ * Used by the event worker to drain, acknowledge and purge events.
+ */
+@Repository
+public interface AppointmentEventRepository extends JpaRepository<AppointmentEvent, Long> {
+
+    /**
+     * Find the oldest unprocessed events in commit order of their IDs.
+     * Served by idx_appointment_events_pending.
+     */
+    @Query("SELECT e FROM AppointmentEvent e WHERE e.processedAt IS NULL ORDER BY e.eventId ASC")
+    List<AppointmentEvent> findPending(Pageable pageable);
+
+    /**
+     * Find the oldest unprocessed events that occurred before the cutoff.
+     * Used at startup to replay events from a previous run to persistent consumers.
+     */
+    @Query("SELECT e FROM AppointmentEvent e WHERE e.processedAt IS NULL AND e.occurredAt < :cutoff ORDER BY e.eventId ASC")
+    List<AppointmentEvent> findPendingBefore(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    /**
+     * Find the unprocessed events that move an appointment to or from a day in the range.
+     * Used by the rollup backfill to leave out changes the outbox has not delivered yet.
+     */
+    @Query("SELECT e FROM AppointmentEvent e WHERE e.processedAt IS NULL " +
+           "AND (e.appointmentDate BETWEEN :startDate AND :endDate " +
+           "OR e.previousAppointmentDate BETWEEN :startDate AND :endDate)")
+    List<AppointmentEvent> findPendingBetween(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    /**
+     * Mark a batch of events as processed.
+     */
+    @Modifying
+    @Query("UPDATE AppointmentEvent e SET e.processedAt = :processedAt WHERE e.eventId IN :eventIds")
+    int markProcessed(@Param("eventIds") List<Long> eventIds, @Param("processedAt") LocalDateTime processedAt);
+
+    /**
+     * Mark every pending event that occurred before the cutoff as processed.
+     * Used at startup, when in-memory consumers rebuild their state from the database instead.
+     */
+    @Modifying
+    @Query("UPDATE AppointmentEvent e SET e.processedAt = :processedAt WHERE e.processedAt IS NULL AND e.occurredAt < :cutoff")
+    int markPendingProcessedBefore(@Param("cutoff") LocalDateTime cutoff, @Param("processedAt") LocalDateTime processedAt);
+
+    /**
+     * Delete processed events older than the cutoff.
+     */
+    @Modifying
+    @Query("DELETE FROM AppointmentEvent e WHERE e.processedAt < :cutoff")
+    int deleteProcessedBefore(@Param("cutoff") LocalDateTime cutoff);
+
+    /**
+     * Count events waiting to be processed.
+     * Backs the clinic.events.pending gauge.
+     */
+    @Query("SELECT COUNT(e) FROM AppointmentEvent e WHERE e.processedAt IS NULL")
+    long countPending();
+
+    /**
+     * Count pending events per status transition, as rows of [previousStatus, status, count].
+     * Lets a consumer that recounts from the appointments table leave out changes it has not been sent yet.
+     */
+    @Query("SELECT e.previousStatus, e.status, COUNT(e) FROM AppointmentEvent e WHERE e.processedAt IS NULL "
+            + "GROUP BY e.previousStatus, e.status")
+    List<Object[]> countPendingByStatusChange();
+}
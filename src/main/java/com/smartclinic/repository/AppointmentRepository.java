@@ -1,13 +1,21 @@
 package com.smartclinic.repository;
 
 import com.smartclinic.model.Appointment;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.time.LocalDateTime;
+import jakarta.persistence.QueryHint;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for Appointment entity operations.
@@ -16,12 +24,50 @@ import java.util.List;
 @Repository
 public interface AppointmentRepository extends JpaRepository<Appointment, Long> {
     
+    /**
+     * JDBC fetch size of the export streams.
+     * On MySQL the driver only honours it with useCursorFetch=true in the connection URL.
+     */
+    String EXPORT_FETCH_SIZE = "1000";
+    
     /**
      * Find appointments by patient ID.
      * Core functionality for patient portal - viewing their appointments.
      */
     List<Appointment> findByPatient_PatientIdOrderByAppointmentTimeDesc(Long patientId);
     
+    /**
+     * Find appointment by ID with its doctor and patient in one statement.
+     */
+    @EntityGraph(attributePaths = {"doctor", "patient"})
+    Optional<Appointment> findWithPartiesByAppointmentId(Long appointmentId);
+    
+    /**
+     * Find the next page of appointments after the given ID.
+     * Keyset pagination on the primary key; the Pageable only carries the page size.
+     * Doctor and patient are joined in, since the JSON form includes their names.
+     */
+    @EntityGraph(attributePaths = {"doctor", "patient"})
+    List<Appointment> findByAppointmentIdGreaterThanOrderByAppointmentIdAsc(Long appointmentId, Pageable pageable);
+    
+    /**
+     * Find the next page of a doctor's appointments in time order.
+     * Keyset pagination on (date, time, ID) starting after the given cursor position.
+     * Doctor and patient are joined in, since the JSON form includes their names.
+     */
+    @EntityGraph(attributePaths = {"doctor", "patient"})
+    @Query("SELECT a FROM Appointment a WHERE a.doctor.doctorId = :doctorId " +
+           "AND (a.appointmentDate > :date " +
+           "OR (a.appointmentDate = :date AND a.appointmentTime > :time) " +
+           "OR (a.appointmentDate = :date AND a.appointmentTime = :time AND a.appointmentId > :appointmentId)) " +
+           "ORDER BY a.appointmentDate ASC, a.appointmentTime ASC, a.appointmentId ASC")
+    List<Appointment> findDoctorAppointmentsAfter(
+        @Param("doctorId") Long doctorId,
+        @Param("date") LocalDate date,
+        @Param("time") LocalTime time,
+        @Param("appointmentId") Long appointmentId,
+        Pageable pageable);
+    
     /**
      * Find appointments by doctor ID.
      * Core functionality for doctor portal - viewing their appointments.
@@ -36,50 +82,65 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>
     
     /**
      * Find upcoming appointments for a patient.
-     * Used in patient dashboard to show next appointments.
+     * Used in patient dashboard to show next appointments. Range on (patient_id, appointment_date).
      */
     @Query("SELECT a FROM Appointment a WHERE a.patient.patientId = :patientId " +
-           "AND a.appointmentTime >= CURRENT_TIMESTAMP " +
-           "ORDER BY a.appointmentTime ASC")
+           "AND a.appointmentDate >= CURRENT_DATE " +
+           "AND (a.appointmentDate > CURRENT_DATE OR a.appointmentTime >= CURRENT_TIME) " +
+           "ORDER BY a.appointmentDate ASC, a.appointmentTime ASC")
     List<Appointment> findUpcomingAppointmentsByPatientId(@Param("patientId") Long patientId);
     
     /**
      * Find upcoming appointments for a doctor.
      * Used in doctor dashboard to show today's and upcoming appointments.
+     * Range on (doctor_id, appointment_date, appointment_time).
      */
     @Query("SELECT a FROM Appointment a WHERE a.doctor.doctorId = :doctorId " +
-           "AND a.appointmentTime >= CURRENT_TIMESTAMP " +
-           "ORDER BY a.appointmentTime ASC")
+           "AND a.appointmentDate >= CURRENT_DATE " +
+           "AND (a.appointmentDate > CURRENT_DATE OR a.appointmentTime >= CURRENT_TIME) " +
+           "ORDER BY a.appointmentDate ASC, a.appointmentTime ASC")
     List<Appointment> findUpcomingAppointmentsByDoctorId(@Param("doctorId") Long doctorId);
     
     /**
      * Find appointments for a specific date.
-     * Used for daily appointment reports and scheduling.
+     * Used for daily appointment reports and scheduling. Compares the bare appointment_date
+     * column so the lookup stays a range on the (appointment_date, appointment_time) index
+     * instead of a function over every row.
      */
-    @Query("SELECT a FROM Appointment a WHERE DATE(a.appointmentTime) = DATE(:date) " +
+    @Query("SELECT a FROM Appointment a WHERE a.appointmentDate = :date " +
            "ORDER BY a.appointmentTime ASC")
-    List<Appointment> findAppointmentsByDate(@Param("date") LocalDateTime date);
+    List<Appointment> findAppointmentsByDate(@Param("date") LocalDate date);
     
     /**
-     * Find appointments in a date range.
-     * Used for reporting and analytics.
+     * Find appointments starting in the half-open range [start, end).
+     * Used for reporting and analytics. The outer date bounds select an appointment_date range;
+     * the time conditions only trim the first and last day.
      */
-    @Query("SELECT a FROM Appointment a WHERE a.appointmentTime BETWEEN :startDate AND :endDate " +
-           "ORDER BY a.appointmentTime ASC")
+    @Query("SELECT a FROM Appointment a " +
+           "WHERE a.appointmentDate >= :startDate AND a.appointmentDate <= :endDate " +
+           "AND (a.appointmentDate > :startDate OR a.appointmentTime >= :startTime) " +
+           "AND (a.appointmentDate < :endDate OR a.appointmentTime < :endTime) " +
+           "ORDER BY a.appointmentDate ASC, a.appointmentTime ASC")
     List<Appointment> findAppointmentsBetweenDates(
-        @Param("startDate") LocalDateTime startDate,
-        @Param("endDate") LocalDateTime endDate);
+        @Param("startDate") LocalDate startDate,
+        @Param("startTime") LocalTime startTime,
+        @Param("endDate") LocalDate endDate,
+        @Param("endTime") LocalTime endTime);
     
     /**
-     * Check for conflicting appointments.
-     * Prevents double-booking of doctors at the same time.
+     * Find the booked time ranges of non-cancelled appointments on or after a date.
+     * Returns appointmentId, doctorId, date, time and duration; used to warm the slot and availability indexes.
      */
-    @Query("SELECT COUNT(a) > 0 FROM Appointment a WHERE a.doctor.doctorId = :doctorId " +
-           "AND a.appointmentTime = :appointmentTime " +
-           "AND a.status != 'CANCELLED'")
-    boolean existsByDoctorIdAndAppointmentTime(
-        @Param("doctorId") Long doctorId,
-        @Param("appointmentTime") LocalDateTime appointmentTime);
+    @Query("SELECT a.appointmentId, a.doctor.doctorId, a.appointmentDate, a.appointmentTime, a.durationMinutes " +
+           "FROM Appointment a WHERE a.appointmentDate >= :fromDate AND a.status != 'CANCELLED'")
+    List<Object[]> findActiveAppointmentSlotsFrom(@Param("fromDate") LocalDate fromDate);
+    
+    /**
+     * Find the earliest and latest appointment dates.
+     * Returns one row; both values are null when there are no appointments.
+     */
+    @Query("SELECT MIN(a.appointmentDate), MAX(a.appointmentDate) FROM Appointment a")
+    List<Object[]> findDateRange();
     
     /**
      * Find appointments by patient and doctor.
@@ -101,10 +162,10 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>
     
     /**
      * Find today's appointments for a doctor.
-     * Used for doctor's daily schedule view.
+     * Used for doctor's daily schedule view. Served in order by the (doctor_id, appointment_date, appointment_time) index.
      */
     @Query("SELECT a FROM Appointment a WHERE a.doctor.doctorId = :doctorId " +
-           "AND DATE(a.appointmentTime) = CURRENT_DATE " +
+           "AND a.appointmentDate = CURRENT_DATE " +
            "ORDER BY a.appointmentTime ASC")
     List<Appointment> findTodaysAppointmentsByDoctorId(@Param("doctorId") Long doctorId);
     
@@ -122,7 +183,63 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>
     @Query("SELECT a FROM Appointment a " +
            "JOIN FETCH a.doctor d " +
            "JOIN FETCH a.patient p " +
-           "WHERE DATE(a.appointmentTime) = DATE(:reportDate) " +
+           "WHERE a.appointmentDate = :reportDate " +
            "ORDER BY d.firstName, d.lastName, a.appointmentTime")
-    List<Appointment> findDailyAppointmentReportByDoctor(@Param("reportDate") LocalDateTime reportDate);
+    List<Appointment> findDailyAppointmentReportByDoctor(@Param("reportDate") LocalDate reportDate);
+    
+    /**
+     * Find the appointments of one doctor in a date range for the schedule timeline.
+     * Returns appointmentId, date, time, durationMinutes, status, appointmentType, patientId and the
+     * last change time, ordered by date and time; cancelled appointments are included.
+     */
+    @Query("SELECT a.appointmentId, a.appointmentDate, a.appointmentTime, a.durationMinutes, a.status, " +
+           "a.appointmentType, a.patient.patientId, COALESCE(a.updatedAt, a.createdAt) " +
+           "FROM Appointment a WHERE a.doctor.doctorId = :doctorId " +
+           "AND a.appointmentDate BETWEEN :startDate AND :endDate " +
+           "ORDER BY a.appointmentDate ASC, a.appointmentTime ASC")
+    List<Object[]> findScheduleRowsBetween(@Param("doctorId") Long doctorId,
+                                           @Param("startDate") LocalDate startDate,
+                                           @Param("endDate") LocalDate endDate);
+    
+    /**
+     * Version of the schedule rows above: their count and latest change time, as one row.
+     * Lets the schedule ETag be checked without loading the rows.
+     */
+    @Query("SELECT COUNT(a), MAX(COALESCE(a.updatedAt, a.createdAt)) " +
+           "FROM Appointment a WHERE a.doctor.doctorId = :doctorId " +
+           "AND a.appointmentDate BETWEEN :startDate AND :endDate")
+    List<Object[]> findScheduleVersionBetween(@Param("doctorId") Long doctorId,
+                                              @Param("startDate") LocalDate startDate,
+                                              @Param("endDate") LocalDate endDate);
+    
+    /**
+     * Stream the daily report rows of one date, with doctor and patient.
+     * Forward-only and read-only; must be consumed inside a transaction and closed.
+     */
+    @Query("SELECT a FROM Appointment a " +
+           "JOIN FETCH a.doctor d " +
+           "JOIN FETCH a.patient p " +
+           "WHERE a.appointmentDate = :reportDate " +
+           "ORDER BY d.firstName, d.lastName, a.appointmentTime")
+    @QueryHints({
+        @QueryHint(name = "org.hibernate.fetchSize", value = EXPORT_FETCH_SIZE),
+        @QueryHint(name = "org.hibernate.readOnly", value = "true")
+    })
+    Stream<Appointment> streamDailyAppointmentReportByDoctor(@Param("reportDate") LocalDate reportDate);
+    
+    /**
+     * Stream all appointments in a date range in time order, with doctor and patient.
+     * Forward-only and read-only; must be consumed inside a transaction and closed.
+     */
+    @Query("SELECT a FROM Appointment a " +
+           "JOIN FETCH a.doctor d " +
+           "JOIN FETCH a.patient p " +
+           "WHERE a.appointmentDate BETWEEN :startDate AND :endDate " +
+           "ORDER BY a.appointmentDate ASC, a.appointmentTime ASC, a.appointmentId ASC")
+    @QueryHints({
+        @QueryHint(name = "org.hibernate.fetchSize", value = EXPORT_FETCH_SIZE),
+        @QueryHint(name = "org.hibernate.readOnly", value = "true")
+    })
+    Stream<Appointment> streamAppointmentsBetweenDates(@Param("startDate") LocalDate startDate,
+                                                       @Param("endDate") LocalDate endDate);
 }
@@ -0,0 +1,59 @@
+package com.smartclinic.repository;
+
+import com.smartclinic.model.Appointment;
+import com.smartclinic.model.AppointmentDailyRollup;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository interface for daily appointment rollups.
+ * Reads are range scans on the (rollup_date, doctor_id, status) unique key.
+ */
+@Repository
+public interface AppointmentRollupRepository extends JpaRepository<AppointmentDailyRollup, Long> {
+
+    /**
+     * Add a delta to one rollup row.
+     * Returns 0 when the row does not exist yet.
+     */
+    @Modifying
+    @Query("UPDATE AppointmentDailyRollup r SET r.appointmentCount = r.appointmentCount + :delta " +
+           "WHERE r.rollupDate = :date AND r.doctorId = :doctorId AND r.status = :status")
+    int addToCount(@Param("date") LocalDate date,
+                   @Param("doctorId") Long doctorId,
+                   @Param("status") Appointment.AppointmentStatus status,
+                   @Param("delta") long delta);
+
+    /**
+     * Find the rollup rows of one day, ordered by doctor and status.
+     */
+    List<AppointmentDailyRollup> findByRollupDateOrderByDoctorIdAscStatusAsc(LocalDate date);
+
+    /**
+     * Sum appointment counts per doctor over a date range, highest first.
+     * Returns doctorId and total; the Pageable only carries the number of doctors wanted.
+     */
+    @Query("SELECT r.doctorId, SUM(r.appointmentCount) FROM AppointmentDailyRollup r " +
+           "WHERE r.rollupDate BETWEEN :startDate AND :endDate AND r.status IN :statuses " +
+           "GROUP BY r.doctorId " +
+           "ORDER BY SUM(r.appointmentCount) DESC, r.doctorId ASC")
+    List<Object[]> sumByDoctorBetween(@Param("startDate") LocalDate startDate,
+                                      @Param("endDate") LocalDate endDate,
+                                      @Param("statuses") Collection<Appointment.AppointmentStatus> statuses,
+                                      Pageable pageable);
+
+    /**
+     * Delete the rollup rows of a date range before it is recomputed.
+     */
+    @Modifying
+    @Query("DELETE FROM AppointmentDailyRollup r WHERE r.rollupDate BETWEEN :startDate AND :endDate")
+    int deleteBetween(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+}
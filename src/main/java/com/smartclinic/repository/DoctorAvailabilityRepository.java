@@ -2,12 +2,14 @@ package com.smartclinic.repository;
 
 import com.smartclinic.model.DoctorAvailability;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -71,6 +73,33 @@ public interface DoctorAvailabilityRepository extends JpaRepository<DoctorAvaila
         @Param("startDate") LocalDate startDate,
         @Param("endDate") LocalDate endDate);
     
+    /**
+     * Find the availability rows of one doctor in a date range for the schedule timeline.
+     * Returns availabilityId, date, startTime, endTime, availabilityType, reason and the last change time,
+     * ordered by date and start time.
+     */
+    @Query("SELECT da.availabilityId, da.date, da.startTime, da.endTime, da.availabilityType, da.reason, " +
+           "COALESCE(da.updatedAt, da.createdAt) " +
+           "FROM DoctorAvailability da WHERE da.doctor.doctorId = :doctorId " +
+           "AND da.date BETWEEN :startDate AND :endDate " +
+           "ORDER BY da.date ASC, da.startTime ASC")
+    List<Object[]> findScheduleRowsBetween(
+        @Param("doctorId") Long doctorId,
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate);
+    
+    /**
+     * Version of the schedule rows above: their count and latest change time, as one row.
+     * Lets the schedule ETag be checked without loading the rows.
+     */
+    @Query("SELECT COUNT(da), MAX(COALESCE(da.updatedAt, da.createdAt)) " +
+           "FROM DoctorAvailability da WHERE da.doctor.doctorId = :doctorId " +
+           "AND da.date BETWEEN :startDate AND :endDate")
+    List<Object[]> findScheduleVersionBetween(
+        @Param("doctorId") Long doctorId,
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate);
+    
     /**
      * Check for overlapping availability slots.
      * Prevents creating conflicting availability slots for the same doctor.
@@ -106,6 +135,14 @@ public interface DoctorAvailabilityRepository extends JpaRepository<DoctorAvaila
            "ORDER BY da.doctor.firstName, da.doctor.lastName, da.startTime")
     List<DoctorAvailability> findByAvailableDate(@Param("date") LocalDate date);
     
+    /**
+     * Find the time ranges of all availability rows from the given date on.
+     * Returns availabilityId, doctorId, date, startTime, endTime and availabilityType; used to warm the availability index.
+     */
+    @Query("SELECT da.availabilityId, da.doctor.doctorId, da.date, da.startTime, da.endTime, da.availabilityType " +
+           "FROM DoctorAvailability da WHERE da.date >= :fromDate")
+    List<Object[]> findSlotRangesFrom(@Param("fromDate") LocalDate fromDate);
+    
     /**
      * Count available slots for a doctor.
      * Used for doctor workload analysis and reporting.
@@ -116,15 +153,86 @@ public interface DoctorAvailabilityRepository extends JpaRepository<DoctorAvaila
     Long countAvailableSlotsByDoctorId(@Param("doctorId") Long doctorId);
     
     /**
-     * Update availability status.
+     * Find the recurring template rows whose first occurrence is on or before untilDate.
+     * Returns doctorId, date, startTime, endTime, availabilityType, reason and recurrencePattern;
+     * doctorId may be null to include every doctor. Used to materialize concrete slots.
+     */
+    @Query("SELECT da.doctor.doctorId, da.date, da.startTime, da.endTime, da.availabilityType, da.reason, da.recurrencePattern " +
+           "FROM DoctorAvailability da WHERE da.isRecurring = true " +
+           "AND da.date <= :untilDate " +
+           "AND (:doctorId IS NULL OR da.doctor.doctorId = :doctorId)")
+    List<Object[]> findRecurringTemplates(
+        @Param("doctorId") Long doctorId,
+        @Param("untilDate") LocalDate untilDate);
+    
+    /**
+     * Find the identifying fields of all concrete rows in a date range.
+     * Returns doctorId, date, startTime and endTime; doctorId may be null to include every doctor.
+     * Used to skip slots that already exist, of any type, when materializing recurrences.
+     */
+    @Query("SELECT da.doctor.doctorId, da.date, da.startTime, da.endTime " +
+           "FROM DoctorAvailability da WHERE da.date BETWEEN :startDate AND :endDate " +
+           "AND da.isRecurring = false " +
+           "AND (:doctorId IS NULL OR da.doctor.doctorId = :doctorId)")
+    List<Object[]> findSlotKeysBetween(
+        @Param("doctorId") Long doctorId,
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate);
+    
+    /**
+     * Mark the slot of a doctor starting at the given time as UNAVAILABLE.
      * Used when appointments are booked or cancelled.
      */
-    @Query("UPDATE DoctorAvailability da SET da.availabilityType = 'UNAVAILABLE' " +
-           "WHERE da.doctor.id = :doctorId " +
+    default int updateAvailabilityStatus(Long doctorId, LocalDate date, LocalTime startTime) {
+        return updateAvailabilityType(doctorId, date, startTime, DoctorAvailability.AvailabilityType.UNAVAILABLE);
+    }
+    
+    /**
+     * Set the type of the slot of a doctor starting at the given time.
+     * Returns the number of updated rows.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE DoctorAvailability da SET da.availabilityType = :newType, da.updatedAt = CURRENT_TIMESTAMP " +
+           "WHERE da.doctor.doctorId = :doctorId " +
            "AND da.date = :date " +
            "AND da.startTime = :startTime")
-    void updateAvailabilityStatus(
+    int updateAvailabilityType(
         @Param("doctorId") Long doctorId,
         @Param("date") LocalDate date,
-        @Param("startTime") LocalTime startTime);
+        @Param("startTime") LocalTime startTime,
+        @Param("newType") DoctorAvailability.AvailabilityType newType);
+    
+    /**
+     * Flip every concrete slot of one type in a date range to another type, for all doctors.
+     * A single set-based UPDATE; recurring template rows are left alone, their anchor date
+     * being covered by its materialized concrete row. Returns the number of updated rows.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE DoctorAvailability da SET da.availabilityType = :newType, da.updatedAt = CURRENT_TIMESTAMP " +
+           "WHERE da.date BETWEEN :startDate AND :endDate " +
+           "AND da.availabilityType = :currentType " +
+           "AND da.isRecurring = false")
+    int updateAvailabilityTypeBetween(
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate,
+        @Param("currentType") DoctorAvailability.AvailabilityType currentType,
+        @Param("newType") DoctorAvailability.AvailabilityType newType);
+    
+    /**
+     * Flip every concrete slot of one type in a date range to another type, for the given doctors.
+     * A single set-based UPDATE; recurring template rows are left alone, their anchor date
+     * being covered by its materialized concrete row. Returns the number of updated rows.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE DoctorAvailability da SET da.availabilityType = :newType, da.updatedAt = CURRENT_TIMESTAMP " +
+           "WHERE da.doctor.doctorId IN :doctorIds " +
+           "AND da.date BETWEEN :startDate AND :endDate " +
+           "AND da.availabilityType = :currentType " +
+           "AND da.isRecurring = false")
+    int updateAvailabilityTypeBetween(
+        @Param("doctorIds") Collection<Long> doctorIds,
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate,
+        @Param("currentType") DoctorAvailability.AvailabilityType currentType,
+        @Param("newType") DoctorAvailability.AvailabilityType newType);
 }
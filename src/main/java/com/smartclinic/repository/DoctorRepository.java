@@ -1,12 +1,19 @@
 package com.smartclinic.repository;
 
+import com.smartclinic.dto.DoctorSummary;
 import com.smartclinic.model.Doctor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
+
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,12 +24,61 @@ import java.util.Optional;
 @Repository
 public interface DoctorRepository extends JpaRepository<Doctor, Long> {
     
+    /**
+     * Select clause building a DoctorSummary from a Doctor aliased d.
+     */
+    String SUMMARY_SELECT = "SELECT new com.smartclinic.dto.DoctorSummary(d.doctorId, d.email, d.firstName, " +
+            "d.lastName, d.specialization, d.licenseNumber, d.phoneNumber, d.yearsExperience, d.consultationFee, " +
+            "d.officeLocation, d.workingHoursStart, d.workingHoursEnd, d.profileImageUrl, d.isActive) FROM Doctor d ";
+    
     /**
      * Find doctor by email address.
      * Used for authentication and profile management.
      */
     Optional<Doctor> findByEmail(String email);
     
+    /**
+     * Find doctor by ID with appointments and their patients in one statement.
+     * Used for the detail view, which serializes the appointment list.
+     */
+    @EntityGraph(attributePaths = {"appointments", "appointments.patient"})
+    Optional<Doctor> findWithAppointmentsByDoctorId(Long doctorId);
+    
+    /**
+     * Find doctor by email with appointments and their patients in one statement.
+     */
+    @EntityGraph(attributePaths = {"appointments", "appointments.patient"})
+    Optional<Doctor> findWithAppointmentsByEmail(String email);
+    
+    /**
+     * Find summaries of the next page of doctors after the given ID.
+     * Keyset pagination on the primary key; the Pageable only carries the page size.
+     */
+    @Query(SUMMARY_SELECT + "WHERE d.doctorId > :after ORDER BY d.doctorId")
+    List<DoctorSummary> findSummariesAfter(@Param("after") Long after, Pageable pageable);
+    
+    /**
+     * Find summaries of the given doctors, in no particular order.
+     */
+    @Query(SUMMARY_SELECT + "WHERE d.doctorId IN :ids")
+    List<DoctorSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+    
+    /**
+     * Find summaries of doctors by specialization with case-insensitive matching.
+     */
+    @Query(SUMMARY_SELECT + "WHERE LOWER(d.specialization) LIKE LOWER(CONCAT('%', :specialization, '%'))")
+    List<DoctorSummary> findSummariesBySpecialization(@Param("specialization") String specialization);
+    
+    /**
+     * Find summaries of doctors with upcoming appointments.
+     * Uses EXISTS rather than a join so each doctor is read once.
+     */
+    @Query(SUMMARY_SELECT + "WHERE EXISTS (SELECT 1 FROM Appointment a WHERE a.doctor = d " +
+           "AND a.appointmentDate >= CURRENT_DATE " +
+           "AND a.status IN ('SCHEDULED', 'CONFIRMED')) " +
+           "ORDER BY d.firstName, d.lastName")
+    List<DoctorSummary> findSummariesWithUpcomingAppointments();
+    
     /**
      * Find doctor by phone number.
      * Useful for contact verification and emergency scenarios.
@@ -42,6 +98,13 @@ public interface DoctorRepository extends JpaRepository<Doctor, Long> {
     @Query("SELECT d FROM Doctor d WHERE LOWER(CONCAT(d.firstName, ' ', d.lastName)) LIKE LOWER(CONCAT('%', :name, '%'))")
     List<Doctor> findByNameContainingIgnoreCase(@Param("name") String name);
     
+    /**
+     * Find the searchable fields of all doctors.
+     * Returns doctorId, firstName, lastName, specialization and officeLocation; used to warm the name search index.
+     */
+    @Query("SELECT d.doctorId, d.firstName, d.lastName, d.specialization, d.officeLocation FROM Doctor d")
+    List<Object[]> findSearchFields();
+    
     /**
      * Find available doctors by specialization and time range.
      * Critical for appointment booking system.
@@ -59,6 +122,13 @@ public interface DoctorRepository extends JpaRepository<Doctor, Long> {
         @Param("dateTime") LocalDateTime dateTime
     );
     
+    /**
+     * Find the ID, specialization and active flag of all doctors.
+     * Used to warm the availability index.
+     */
+    @Query("SELECT d.doctorId, d.specialization, d.isActive FROM Doctor d ORDER BY d.doctorId")
+    List<Object[]> findAvailabilityIndexFields();
+    
     /**
      * Find doctors with upcoming appointments.
      * Useful for workload management and scheduling.
@@ -123,22 +193,34 @@ public interface DoctorRepository extends JpaRepository<Doctor, Long> {
     
     /**
      * Find all unique specializations.
-     * Useful for dropdown lists and filtering.
+     * Useful for dropdown lists and filtering. Served from the doctor-directory query cache.
      */
     @Query("SELECT DISTINCT d.specialization FROM Doctor d WHERE d.specialization IS NOT NULL ORDER BY d.specialization")
+    @QueryHints({
+        @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+        @QueryHint(name = "org.hibernate.cacheRegion", value = "doctor-directory")
+    })
     List<String> findAllSpecializations();
     
     /**
      * Count total doctors (alternative method name).
-     * Used for administrative reporting.
+     * Used for administrative reporting. Served from the doctor-directory query cache.
      */
     @Query("SELECT COUNT(d) FROM Doctor d")
+    @QueryHints({
+        @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+        @QueryHint(name = "org.hibernate.cacheRegion", value = "doctor-directory")
+    })
     Long countTotalDoctors();
     
     /**
      * Count doctors by specialization.
-     * Returns a map-like structure for reporting.
+     * Returns a map-like structure for reporting. Served from the doctor-directory query cache.
      */
     @Query("SELECT d.specialization, COUNT(d) FROM Doctor d GROUP BY d.specialization")
+    @QueryHints({
+        @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+        @QueryHint(name = "org.hibernate.cacheRegion", value = "doctor-directory")
+    })
     List<Object[]> countDoctorsBySpecialization();
 }
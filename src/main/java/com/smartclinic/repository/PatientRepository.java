@@ -1,11 +1,15 @@
 package com.smartclinic.repository;
 
+import com.smartclinic.dto.PatientSummary;
 import com.smartclinic.model.Patient;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,12 +20,38 @@ import java.util.Optional;
 @Repository
 public interface PatientRepository extends JpaRepository<Patient, Long> {
     
+    /**
+     * Select clause building a PatientSummary from a Patient aliased p.
+     */
+    String SUMMARY_SELECT = "SELECT new com.smartclinic.dto.PatientSummary(p.patientId, p.email, p.firstName, " +
+            "p.lastName, p.phoneNumber, p.dateOfBirth, p.gender, p.bloodType, p.isActive) FROM Patient p ";
+    
     /**
      * Find patient by email address.
      * Used for authentication and profile management.
      */
     Optional<Patient> findByEmail(String email);
     
+    /**
+     * Find patient by ID with appointments and their doctors in one statement.
+     * Used for the detail view, which serializes the appointment list.
+     */
+    @EntityGraph(attributePaths = {"appointments", "appointments.doctor"})
+    Optional<Patient> findWithAppointmentsByPatientId(Long patientId);
+    
+    /**
+     * Find summaries of the next page of patients after the given ID.
+     * Keyset pagination on the primary key; the Pageable only carries the page size.
+     */
+    @Query(SUMMARY_SELECT + "WHERE p.patientId > :after ORDER BY p.patientId")
+    List<PatientSummary> findSummariesAfter(@Param("after") Long after, Pageable pageable);
+    
+    /**
+     * Find summaries of the given patients, in no particular order.
+     */
+    @Query(SUMMARY_SELECT + "WHERE p.patientId IN :ids")
+    List<PatientSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+    
     /**
      * Find patient by phone number.
      * Useful for contact verification and lookup.
@@ -35,6 +65,14 @@ public interface PatientRepository extends JpaRepository<Patient, Long> {
     @Query("SELECT p FROM Patient p WHERE LOWER(CONCAT(p.firstName, ' ', p.lastName)) LIKE LOWER(CONCAT('%', :name, '%'))")
     List<Patient> findByNameContainingIgnoreCase(@Param("name") String name);
     
+    /**
+     * Find the searchable fields of the next page of patients after the given ID.
+     * Returns patientId, firstName, lastName, email and phoneNumber; used to warm the search indexes in batches.
+     */
+    @Query("SELECT p.patientId, p.firstName, p.lastName, p.email, p.phoneNumber FROM Patient p " +
+           "WHERE p.patientId > :after ORDER BY p.patientId")
+    List<Object[]> findSearchFieldsAfter(@Param("after") Long after, Pageable pageable);
+    
     /**
      * Find patients by gender.
      * Used for gender-specific medical analysis and reporting.
@@ -0,0 +1,94 @@
+package com.smartclinic.repository;
+
+import com.smartclinic.model.Prescription;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.Aggregation;
+import org.springframework.data.mongodb.repository.Meta;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+/**
+ * Reactive repository for Prescription documents in MongoDB.
+ * Every listing takes a Pageable, so the limit and sort are applied by the server and the
+ * driver only fetches as many documents as the subscriber requests.
+ */
+@Repository
+public interface PrescriptionRepository extends ReactiveMongoRepository<Prescription, String> {
+
+    /**
+     * Server-side time limit of the regex searches, which cannot use an index.
+     */
+    long MAX_QUERY_MILLIS = 5000;
+
+    /**
+     * Find prescriptions whose patient name matches a regex (case-insensitive).
+     * Used for patient history and prescription lookup.
+     */
+    @Query("{'patientInfo.name': {$regex: ?0, $options: 'i'}}")
+    @Meta(maxExecutionTimeMs = MAX_QUERY_MILLIS)
+    Flux<Prescription> findByPatientNameMatching(String pattern, Pageable pageable);
+
+    /**
+     * Find prescriptions of a patient.
+     * Used for the patient's prescription stream.
+     */
+    Flux<Prescription> findByPatientId(Long patientId, Pageable pageable);
+
+    /**
+     * Find the prescription of an appointment.
+     * Links prescriptions to specific appointments.
+     */
+    Mono<Prescription> findFirstByAppointmentId(Long appointmentId);
+
+    /**
+     * Find prescriptions with a medication whose name matches a regex (case-insensitive).
+     * Used for medication usage analysis and inventory management.
+     */
+    @Query("{'medications.medicationName': {$regex: ?0, $options: 'i'}}")
+    @Meta(maxExecutionTimeMs = MAX_QUERY_MILLIS)
+    Flux<Prescription> findByMedicationMatching(String pattern, Pageable pageable);
+
+    /**
+     * Find prescriptions with a medication of the given dosage.
+     * Used for dosage analysis and medication management.
+     */
+    Flux<Prescription> findByMedicationsDosage(String dosage, Pageable pageable);
+
+    /**
+     * Find prescriptions whose additional instructions match a regex (case-insensitive).
+     * Used for prescription search and medical history analysis.
+     */
+    @Query("{'additionalInstructions': {$regex: ?0, $options: 'i'}}")
+    @Meta(maxExecutionTimeMs = MAX_QUERY_MILLIS)
+    Flux<Prescription> findByInstructionsMatching(String pattern, Pageable pageable);
+
+    /**
+     * Find all prescriptions, one page at a time.
+     * Used for listings, the recent activity view and the export stream.
+     */
+    Flux<Prescription> findAllBy(Pageable pageable);
+
+    /**
+     * Count prescribed medications across all prescriptions.
+     * Used for medication usage statistics and reporting; empty when there are none.
+     */
+    @Aggregation(pipeline = {"{$unwind: '$medications'}", "{$count: 'total'}"})
+    Mono<Long> countMedications();
+
+    /**
+     * Check if prescription exists for appointment.
+     * Prevents duplicate prescriptions for the same appointment.
+     */
+    Mono<Boolean> existsByAppointmentId(Long appointmentId);
+
+    /**
+     * Find prescriptions by multiple appointment IDs.
+     * Used for batch prescription lookup.
+     */
+    Flux<Prescription> findByAppointmentIdIn(Collection<Long> appointmentIds);
+}
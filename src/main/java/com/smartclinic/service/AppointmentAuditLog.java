@@ -0,0 +1,31 @@
+package com.smartclinic.service;
+
+import com.smartclinic.model.AppointmentEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Writes one audit line per appointment lifecycle event to the com.smartclinic.audit.appointments logger.
+ * The outbox rows themselves stay queryable for the retention period.
+ */
+@Component
+public class AppointmentAuditLog implements AppointmentEventConsumer {
+
+    private static final Logger AUDIT = LoggerFactory.getLogger("com.smartclinic.audit.appointments");
+
+    @Override
+    public void onAppointmentEvents(List<AppointmentEvent> events) {
+        if (!AUDIT.isInfoEnabled()) {
+            return;
+        }
+        for (AppointmentEvent event : events) {
+            AUDIT.info("event={} type={} appointment={} doctor={} patient={} at={}T{} status={}->{} occurredAt={}",
+                    event.getEventId(), event.getEventType(), event.getAppointmentId(), event.getDoctorId(),
+                    event.getPatientId(), event.getAppointmentDate(), event.getAppointmentTime(),
+                    event.getPreviousStatus(), event.getStatus(), event.getOccurredAt());
+        }
+    }
+}
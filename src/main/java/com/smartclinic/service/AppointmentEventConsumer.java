@@ -0,0 +1,27 @@
+package com.smartclinic.service;
+
+import com.smartclinic.model.AppointmentEvent;
+
+import java.util.List;
+
+/**
+ * Receives appointment lifecycle events drained from the outbox.
+ * Called from the single outbox worker thread with batches in event ID order.
+ * Delivery is at least once, so in-memory consumers should tolerate seeing an event again.
+ */
+public interface AppointmentEventConsumer {
+
+    /**
+     * Apply a batch of committed appointment events.
+     */
+    void onAppointmentEvents(List<AppointmentEvent> events);
+
+    /**
+     * Whether this consumer writes to the database in the outbox transaction.
+     * Persistent consumers run first and a failure rolls the whole batch back for a retry; they also
+     * receive events left pending by a previous run, which in-memory consumers skip.
+     */
+    default boolean isPersistent() {
+        return false;
+    }
+}
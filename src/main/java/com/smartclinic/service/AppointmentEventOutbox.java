@@ -0,0 +1,285 @@
+package com.smartclinic.service;
+
+import com.smartclinic.model.Appointment;
+import com.smartclinic.model.AppointmentEvent;
+import com.smartclinic.repository.AppointmentEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Transactional outbox for appointment lifecycle events.
+ * Write paths call publish inside their transaction, so an event exists exactly when its change
+ * commits. A single background worker drains pending events in batches of clinic.events.batch-size,
+ * hands each batch to every AppointmentEventConsumer and marks it processed in one transaction.
+ * The worker is woken after each commit and otherwise polls every clinic.events.poll-interval-ms.
+ * Processed events are purged after clinic.events.retention-days. The backlog is exposed as
+ * the clinic.events.pending gauge.
+ *
+ * In-memory consumers rebuild their state from the database at startup, so events left pending by
+ * a previous run are only replayed to persistent consumers and then acknowledged. Consumers that
+ * recompute their state from the database later on do so through withDeliveryPaused.
+ */
+@Component
+public class AppointmentEventOutbox {
+
+    private static final Logger log = LoggerFactory.getLogger(AppointmentEventOutbox.class);
+
+    @Autowired
+    private AppointmentEventRepository eventRepository;
+
+    @Autowired
+    private List<AppointmentEventConsumer> consumers;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${clinic.events.batch-size:500}")
+    private int batchSize;
+
+    @Value("${clinic.events.poll-interval-ms:200}")
+    private long pollIntervalMillis;
+
+    @Value("${clinic.events.retention-days:30}")
+    private int retentionDays;
+
+    private final Semaphore wakeUps = new Semaphore(0);
+
+    private final ReentrantLock deliveryLock = new ReentrantLock();
+
+    private TransactionTemplate transactionTemplate;
+
+    private TransactionTemplate snapshotTemplate;
+
+    private Timer lag;
+
+    private Counter processed;
+
+    private volatile boolean running;
+
+    private Thread worker;
+
+    @PostConstruct
+    void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        snapshotTemplate = new TransactionTemplate(transactionManager);
+        snapshotTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        lag = Timer.builder("clinic.events.lag")
+                .description("Time from an appointment event being written to its delivery to consumers")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        processed = Counter.builder("clinic.events.processed")
+                .description("Appointment events delivered to consumers")
+                .register(meterRegistry);
+        Gauge.builder("clinic.events.pending", eventRepository, AppointmentEventRepository::countPending)
+                .description("Appointment events waiting for delivery")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Record an appointment change in the current transaction.
+     * previousStatus is null for a new appointment.
+     */
+    public void publish(AppointmentEvent.EventType type, Appointment appointment,
+                        Appointment.AppointmentStatus previousStatus) {
+        publish(type, appointment, previousStatus, previousStatus != null ? appointment.getAppointmentDate() : null);
+    }
+
+    /**
+     * Record an appointment change that may have moved it to another day.
+     */
+    public void publish(AppointmentEvent.EventType type, Appointment appointment,
+                        Appointment.AppointmentStatus previousStatus, LocalDate previousDate) {
+        eventRepository.save(new AppointmentEvent(type, appointment, previousStatus, previousDate));
+        TransactionCallbacks.afterCommit(wakeUps::release);
+    }
+
+    /**
+     * Run the action in a snapshot transaction while no batch is being delivered.
+     * Every pending event the action reads is committed but not yet seen by any consumer, and none is
+     * delivered before the action returns. A consumer that recomputes from the database can therefore
+     * leave out the effect of the pending events and let the worker apply them afterwards.
+     */
+    public <T> T withDeliveryPaused(TransactionCallback<T> action) {
+        deliveryLock.lock();
+        try {
+            return snapshotTemplate.execute(action);
+        } finally {
+            deliveryLock.unlock();
+        }
+    }
+
+    /**
+     * Replay events left over from a previous run to persistent consumers, acknowledge them and start the worker.
+     * Runs right after the rollup initialization and before the other startup listeners, so the events
+     * they see pending are all delivered later.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    public void start() {
+        deliveryLock.lock();
+        try {
+            replayPrevious();
+        } finally {
+            deliveryLock.unlock();
+        }
+        running = true;
+        worker = new Thread(this::run, "appointment-events");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    private void replayPrevious() {
+        LocalDateTime now = LocalDateTime.now();
+        List<AppointmentEventConsumer> persistent = consumers.stream()
+                .filter(AppointmentEventConsumer::isPersistent)
+                .collect(Collectors.toList());
+        if (!persistent.isEmpty()) {
+            int replayed = 0;
+            int count;
+            do {
+                count = transactionTemplate.execute(status ->
+                        deliver(eventRepository.findPendingBefore(now, PageRequest.of(0, batchSize)), persistent));
+                replayed += count;
+            } while (count == batchSize);
+            if (replayed > 0) {
+                log.info("Replayed {} appointment events left pending by a previous run", replayed);
+            }
+        }
+        int skipped = transactionTemplate.execute(status -> eventRepository.markPendingProcessedBefore(now, now));
+        if (skipped > 0) {
+            log.info("Acknowledged {} appointment events left pending by a previous run", skipped);
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        wakeUps.release();
+        if (worker != null) {
+            worker.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    /**
+     * Deliver and acknowledge one batch of pending events.
+     * Returns the number of events in the batch.
+     */
+    public int drain() {
+        Integer count;
+        deliveryLock.lock();
+        try {
+            count = transactionTemplate.execute(status -> {
+                List<AppointmentEvent> events = eventRepository.findPending(PageRequest.of(0, batchSize));
+                int delivered = deliver(events, consumers);
+                LocalDateTime now = LocalDateTime.now();
+                for (AppointmentEvent event : events) {
+                    lag.record(Duration.between(event.getOccurredAt(), now));
+                }
+                return delivered;
+            });
+        } finally {
+            deliveryLock.unlock();
+        }
+        processed.increment(count);
+        return count;
+    }
+
+    /**
+     * Delete processed events older than the retention period.
+     */
+    @Scheduled(fixedDelayString = "${clinic.events.purge-interval-ms:3600000}",
+               initialDelayString = "${clinic.events.purge-interval-ms:3600000}")
+    public void purge() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        transactionTemplate.execute(status -> eventRepository.deleteProcessedBefore(cutoff));
+    }
+
+    /**
+     * Hand a batch to the given consumers and mark it processed, within the caller's transaction.
+     * Persistent consumers go first and their failures propagate, so the batch is retried as a whole.
+     */
+    private int deliver(List<AppointmentEvent> events, List<AppointmentEventConsumer> targets) {
+        if (events.isEmpty()) {
+            return 0;
+        }
+        for (AppointmentEventConsumer consumer : targets) {
+            if (consumer.isPersistent()) {
+                consumer.onAppointmentEvents(events);
+            }
+        }
+        for (AppointmentEventConsumer consumer : targets) {
+            if (consumer.isPersistent()) {
+                continue;
+            }
+            try {
+                consumer.onAppointmentEvents(events);
+            } catch (RuntimeException e) {
+                // Never block the queue on an in-memory consumer; AvailabilityIndex and DashboardStatsService
+                // reload from the database on a schedule, which repairs what this batch missed
+                log.error("Appointment event consumer {} failed on events {}..{}", consumer.getClass().getSimpleName(),
+                        events.get(0).getEventId(), events.get(events.size() - 1).getEventId(), e);
+            }
+        }
+        List<Long> eventIds = new ArrayList<>(events.size());
+        for (AppointmentEvent event : events) {
+            eventIds.add(event.getEventId());
+        }
+        eventRepository.markProcessed(eventIds, LocalDateTime.now());
+        return events.size();
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                // Keep draining while batches come back full, otherwise wait for a commit or the poll interval
+                if (drain() < batchSize) {
+                    wakeUps.tryAcquire(pollIntervalMillis, TimeUnit.MILLISECONDS);
+                    wakeUps.drainPermits();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Draining appointment events failed", e);
+                try {
+                    Thread.sleep(pollIntervalMillis);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+}
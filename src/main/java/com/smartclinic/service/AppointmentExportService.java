@@ -0,0 +1,229 @@
+package com.smartclinic.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smartclinic.model.Appointment;
+import com.smartclinic.model.Doctor;
+import com.smartclinic.model.Patient;
+import com.smartclinic.repository.AppointmentRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+/**
+ * Streams appointment exports straight to a response body.
+ * Rows are read from a forward-only cursor and the persistence context is cleared every
+ * {@link #CLEAR_INTERVAL} rows, so heap use does not grow with the size of the export.
+ */
+@Service
+@Transactional(readOnly = true)
+public class AppointmentExportService {
+
+    static final int CLEAR_INTERVAL = 500;
+
+    private static final String[] COLUMNS = {
+            "appointmentId", "appointmentDate", "appointmentTime", "durationMinutes", "status",
+            "appointmentType", "doctorId", "doctorName", "specialization", "patientId", "patientName",
+            "patientPhone", "reasonForVisit"
+    };
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Write all appointments of a date range, in date and time order.
+     * Returns the number of rows written.
+     */
+    public long exportAppointmentsBetween(LocalDate startDate, LocalDate endDate, ExportFormat format,
+                                          OutputStream out) throws IOException {
+        if (endDate.isBefore(startDate)) {
+            throw new RuntimeException("End date must not be before start date");
+        }
+        try (Stream<Appointment> appointments = appointmentRepository.streamAppointmentsBetweenDates(startDate, endDate)) {
+            return write(appointments, format, out);
+        }
+    }
+
+    /**
+     * Write the daily appointment report of one date, grouped by doctor.
+     * Returns the number of rows written.
+     */
+    public long exportDailyReport(LocalDate reportDate, ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<Appointment> appointments = appointmentRepository.streamDailyAppointmentReportByDoctor(reportDate)) {
+            return write(appointments, format, out);
+        }
+    }
+
+    private long write(Stream<Appointment> appointments, ExportFormat format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        RowWriter rows = format == ExportFormat.CSV ? new CsvRowWriter(writer) : new NdjsonRowWriter(writer);
+        rows.start();
+        long count = 0;
+        Iterator<Appointment> iterator = appointments.iterator();
+        while (iterator.hasNext()) {
+            rows.write(values(iterator.next()));
+            if (++count % CLEAR_INTERVAL == 0) {
+                // Detach the written rows and hand the chunk to the client
+                entityManager.clear();
+                writer.flush();
+            }
+        }
+        writer.flush();
+        return count;
+    }
+
+    private static Object[] values(Appointment appointment) {
+        Doctor doctor = appointment.getDoctor();
+        Patient patient = appointment.getPatient();
+        return new Object[] {
+                appointment.getAppointmentId(),
+                appointment.getAppointmentDate(),
+                appointment.getAppointmentTime(),
+                appointment.getDurationMinutes(),
+                appointment.getStatus(),
+                appointment.getAppointmentType(),
+                doctor.getDoctorId(),
+                doctor.getFullName(),
+                doctor.getSpecialization(),
+                patient.getPatientId(),
+                patient.getFullName(),
+                patient.getPhoneNumber(),
+                appointment.getReasonForVisit()
+        };
+    }
+
+    /**
+     * Output formats of the export endpoints.
+     */
+    public enum ExportFormat {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        private final MediaType mediaType;
+
+        private final String extension;
+
+        ExportFormat(String mediaType, String extension) {
+            this.mediaType = MediaType.parseMediaType(mediaType);
+            this.extension = extension;
+        }
+
+        public MediaType getMediaType() {
+            return mediaType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public static ExportFormat parse(String format) {
+            try {
+                return valueOf(format.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new RuntimeException("Unsupported export format: " + format);
+            }
+        }
+    }
+
+    private interface RowWriter {
+
+        void start() throws IOException;
+
+        void write(Object[] values) throws IOException;
+    }
+
+    private static final class CsvRowWriter implements RowWriter {
+
+        private final Writer writer;
+
+        private CsvRowWriter(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void start() throws IOException {
+            write(COLUMNS);
+        }
+
+        @Override
+        public void write(Object[] values) throws IOException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                if (values[i] != null) {
+                    writer.write(escape(values[i].toString()));
+                }
+            }
+            writer.write("\r\n");
+        }
+
+        // RFC 4180: quote fields containing separators, quotes or line breaks
+        private static String escape(String value) {
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0
+                    && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                return value;
+            }
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+    }
+
+    private final class NdjsonRowWriter implements RowWriter {
+
+        private final Writer writer;
+
+        private final JsonGenerator generator;
+
+        private NdjsonRowWriter(Writer writer) throws IOException {
+            this.writer = writer;
+            // Rows are separated by newlines written here; flushes stop at the buffered writer
+            this.generator = objectMapper.getFactory().createGenerator(writer)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                    .disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+            this.generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void start() {
+        }
+
+        @Override
+        public void write(Object[] values) throws IOException {
+            generator.writeStartObject();
+            for (int i = 0; i < values.length; i++) {
+                Object value = values[i];
+                if (value == null) {
+                    generator.writeNullField(COLUMNS[i]);
+                } else if (value instanceof Number number) {
+                    generator.writeFieldName(COLUMNS[i]);
+                    generator.writeNumber(number.longValue());
+                } else {
+                    generator.writeStringField(COLUMNS[i], value.toString());
+                }
+            }
+            generator.writeEndObject();
+            generator.flush();
+            writer.write('\n');
+        }
+    }
+}
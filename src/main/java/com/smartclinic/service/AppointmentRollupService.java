@@ -0,0 +1,261 @@
+package com.smartclinic.service;
+
+import com.smartclinic.dto.DoctorAppointmentCount;
+import com.smartclinic.model.Appointment;
+import com.smartclinic.model.AppointmentDailyRollup;
+import com.smartclinic.model.AppointmentEvent;
+import com.smartclinic.repository.AppointmentEventRepository;
+import com.smartclinic.repository.AppointmentRepository;
+import com.smartclinic.repository.AppointmentRollupRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Daily appointment counts per doctor and status, kept in appointment_daily_rollups.
+ * Rows are updated from the appointment event outbox in the same transaction that acknowledges
+ * the events, so monthly and yearly reports read at most one row per day, doctor and status
+ * instead of scanning and grouping the appointments table.
+ *
+ * The backfill job recomputes a date range from the appointments table one month at a time.
+ * Each month is recomputed while the outbox is paused, in one snapshot with the events still
+ * pending for it, and their deltas are taken back out; the worker adds them once it resumes,
+ * so a change is never counted by both the recount and its event.
+ */
+@Service
+@Transactional
+public class AppointmentRollupService implements AppointmentEventConsumer {
+
+    private static final Logger log = LoggerFactory.getLogger(AppointmentRollupService.class);
+
+    private static final String BACKFILL_SQL =
+            "INSERT INTO appointment_daily_rollups (rollup_date, doctor_id, status, appointment_count) " +
+            "SELECT appointment_date, doctor_id, status, COUNT(*) FROM appointments " +
+            "WHERE appointment_date BETWEEN ? AND ? " +
+            "GROUP BY appointment_date, doctor_id, status";
+
+    @Autowired
+    private AppointmentRollupRepository rollupRepository;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private AppointmentEventRepository eventRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Lazy because the outbox in turn collects every AppointmentEventConsumer
+    @Autowired
+    @Lazy
+    private AppointmentEventOutbox eventOutbox;
+
+    @Override
+    public boolean isPersistent() {
+        return true;
+    }
+
+    /**
+     * Apply a batch of appointment events as count deltas.
+     * Deltas are summed per day, doctor and status first, so a busy batch touches each row once.
+     */
+    @Override
+    public void onAppointmentEvents(List<AppointmentEvent> events) {
+        apply(deltas(events));
+    }
+
+    /**
+     * Fill the rollup table on first start.
+     * Runs before the outbox starts. Like any backfill it leaves out events left pending by a previous
+     * run, which the outbox then replays to this consumer.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void initialize() {
+        if (rollupRepository.count() > 0) {
+            return;
+        }
+        int rows = backfillAll();
+        log.info("Built {} appointment rollup rows from history", rows);
+    }
+
+    /**
+     * Recompute the rollups of every day that has appointments.
+     * Returns the number of rollup rows written.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int backfillAll() {
+        Object[] range = appointmentRepository.findDateRange().get(0);
+        if (range[0] == null) {
+            return 0;
+        }
+        return backfill((LocalDate) range[0], (LocalDate) range[1]);
+    }
+
+    /**
+     * Recompute the rollups of a date range from the appointments table.
+     * Each calendar month is replaced in its own transaction, less the deltas of the events still
+     * pending for it. Returns the number of rollup rows written.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int backfill(LocalDate startDate, LocalDate endDate) {
+        if (endDate.isBefore(startDate)) {
+            throw new RuntimeException("End date must not be before start date");
+        }
+        int rows = 0;
+        LocalDate chunkStart = startDate;
+        while (!chunkStart.isAfter(endDate)) {
+            LocalDate monthEnd = chunkStart.with(TemporalAdjusters.lastDayOfMonth());
+            LocalDate chunkEnd = monthEnd.isBefore(endDate) ? monthEnd : endDate;
+            LocalDate from = chunkStart;
+            rows += eventOutbox.withDeliveryPaused(status -> {
+                rollupRepository.deleteBetween(from, chunkEnd);
+                int written = jdbcTemplate.update(BACKFILL_SQL, Date.valueOf(from), Date.valueOf(chunkEnd));
+                // The recount already contains these changes; the worker applies them again once resumed
+                Map<RollupKey, Long> pending = new LinkedHashMap<>();
+                deltas(eventRepository.findPendingBetween(from, chunkEnd)).forEach((key, delta) -> {
+                    if (!key.date.isBefore(from) && !key.date.isAfter(chunkEnd)) {
+                        pending.put(key, -delta);
+                    }
+                });
+                apply(pending);
+                return written;
+            });
+            chunkStart = chunkEnd.plusDays(1);
+        }
+        return rows;
+    }
+
+    /**
+     * Get the doctors with the most appointments in a date range, highest first.
+     * Only appointments in the given statuses are counted; all statuses when none are given.
+     */
+    @Transactional(readOnly = true)
+    public List<DoctorAppointmentCount> getTopDoctors(LocalDate startDate, LocalDate endDate,
+                                                      Collection<Appointment.AppointmentStatus> statuses, int limit) {
+        Collection<Appointment.AppointmentStatus> counted = statuses == null || statuses.isEmpty()
+                ? EnumSet.allOf(Appointment.AppointmentStatus.class) : statuses;
+        List<DoctorAppointmentCount> result = new ArrayList<>();
+        for (Object[] row : rollupRepository.sumByDoctorBetween(startDate, endDate, counted,
+                PageRequest.of(0, Math.max(1, limit)))) {
+            result.add(new DoctorAppointmentCount((Long) row[0], ((Number) row[1]).longValue()));
+        }
+        return result;
+    }
+
+    /**
+     * Get the doctors with the most appointments in a month.
+     * Rollup-backed replacement for GetDoctorWithMostPatientsByMonth.
+     */
+    @Transactional(readOnly = true)
+    public List<DoctorAppointmentCount> getTopDoctorsByMonth(int year, int month,
+                                                             Collection<Appointment.AppointmentStatus> statuses, int limit) {
+        YearMonth period = YearMonth.of(year, month);
+        return getTopDoctors(period.atDay(1), period.atEndOfMonth(), statuses, limit);
+    }
+
+    /**
+     * Get the doctors with the most appointments in a year.
+     * Rollup-backed replacement for GetDoctorWithMostPatientsByYear.
+     */
+    @Transactional(readOnly = true)
+    public List<DoctorAppointmentCount> getTopDoctorsByYear(int year,
+                                                            Collection<Appointment.AppointmentStatus> statuses, int limit) {
+        return getTopDoctors(LocalDate.of(year, 1, 1), LocalDate.of(year, 12, 31), statuses, limit);
+    }
+
+    /**
+     * Get the appointment counts of one day per doctor and status.
+     */
+    @Transactional(readOnly = true)
+    public List<AppointmentDailyRollup> getDailyRollups(LocalDate date) {
+        return rollupRepository.findByRollupDateOrderByDoctorIdAscStatusAsc(date);
+    }
+
+    /**
+     * Sum the count deltas of a batch of events per day, doctor and status.
+     */
+    private static Map<RollupKey, Long> deltas(List<AppointmentEvent> events) {
+        Map<RollupKey, Long> deltas = new LinkedHashMap<>();
+        for (AppointmentEvent event : events) {
+            if (event.getPreviousStatus() != null) {
+                LocalDate previousDate = event.getPreviousAppointmentDate() != null
+                        ? event.getPreviousAppointmentDate() : event.getAppointmentDate();
+                deltas.merge(new RollupKey(previousDate, event.getDoctorId(), event.getPreviousStatus()), -1L, Long::sum);
+            }
+            if (event.getStatus() != null) {
+                deltas.merge(new RollupKey(event.getAppointmentDate(), event.getDoctorId(), event.getStatus()), 1L, Long::sum);
+            }
+        }
+        return deltas;
+    }
+
+    /**
+     * Add summed deltas to the rollup rows, creating the rows that do not exist yet.
+     * Callers run on the outbox worker or while it is paused, so no two apply the same row at once.
+     */
+    private void apply(Map<RollupKey, Long> deltas) {
+        for (Map.Entry<RollupKey, Long> entry : deltas.entrySet()) {
+            RollupKey key = entry.getKey();
+            long delta = entry.getValue();
+            if (delta != 0 && rollupRepository.addToCount(key.date, key.doctorId, key.status, delta) == 0) {
+                rollupRepository.save(new AppointmentDailyRollup(key.date, key.doctorId, key.status, delta));
+            }
+        }
+    }
+
+    private static final class RollupKey {
+
+        private final LocalDate date;
+
+        private final Long doctorId;
+
+        private final Appointment.AppointmentStatus status;
+
+        private RollupKey(LocalDate date, Long doctorId, Appointment.AppointmentStatus status) {
+            this.date = date;
+            this.doctorId = doctorId;
+            this.status = status;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof RollupKey other)) {
+                return false;
+            }
+            return date.equals(other.date) && doctorId.equals(other.doctorId) && status == other.status;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(date, doctorId, status);
+        }
+    }
+}
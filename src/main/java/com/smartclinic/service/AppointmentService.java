@@ -1,17 +1,32 @@
 package com.smartclinic.service;
 
+import com.smartclinic.dto.BookingResult;
+import com.smartclinic.dto.CursorPage;
 import com.smartclinic.model.Appointment;
+import com.smartclinic.model.AppointmentEvent;
 import com.smartclinic.model.Doctor;
 import com.smartclinic.model.Patient;
 import com.smartclinic.repository.AppointmentRepository;
 import com.smartclinic.repository.DoctorRepository;
 import com.smartclinic.repository.PatientRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.concurrent.locks.Lock;
 
 /**
  * Service class for Appointment entity operations.
@@ -31,6 +46,18 @@ public class AppointmentService {
     @Autowired
     private PatientRepository patientRepository;
 
+    @Autowired
+    private AppointmentSlotIndex slotIndex;
+
+    @Autowired
+    private DoctorBookingLocks bookingLocks;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private AppointmentEventOutbox eventOutbox;
+
     /**
      * Create a new appointment.
      * Validates doctor and patient existence, checks for conflicts.
@@ -44,12 +71,6 @@ public class AppointmentService {
         Patient patient = patientRepository.findById(appointment.getPatient().getPatientId())
                 .orElseThrow(() -> new RuntimeException("Patient not found with id: " + appointment.getPatient().getPatientId()));
 
-        // Check for conflicting appointments
-        if (appointmentRepository.existsByDoctorIdAndAppointmentTime(
-                doctor.getDoctorId(), LocalDateTime.of(appointment.getAppointmentDate(), appointment.getAppointmentTime()))) {
-            throw new RuntimeException("Doctor is not available at the requested time");
-        }
-
         // Set entities
         appointment.setDoctor(doctor);
         appointment.setPatient(patient);
@@ -59,7 +80,91 @@ public class AppointmentService {
             appointment.setStatus(Appointment.AppointmentStatus.SCHEDULED);
         }
 
-        return appointmentRepository.save(appointment);
+        // Check for overlapping appointments and reserve the slot atomically per doctor
+        Lock lock = bookingLocks.lockFor(doctor.getDoctorId());
+        lock.lock();
+        try {
+            if (slotIndex.hasConflict(doctor.getDoctorId(), appointment.getAppointmentDate(),
+                    appointment.getAppointmentTime(), appointment.getDurationMinutes(), null)) {
+                throw new RuntimeException("Doctor is not available at the requested time");
+            }
+
+            Appointment savedAppointment = appointmentRepository.save(appointment);
+            slotIndex.update(savedAppointment);
+            eventOutbox.publish(AppointmentEvent.EventType.CREATED, savedAppointment, null);
+            return savedAppointment;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Create a batch of appointments in one transaction.
+     * Loads all referenced doctors and patients with one query each, checks conflicts
+     * against the slot index (including earlier items of the same batch) and inserts
+     * the accepted appointments with JDBC batching. Items rejected by those checks or by bean
+     * validation do not stop the batch. Everything else is written by one flush at the end, so a
+     * database error there (a constraint the checks above do not cover) rolls back the whole batch.
+     */
+    public List<BookingResult> createAppointments(List<Appointment> appointments) {
+        Map<Long, Doctor> doctors = doctorRepository.findAllById(collectIds(appointments, Appointment::getDoctorId)).stream()
+                .collect(Collectors.toMap(Doctor::getDoctorId, Function.identity()));
+        Map<Long, Patient> patients = patientRepository.findAllById(collectIds(appointments, Appointment::getPatientId)).stream()
+                .collect(Collectors.toMap(Patient::getPatientId, Function.identity()));
+
+        List<BookingResult> results = new ArrayList<>(appointments.size());
+        try (DoctorBookingLocks.LockHandle ignored = bookingLocks.lockAll(doctors.keySet())) {
+            for (int i = 0; i < appointments.size(); i++) {
+                Appointment appointment = appointments.get(i);
+                Doctor doctor = doctors.get(appointment.getDoctorId());
+                Patient patient = patients.get(appointment.getPatientId());
+                if (doctor == null) {
+                    results.add(BookingResult.failure(i, "Doctor not found with id: " + appointment.getDoctorId()));
+                    continue;
+                }
+                if (patient == null) {
+                    results.add(BookingResult.failure(i, "Patient not found with id: " + appointment.getPatientId()));
+                    continue;
+                }
+
+                appointment.setDoctor(doctor);
+                appointment.setPatient(patient);
+                if (appointment.getStatus() == null) {
+                    appointment.setStatus(Appointment.AppointmentStatus.SCHEDULED);
+                }
+
+                Set<ConstraintViolation<Appointment>> violations = validator.validate(appointment);
+                if (!violations.isEmpty()) {
+                    results.add(BookingResult.failure(i, violations.stream()
+                            .map(ConstraintViolation::getMessage)
+                            .sorted()
+                            .collect(Collectors.joining("; "))));
+                    continue;
+                }
+
+                if (slotIndex.hasConflict(doctor.getDoctorId(), appointment.getAppointmentDate(),
+                        appointment.getAppointmentTime(), appointment.getDurationMinutes(), null)) {
+                    results.add(BookingResult.failure(i, "Doctor is not available at the requested time"));
+                    continue;
+                }
+
+                // IDs come from the pooled sequence, so the INSERT is deferred to the flush below and
+                // sent in hibernate.jdbc.batch_size batches
+                Appointment savedAppointment = appointmentRepository.save(appointment);
+                slotIndex.update(savedAppointment);
+                eventOutbox.publish(AppointmentEvent.EventType.CREATED, savedAppointment, null);
+                results.add(BookingResult.success(i, savedAppointment.getAppointmentId()));
+            }
+            appointmentRepository.flush();
+        }
+        return results;
+    }
+
+    private static Set<Long> collectIds(List<Appointment> appointments, Function<Appointment, Long> idExtractor) {
+        return appointments.stream()
+                .map(idExtractor)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
     }
 
     /**
@@ -68,19 +173,12 @@ public class AppointmentService {
      */
     public Appointment updateAppointment(Long id, Appointment appointmentDetails) {
         Appointment appointment = getAppointmentById(id);
+        Appointment.AppointmentStatus previousStatus = appointment.getStatus();
+        LocalDate previousDate = appointment.getAppointmentDate();
+        boolean wasCancelled = previousStatus == Appointment.AppointmentStatus.CANCELLED;
 
         // Update allowed fields
         if (appointmentDetails.getAppointmentDate() != null && appointmentDetails.getAppointmentTime() != null) {
-            // Check for conflicts if time is being changed
-            LocalDateTime newDateTime = LocalDateTime.of(appointmentDetails.getAppointmentDate(), appointmentDetails.getAppointmentTime());
-            LocalDateTime currentDateTime = LocalDateTime.of(appointment.getAppointmentDate(), appointment.getAppointmentTime());
-            
-            if (!currentDateTime.equals(newDateTime)) {
-                if (appointmentRepository.existsByDoctorIdAndAppointmentTime(
-                        appointment.getDoctor().getDoctorId(), newDateTime)) {
-                    throw new RuntimeException("Doctor is not available at the new requested time");
-                }
-            }
             appointment.setAppointmentDate(appointmentDetails.getAppointmentDate());
             appointment.setAppointmentTime(appointmentDetails.getAppointmentTime());
         }
@@ -93,30 +191,99 @@ public class AppointmentService {
             appointment.setReasonForVisit(appointmentDetails.getReasonForVisit());
         }
 
-        return appointmentRepository.save(appointment);
+        // Check for overlaps when the appointment moves or becomes active again
+        boolean timeChanged = appointmentDetails.getAppointmentDate() != null && appointmentDetails.getAppointmentTime() != null;
+        boolean active = appointment.getStatus() != Appointment.AppointmentStatus.CANCELLED;
+        Lock lock = bookingLocks.lockFor(appointment.getDoctor().getDoctorId());
+        lock.lock();
+        try {
+            if (active && (timeChanged || wasCancelled)
+                    && slotIndex.hasConflict(appointment.getDoctor().getDoctorId(), appointment.getAppointmentDate(),
+                            appointment.getAppointmentTime(), appointment.getDurationMinutes(), id)) {
+                throw new RuntimeException("Doctor is not available at the new requested time");
+            }
+
+            Appointment savedAppointment = appointmentRepository.save(appointment);
+            slotIndex.update(savedAppointment);
+            eventOutbox.publish(AppointmentEvent.EventType.UPDATED, savedAppointment, previousStatus, previousDate);
+            return savedAppointment;
+        } finally {
+            lock.unlock();
+        }
     }
 
     /**
      * Get appointment by ID.
      * Throws exception if not found.
      */
+    @Transactional(readOnly = true)
     public Appointment getAppointmentById(Long id) {
         return appointmentRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Appointment not found with id: " + id));
     }
 
+    /**
+     * Get appointment by ID for display, with doctor and patient loaded.
+     * Throws exception if not found.
+     */
+    @Transactional(readOnly = true)
+    public Appointment getAppointmentDetail(Long id) {
+        return appointmentRepository.findWithPartiesByAppointmentId(id)
+                .orElseThrow(() -> new RuntimeException("Appointment not found with id: " + id));
+    }
+
     /**
      * Get all appointments.
      * Used for admin management and reporting.
      */
+    @Transactional(readOnly = true)
     public List<Appointment> getAllAppointments() {
         return appointmentRepository.findAll();
     }
 
+    /**
+     * Get one page of appointments ordered by ID.
+     * Keyset pagination for admin listings; after is the last ID of the previous page.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<Appointment> getAppointmentsPage(Long after, int limit) {
+        int pageSize = CursorPage.clampLimit(limit);
+        List<Appointment> rows = appointmentRepository.findByAppointmentIdGreaterThanOrderByAppointmentIdAsc(
+                after != null ? after : 0L, PageRequest.of(0, pageSize + 1));
+        return CursorPage.of(rows, pageSize, appointment -> String.valueOf(appointment.getAppointmentId()));
+    }
+
+    /**
+     * Get one page of a doctor's schedule in time order.
+     * Starts today when no cursor is given; the cursor has the form {date}T{time}_{appointmentId}.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<Appointment> getDoctorSchedulePage(Long doctorId, String cursor, int limit) {
+        int pageSize = CursorPage.clampLimit(limit);
+        LocalDate date = LocalDate.now();
+        LocalTime time = LocalTime.MIN;
+        long appointmentId = 0L;
+        if (cursor != null && !cursor.isBlank()) {
+            int separator = cursor.lastIndexOf('_');
+            if (separator < 0) {
+                throw new RuntimeException("Invalid schedule cursor: " + cursor);
+            }
+            LocalDateTime position = LocalDateTime.parse(cursor.substring(0, separator));
+            date = position.toLocalDate();
+            time = position.toLocalTime();
+            appointmentId = Long.parseLong(cursor.substring(separator + 1));
+        }
+        List<Appointment> rows = appointmentRepository.findDoctorAppointmentsAfter(
+                doctorId, date, time, appointmentId, PageRequest.of(0, pageSize + 1));
+        return CursorPage.of(rows, pageSize,
+                appointment -> appointment.getAppointmentDateTime() + "_" + appointment.getAppointmentId());
+    }
+
     /**
      * Get appointments by patient ID.
      * Core functionality for patient portal.
      */
+    @Transactional(readOnly = true)
     public List<Appointment> getAppointmentsByPatientId(Long patientId) {
         return appointmentRepository.findByPatient_PatientIdOrderByAppointmentTimeDesc(patientId);
     }
@@ -125,6 +292,7 @@ public class AppointmentService {
      * Get appointments by doctor ID.
      * Core functionality for doctor portal.
      */
+    @Transactional(readOnly = true)
     public List<Appointment> getAppointmentsByDoctorId(Long doctorId) {
         return appointmentRepository.findByDoctor_DoctorIdOrderByAppointmentTimeAsc(doctorId);
     }
@@ -133,6 +301,7 @@ public class AppointmentService {
      * Get upcoming appointments for a patient.
      * Used in patient dashboard.
      */
+    @Transactional(readOnly = true)
     public List<Appointment> getUpcomingAppointmentsByPatientId(Long patientId) {
         return appointmentRepository.findUpcomingAppointmentsByPatientId(patientId);
     }
@@ -141,6 +310,7 @@ public class AppointmentService {
      * Get upcoming appointments for a doctor.
      * Used in doctor dashboard.
      */
+    @Transactional(readOnly = true)
     public List<Appointment> getUpcomingAppointmentsByDoctorId(Long doctorId) {
         return appointmentRepository.findUpcomingAppointmentsByDoctorId(doctorId);
     }
@@ -149,6 +319,7 @@ public class AppointmentService {
      * Get today's appointments for a doctor.
      * Used for daily schedule view.
      */
+    @Transactional(readOnly = true)
     public List<Appointment> getTodaysAppointmentsByDoctorId(Long doctorId) {
         return appointmentRepository.findTodaysAppointmentsByDoctorId(doctorId);
     }
@@ -157,6 +328,7 @@ public class AppointmentService {
      * Get appointments by status.
      * Used for filtering and management.
      */
+    @Transactional(readOnly = true)
     public List<Appointment> getAppointmentsByStatus(String status) {
         return appointmentRepository.findByStatusOrderByAppointmentTimeAsc(status);
     }
@@ -165,16 +337,19 @@ public class AppointmentService {
      * Get appointments for a specific date.
      * Used for daily reports and scheduling.
      */
+    @Transactional(readOnly = true)
     public List<Appointment> getAppointmentsByDate(LocalDateTime date) {
-        return appointmentRepository.findAppointmentsByDate(date);
+        return appointmentRepository.findAppointmentsByDate(date.toLocalDate());
     }
 
     /**
-     * Get appointments in a date range.
+     * Get appointments starting at or after startDate and before endDate.
      * Used for reporting and analytics.
      */
+    @Transactional(readOnly = true)
     public List<Appointment> getAppointmentsBetweenDates(LocalDateTime startDate, LocalDateTime endDate) {
-        return appointmentRepository.findAppointmentsBetweenDates(startDate, endDate);
+        return appointmentRepository.findAppointmentsBetweenDates(
+                startDate.toLocalDate(), startDate.toLocalTime(), endDate.toLocalDate(), endDate.toLocalTime());
     }
 
     /**
@@ -183,8 +358,12 @@ public class AppointmentService {
      */
     public Appointment cancelAppointment(Long id) {
         Appointment appointment = getAppointmentById(id);
+        Appointment.AppointmentStatus previousStatus = appointment.getStatus();
         appointment.setStatus(Appointment.AppointmentStatus.CANCELLED);
-        return appointmentRepository.save(appointment);
+        Appointment savedAppointment = appointmentRepository.save(appointment);
+        slotIndex.update(savedAppointment);
+        eventOutbox.publish(AppointmentEvent.EventType.CANCELLED, savedAppointment, previousStatus);
+        return savedAppointment;
     }
 
     /**
@@ -193,8 +372,12 @@ public class AppointmentService {
      */
     public Appointment completeAppointment(Long id) {
         Appointment appointment = getAppointmentById(id);
+        Appointment.AppointmentStatus previousStatus = appointment.getStatus();
         appointment.setStatus(Appointment.AppointmentStatus.COMPLETED);
-        return appointmentRepository.save(appointment);
+        Appointment savedAppointment = appointmentRepository.save(appointment);
+        slotIndex.update(savedAppointment);
+        eventOutbox.publish(AppointmentEvent.EventType.COMPLETED, savedAppointment, previousStatus);
+        return savedAppointment;
     }
 
     /**
@@ -203,17 +386,28 @@ public class AppointmentService {
      */
     public Appointment rescheduleAppointment(Long id, LocalDateTime newDateTime) {
         Appointment appointment = getAppointmentById(id);
+        Appointment.AppointmentStatus previousStatus = appointment.getStatus();
+        LocalDate previousDate = appointment.getAppointmentDate();
+
+        Lock lock = bookingLocks.lockFor(appointment.getDoctor().getDoctorId());
+        lock.lock();
+        try {
+            // Check for overlaps, ignoring the appointment's own current slot
+            if (slotIndex.hasConflict(appointment.getDoctor().getDoctorId(), newDateTime.toLocalDate(),
+                    newDateTime.toLocalTime(), appointment.getDurationMinutes(), id)) {
+                throw new RuntimeException("Doctor is not available at the new requested time");
+            }
 
-        // Check for conflicts
-        if (appointmentRepository.existsByDoctorIdAndAppointmentTime(
-                appointment.getDoctor().getDoctorId(), newDateTime)) {
-            throw new RuntimeException("Doctor is not available at the new requested time");
+            appointment.setAppointmentDate(newDateTime.toLocalDate());
+            appointment.setAppointmentTime(newDateTime.toLocalTime());
+            appointment.setStatus(Appointment.AppointmentStatus.SCHEDULED);
+            Appointment savedAppointment = appointmentRepository.save(appointment);
+            slotIndex.update(savedAppointment);
+            eventOutbox.publish(AppointmentEvent.EventType.RESCHEDULED, savedAppointment, previousStatus, previousDate);
+            return savedAppointment;
+        } finally {
+            lock.unlock();
         }
-
-        appointment.setAppointmentDate(newDateTime.toLocalDate());
-        appointment.setAppointmentTime(newDateTime.toLocalTime());
-        appointment.setStatus(Appointment.AppointmentStatus.SCHEDULED);
-        return appointmentRepository.save(appointment);
     }
 
     /**
@@ -222,13 +416,16 @@ public class AppointmentService {
      */
     public void deleteAppointment(Long id) {
         Appointment appointment = getAppointmentById(id);
+        eventOutbox.publish(AppointmentEvent.EventType.DELETED, appointment, appointment.getStatus());
         appointmentRepository.delete(appointment);
+        slotIndex.remove(id);
     }
 
     /**
      * Get appointment statistics.
      * Used for dashboard and reporting.
      */
+    @Transactional(readOnly = true)
     public Long getTotalAppointmentCount() {
         return appointmentRepository.countTotalAppointments();
     }
@@ -237,6 +434,7 @@ public class AppointmentService {
      * Get appointment count by status.
      * Used for status distribution analysis.
      */
+    @Transactional(readOnly = true)
     public List<Object[]> getAppointmentCountByStatus() {
         return appointmentRepository.countAppointmentsByStatus();
     }
@@ -245,22 +443,25 @@ public class AppointmentService {
      * Get daily appointment report by doctor.
      * Implementation of the stored procedure functionality.
      */
+    @Transactional(readOnly = true)
     public List<Appointment> getDailyAppointmentReportByDoctor(LocalDateTime reportDate) {
-        return appointmentRepository.findDailyAppointmentReportByDoctor(reportDate);
+        return appointmentRepository.findDailyAppointmentReportByDoctor(reportDate.toLocalDate());
     }
 
     /**
      * Check if doctor is available at specific time.
      * Used for appointment validation.
      */
+    @Transactional(readOnly = true)
     public boolean isDoctorAvailable(Long doctorId, LocalDateTime dateTime) {
-        return !appointmentRepository.existsByDoctorIdAndAppointmentTime(doctorId, dateTime);
+        return !slotIndex.isBooked(doctorId, dateTime);
     }
 
     /**
      * Get appointment history between patient and doctor.
      * Used for medical history and continuity of care.
      */
+    @Transactional(readOnly = true)
     public List<Appointment> getAppointmentHistory(Long patientId, Long doctorId) {
         return appointmentRepository.findByPatientIdAndDoctorId(patientId, doctorId);
     }
@@ -0,0 +1,242 @@
+package com.smartclinic.service;
+
+import com.smartclinic.model.Appointment;
+import com.smartclinic.repository.AppointmentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory per-doctor index of booked appointment time ranges.
+ * Answers double-booking checks without a database round trip and detects
+ * overlapping durations, not only identical start times.
+ * Holds the appointments that are not CANCELLED from yesterday on: appointments must be in the
+ * future and last less than a day, so nothing older can overlap a new booking. Warmed at startup
+ * and kept in sync by the appointment, doctor and patient services; AppointmentService checks
+ * and reserves under DoctorBookingLocks.
+ *
+ * A write reserves its new range immediately but only frees the old one after commit, so while
+ * a reschedule is in flight both ranges stay booked: another booking cannot take the old range
+ * and then be joined by it again when the reschedule rolls back.
+ */
+@Component
+public class AppointmentSlotIndex {
+
+    /**
+     * Longest appointment allowed by Appointment.durationMinutes.
+     * Bounds how far back an overlap search has to look.
+     */
+    static final int MAX_DURATION_MINUTES = 480;
+
+    private static final int DEFAULT_DURATION_MINUTES = 60;
+
+    private static final long MINUTES_PER_DAY = 24 * 60;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    private final Map<Long, DoctorSlots> slotsByDoctor = new ConcurrentHashMap<>();
+
+    /**
+     * Committed range of each appointment; ranges reserved by open transactions are only in slotsByDoctor.
+     */
+    private final Map<Long, Slot> slotsByAppointment = new ConcurrentHashMap<>();
+
+    private final AtomicLong slotSequence = new AtomicLong();
+
+    private volatile boolean warmed;
+
+    /**
+     * Load the active appointments once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        ensureWarm();
+    }
+
+    /**
+     * Check whether a proposed appointment overlaps an indexed one.
+     * The appointment with excludeAppointmentId (may be null) is ignored, so updates
+     * do not conflict with themselves.
+     */
+    public boolean hasConflict(Long doctorId, LocalDate date, LocalTime time,
+                               Integer durationMinutes, Long excludeAppointmentId) {
+        ensureWarm();
+        long start = toMinute(date, time);
+        long end = start + durationOrDefault(durationMinutes);
+        DoctorSlots doctorSlots = slotsByDoctor.get(doctorId);
+        return doctorSlots != null && doctorSlots.overlaps(start, end, excludeAppointmentId);
+    }
+
+    /**
+     * Check whether any indexed appointment covers the given instant.
+     */
+    public boolean isBooked(Long doctorId, LocalDateTime dateTime) {
+        ensureWarm();
+        long start = toMinute(dateTime.toLocalDate(), dateTime.toLocalTime());
+        DoctorSlots doctorSlots = slotsByDoctor.get(doctorId);
+        return doctorSlots != null && doctorSlots.overlaps(start, start + 1, null);
+    }
+
+    /**
+     * Record the current state of an appointment in the index.
+     * The new range is reserved immediately so that concurrent bookings see it before commit, and
+     * released again if the surrounding transaction rolls back. The previous range is only freed
+     * after commit. A cancelled appointment reserves nothing and is dropped after commit.
+     */
+    public void update(Appointment appointment) {
+        Long appointmentId = appointment.getAppointmentId();
+        Slot reserved = appointment.getStatus() == Appointment.AppointmentStatus.CANCELLED
+                ? null : toSlot(appointment);
+        if (reserved != null) {
+            addToDoctor(reserved);
+            TransactionCallbacks.afterRollback(() -> removeFromDoctor(reserved));
+        }
+        TransactionCallbacks.afterCommit(() -> commit(appointmentId, reserved));
+    }
+
+    /**
+     * Drop an appointment from the index once the transaction commits.
+     */
+    public void remove(Long appointmentId) {
+        TransactionCallbacks.afterCommit(() -> commit(appointmentId, null));
+    }
+
+    /**
+     * Discard the index and reload it from the database.
+     * Used for warm-up and for recovery after bulk changes made outside the services.
+     */
+    public synchronized void rebuild() {
+        slotsByDoctor.clear();
+        slotsByAppointment.clear();
+        for (Object[] row : appointmentRepository.findActiveAppointmentSlotsFrom(LocalDate.now().minusDays(1))) {
+            Long appointmentId = (Long) row[0];
+            Long doctorId = (Long) row[1];
+            long start = toMinute((LocalDate) row[2], (LocalTime) row[3]);
+            long end = start + durationOrDefault((Integer) row[4]);
+            Slot slot = new Slot(appointmentId, doctorId, start, end, slotSequence.incrementAndGet());
+            slotsByAppointment.put(appointmentId, slot);
+            addToDoctor(slot);
+        }
+        warmed = true;
+    }
+
+    /**
+     * Number of indexed appointments.
+     * Used for diagnostics and reconciliation.
+     */
+    public int size() {
+        return slotsByAppointment.size();
+    }
+
+    private void ensureWarm() {
+        if (!warmed) {
+            synchronized (this) {
+                if (!warmed) {
+                    rebuild();
+                }
+            }
+        }
+    }
+
+    /**
+     * Make reserved (null for none) the committed range of an appointment and free the one it replaces.
+     */
+    private void commit(Long appointmentId, Slot reserved) {
+        Slot previous = reserved != null
+                ? slotsByAppointment.put(appointmentId, reserved)
+                : slotsByAppointment.remove(appointmentId);
+        if (previous != null && previous != reserved) {
+            removeFromDoctor(previous);
+        }
+    }
+
+    private void addToDoctor(Slot slot) {
+        slotsByDoctor.computeIfAbsent(slot.doctorId, id -> new DoctorSlots()).add(slot);
+    }
+
+    private void removeFromDoctor(Slot slot) {
+        DoctorSlots doctorSlots = slotsByDoctor.get(slot.doctorId);
+        if (doctorSlots != null) {
+            doctorSlots.remove(slot);
+        }
+    }
+
+    private Slot toSlot(Appointment appointment) {
+        long start = toMinute(appointment.getAppointmentDate(), appointment.getAppointmentTime());
+        long end = start + durationOrDefault(appointment.getDurationMinutes());
+        return new Slot(appointment.getAppointmentId(), appointment.getDoctor().getDoctorId(), start, end,
+                slotSequence.incrementAndGet());
+    }
+
+    private static int durationOrDefault(Integer durationMinutes) {
+        return durationMinutes != null ? durationMinutes : DEFAULT_DURATION_MINUTES;
+    }
+
+    private static long toMinute(LocalDate date, LocalTime time) {
+        return date.toEpochDay() * MINUTES_PER_DAY + time.getHour() * 60L + time.getMinute();
+    }
+
+    /**
+     * Booked range of one appointment, in minutes since the epoch.
+     * The sequence tells apart two ranges of the same appointment held during a reschedule.
+     */
+    static final class Slot {
+        private final Long appointmentId;
+        private final Long doctorId;
+        private final long start;
+        private final long end;
+        private final long sequence;
+
+        Slot(Long appointmentId, Long doctorId, long start, long end, long sequence) {
+            this.appointmentId = appointmentId;
+            this.doctorId = doctorId;
+            this.start = start;
+            this.end = end;
+            this.sequence = sequence;
+        }
+    }
+
+    /**
+     * Slots of a single doctor ordered by start minute.
+     */
+    private static final class DoctorSlots {
+        private static final Comparator<Slot> ORDER = Comparator
+                .comparingLong((Slot slot) -> slot.start)
+                .thenComparing(slot -> slot.appointmentId, Comparator.nullsFirst(Comparator.naturalOrder()))
+                .thenComparingLong(slot -> slot.sequence);
+
+        private final NavigableSet<Slot> slots = new TreeSet<>(ORDER);
+
+        synchronized void add(Slot slot) {
+            slots.add(slot);
+        }
+
+        synchronized void remove(Slot slot) {
+            slots.remove(slot);
+        }
+
+        synchronized boolean overlaps(long start, long end, Long excludeAppointmentId) {
+            // Only slots starting in [start - MAX_DURATION, end) can reach into the range
+            Slot from = new Slot(null, null, start - MAX_DURATION_MINUTES, 0, 0);
+            Slot to = new Slot(null, null, end, 0, 0);
+            for (Slot slot : slots.subSet(from, true, to, false)) {
+                if (slot.end > start && !slot.appointmentId.equals(excludeAppointmentId)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
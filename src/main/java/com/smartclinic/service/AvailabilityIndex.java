@@ -0,0 +1,657 @@
+package com.smartclinic.service;
+
+import com.smartclinic.dto.FreeSlot;
+import com.smartclinic.model.Appointment;
+import com.smartclinic.model.AppointmentEvent;
+import com.smartclinic.model.Doctor;
+import com.smartclinic.model.DoctorAvailability;
+import com.smartclinic.repository.AppointmentRepository;
+import com.smartclinic.repository.DoctorAvailabilityRepository;
+import com.smartclinic.repository.DoctorRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory availability engine built from bitmaps.
+ * The day is split into 15-minute slots. For every day that has availability, each slot keeps a
+ * bitmap of the doctors who are free in it: covered by an AVAILABLE row, not blocked by an
+ * UNAVAILABLE or BREAK row and not booked by an active appointment. Doctors are numbered by
+ * ordinal, with one bitmap per specialization and one for active doctors, so "who is free for
+ * cardiology at 10:30" is a single AND of three bitmaps. Days without availability take no space.
+ * Warmed at startup and kept in sync after commit by the doctor and availability services;
+ * bookings arrive in batches from the appointment event outbox and a periodic rebuild repairs drift.
+ *
+ * Earliest-slot searches walk each candidate doctor's own days instead: every doctor is a
+ * cursor over its free runs long enough for the requested duration, and a priority queue
+ * merges the cursors by start time, so the first N slots cost about one step per doctor
+ * plus N queue operations.
+ */
+@Component
+public class AvailabilityIndex implements AppointmentEventConsumer {
+
+    /**
+     * Length of one slot in minutes.
+     */
+    public static final int SLOT_MINUTES = 15;
+
+    /**
+     * Range of a free-slot search when the client does not ask for one.
+     */
+    public static final int DEFAULT_SEARCH_DAYS = 14;
+
+    /**
+     * Longest range a free-slot search may cover.
+     */
+    public static final int MAX_SEARCH_DAYS = 90;
+
+    /**
+     * Longest slot a free-slot search may ask for.
+     */
+    public static final int MAX_DURATION_MINUTES = 8 * 60;
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    private static final int SLOTS_PER_DAY = MINUTES_PER_DAY / SLOT_MINUTES;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private DoctorAvailabilityRepository availabilityRepository;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final Map<Long, Integer> ordinalByDoctor = new HashMap<>();
+
+    private final List<Long> doctorByOrdinal = new ArrayList<>();
+
+    private final Map<Integer, String> specializationByOrdinal = new HashMap<>();
+
+    private final Map<String, BitSet> doctorsBySpecialization = new HashMap<>();
+
+    private final BitSet activeDoctors = new BitSet();
+
+    private final NavigableMap<Long, BitSet[]> freeDoctorsByDay = new TreeMap<>();
+
+    // Per doctor ordinal, its days in order, for the earliest-slot merge
+    private final Map<Integer, NavigableMap<Long, DoctorDay>> daysByDoctor = new HashMap<>();
+
+    private final Map<Long, Entry> availabilityEntries = new HashMap<>();
+
+    private final Map<Long, Entry> bookingEntries = new HashMap<>();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Changes applied while rebuild reads its snapshot, replayed after the reload; guarded by the write lock
+    private List<Runnable> journal;
+
+    private TransactionTemplate snapshotTemplate;
+
+    private volatile boolean warmed;
+
+    @PostConstruct
+    void init() {
+        // A new transaction even when called after another one commits, whose resources are still bound
+        snapshotTemplate = new TransactionTemplate(transactionManager);
+        snapshotTemplate.setReadOnly(true);
+        snapshotTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Load doctors, availability and appointments from today on once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        ensureWarm();
+    }
+
+    /**
+     * Find active doctors whose specialization contains the given text and who are free
+     * in the slot containing dateTime. Returns doctor IDs in ascending order.
+     */
+    public List<Long> findAvailableDoctors(String specialization, LocalDateTime dateTime) {
+        ensureWarm();
+        lock.readLock().lock();
+        try {
+            BitSet[] slots = freeDoctorsByDay.get(dateTime.toLocalDate().toEpochDay());
+            if (slots == null) {
+                return List.of();
+            }
+            BitSet doctors = (BitSet) slots[minuteOfDay(dateTime.toLocalTime()) / SLOT_MINUTES].clone();
+            doctors.and(candidates(specialization));
+            return toDoctorIds(doctors);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Find the earliest free slots of durationMinutes starting at or after from, within the given
+     * number of days, for active doctors whose specialization contains the given text (all doctors
+     * when blank). Ordered by start time, then doctor ID.
+     */
+    public List<FreeSlot> findFreeSlots(String specialization, LocalDateTime from, int days, int durationMinutes,
+                                        int limit) {
+        ensureWarm();
+        lock.readLock().lock();
+        try {
+            return mergeFreeSlots(candidates(specialization), from, days, durationMinutes, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Find the earliest free slots of durationMinutes of one doctor starting at or after from,
+     * within the given number of days.
+     */
+    public List<FreeSlot> findFreeSlots(Long doctorId, LocalDateTime from, int days, int durationMinutes, int limit) {
+        ensureWarm();
+        lock.readLock().lock();
+        try {
+            Integer ordinal = ordinalByDoctor.get(doctorId);
+            BitSet doctor = new BitSet();
+            if (ordinal != null) {
+                doctor.set(ordinal);
+            }
+            return mergeFreeSlots(doctor, from, days, durationMinutes, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Record a created or updated doctor once the surrounding transaction commits.
+     */
+    public void doctorChanged(Doctor doctor) {
+        Long doctorId = doctor.getDoctorId();
+        String specialization = doctor.getSpecialization();
+        boolean active = doctor.isActive();
+        TransactionCallbacks.afterCommit(() -> write(() -> putDoctor(doctorId, specialization, active)));
+    }
+
+    /**
+     * Drop a deleted doctor together with its availability and appointments once the transaction commits.
+     */
+    public void doctorRemoved(Long doctorId) {
+        TransactionCallbacks.afterCommit(() -> write(() -> removeDoctor(doctorId)));
+    }
+
+    /**
+     * Record a created or updated availability row once the surrounding transaction commits.
+     */
+    public void availabilityChanged(DoctorAvailability availability) {
+        Long availabilityId = availability.getAvailabilityId();
+        Long doctorId = availability.getDoctor().getDoctorId();
+        LocalDate date = availability.getDate();
+        LocalTime startTime = availability.getStartTime();
+        LocalTime endTime = availability.getEndTime();
+        DoctorAvailability.AvailabilityType type = availability.getAvailabilityType();
+        TransactionCallbacks.afterCommit(() -> write(() ->
+                putAvailability(availabilityId, doctorId, date, startTime, endTime, type)));
+    }
+
+    /**
+     * Drop a deleted availability row once the surrounding transaction commits.
+     */
+    public void availabilityRemoved(Long availabilityId) {
+        TransactionCallbacks.afterCommit(() -> write(() -> removeEntry(availabilityEntries, availabilityId)));
+    }
+
+    /**
+     * Apply a batch of appointment events from the outbox under one write lock.
+     * Cancelled and deleted appointments free their slots again.
+     */
+    @Override
+    public void onAppointmentEvents(List<AppointmentEvent> events) {
+        write(() -> {
+            for (AppointmentEvent event : events) {
+                if (event.getStatus() == null || event.getStatus() == Appointment.AppointmentStatus.CANCELLED) {
+                    removeEntry(bookingEntries, event.getAppointmentId());
+                } else {
+                    putBooking(event.getAppointmentId(), event.getDoctorId(), event.getAppointmentDate(),
+                            event.getAppointmentTime(), event.getDurationMinutes());
+                }
+            }
+        });
+    }
+
+    /**
+     * Discard the engine and reload it from the database.
+     * Used for warm-up, after bulk availability changes and every clinic.availability.rebuild-interval-ms
+     * (default 15 minutes), which repairs bookings lost when an event batch failed in this consumer.
+     * The snapshot is read in one read-only transaction without blocking searches; changes applied
+     * meanwhile by the outbox or after-commit hooks are replayed on top of it.
+     */
+    @Scheduled(fixedDelayString = "${clinic.availability.rebuild-interval-ms:900000}",
+               initialDelayString = "${clinic.availability.rebuild-interval-ms:900000}")
+    public synchronized void rebuild() {
+        // Record every change applied while the snapshot is read, so the reload cannot wipe it
+        setJournal(new ArrayList<>());
+        List<Object[]> doctors;
+        List<Object[]> availability;
+        List<Object[]> appointments;
+        try {
+            LocalDate today = LocalDate.now();
+            List<List<Object[]>> snapshot = snapshotTemplate.execute(status -> List.of(
+                    doctorRepository.findAvailabilityIndexFields(),
+                    availabilityRepository.findSlotRangesFrom(today),
+                    appointmentRepository.findActiveAppointmentSlotsFrom(today)));
+            doctors = snapshot.get(0);
+            availability = snapshot.get(1);
+            appointments = snapshot.get(2);
+        } catch (RuntimeException e) {
+            setJournal(null);
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            List<Runnable> changes = journal;
+            journal = null;
+            ordinalByDoctor.clear();
+            doctorByOrdinal.clear();
+            specializationByOrdinal.clear();
+            doctorsBySpecialization.clear();
+            activeDoctors.clear();
+            freeDoctorsByDay.clear();
+            daysByDoctor.clear();
+            availabilityEntries.clear();
+            bookingEntries.clear();
+
+            for (Object[] row : doctors) {
+                putDoctor((Long) row[0], (String) row[1], Boolean.TRUE.equals(row[2]));
+            }
+            for (Object[] row : availability) {
+                putAvailability((Long) row[0], (Long) row[1], (LocalDate) row[2], (LocalTime) row[3],
+                        (LocalTime) row[4], (DoctorAvailability.AvailabilityType) row[5]);
+            }
+            for (Object[] row : appointments) {
+                putBooking((Long) row[0], (Long) row[1], (LocalDate) row[2], (LocalTime) row[3], (Integer) row[4]);
+            }
+            // Every change is a last-write-wins put or remove, so replaying one the snapshot already
+            // contains is harmless, and events the snapshot is ahead of are followed by the newer ones
+            for (Runnable change : changes) {
+                change.run();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        warmed = true;
+    }
+
+    private void ensureWarm() {
+        if (!warmed) {
+            synchronized (this) {
+                if (!warmed) {
+                    rebuild();
+                }
+            }
+        }
+    }
+
+    private void setJournal(List<Runnable> changes) {
+        lock.writeLock().lock();
+        try {
+            journal = changes;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void write(Runnable change) {
+        lock.writeLock().lock();
+        try {
+            change.run();
+            if (journal != null) {
+                journal.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private BitSet candidates(String specialization) {
+        BitSet doctors = new BitSet();
+        String needle = specialization != null ? specialization.trim().toLowerCase(Locale.ROOT) : "";
+        for (Map.Entry<String, BitSet> entry : doctorsBySpecialization.entrySet()) {
+            if (entry.getKey().contains(needle)) {
+                doctors.or(entry.getValue());
+            }
+        }
+        doctors.and(activeDoctors);
+        return doctors;
+    }
+
+    /**
+     * K-way merge of per-doctor slot cursors.
+     * Each cursor stands on its doctor's earliest run of free slots long enough for the duration;
+     * the queue hands out the earliest one, which then moves past the slot it offered. Offers of one
+     * doctor do not overlap, and a slot never spans midnight.
+     */
+    private List<FreeSlot> mergeFreeSlots(BitSet doctors, LocalDateTime from, int days, int durationMinutes, int limit) {
+        List<FreeSlot> result = new ArrayList<>();
+        if (doctors.isEmpty() || days <= 0 || limit <= 0 || durationMinutes <= 0) {
+            return result;
+        }
+        int length = ceilSlot(durationMinutes);
+        if (length > SLOTS_PER_DAY) {
+            return result;
+        }
+        long fromDay = from.toLocalDate().toEpochDay();
+        int firstSlot = ceilSlot(minuteOfDay(from.toLocalTime()));
+        long toDay = fromDay + Math.min(days, MAX_SEARCH_DAYS);
+
+        PriorityQueue<SlotCursor> queue = new PriorityQueue<>(
+                Comparator.comparingLong((SlotCursor cursor) -> cursor.position).thenComparingLong(cursor -> cursor.doctorId));
+        for (int ordinal = doctors.nextSetBit(0); ordinal >= 0; ordinal = doctors.nextSetBit(ordinal + 1)) {
+            NavigableMap<Long, DoctorDay> doctorDays = daysByDoctor.get(ordinal);
+            if (doctorDays == null) {
+                continue;
+            }
+            SlotCursor cursor = new SlotCursor(doctorByOrdinal.get(ordinal),
+                    doctorDays.subMap(fromDay, true, toDay, false).entrySet().iterator(), length, fromDay, firstSlot);
+            if (cursor.advance(firstSlot)) {
+                queue.add(cursor);
+            }
+        }
+
+        while (!queue.isEmpty() && result.size() < limit) {
+            SlotCursor cursor = queue.poll();
+            LocalDateTime start = LocalDate.ofEpochDay(cursor.day).atStartOfDay()
+                    .plusMinutes((long) cursor.slot * SLOT_MINUTES);
+            result.add(new FreeSlot(cursor.doctorId, start, start.plusMinutes(durationMinutes)));
+            if (cursor.advance(cursor.slot + length)) {
+                queue.add(cursor);
+            }
+        }
+        return result;
+    }
+
+    private List<Long> toDoctorIds(BitSet doctors) {
+        List<Long> doctorIds = new ArrayList<>(doctors.cardinality());
+        for (int ordinal = doctors.nextSetBit(0); ordinal >= 0; ordinal = doctors.nextSetBit(ordinal + 1)) {
+            doctorIds.add(doctorByOrdinal.get(ordinal));
+        }
+        return doctorIds;
+    }
+
+    private int ordinalOf(Long doctorId) {
+        return ordinalByDoctor.computeIfAbsent(doctorId, id -> {
+            doctorByOrdinal.add(id);
+            return doctorByOrdinal.size() - 1;
+        });
+    }
+
+    private void putDoctor(Long doctorId, String specialization, boolean active) {
+        int ordinal = ordinalOf(doctorId);
+        String previous = specializationByOrdinal.remove(ordinal);
+        if (previous != null) {
+            BitSet members = doctorsBySpecialization.get(previous);
+            members.clear(ordinal);
+            if (members.isEmpty()) {
+                doctorsBySpecialization.remove(previous);
+            }
+        }
+        String key = specialization != null ? specialization.toLowerCase(Locale.ROOT) : "";
+        specializationByOrdinal.put(ordinal, key);
+        doctorsBySpecialization.computeIfAbsent(key, k -> new BitSet()).set(ordinal);
+        activeDoctors.set(ordinal, active);
+    }
+
+    private void removeDoctor(Long doctorId) {
+        Integer ordinal = ordinalByDoctor.get(doctorId);
+        if (ordinal == null) {
+            return;
+        }
+        activeDoctors.clear(ordinal);
+        String specialization = specializationByOrdinal.remove(ordinal);
+        if (specialization != null) {
+            BitSet members = doctorsBySpecialization.get(specialization);
+            members.clear(ordinal);
+            if (members.isEmpty()) {
+                doctorsBySpecialization.remove(specialization);
+            }
+        }
+        NavigableMap<Long, DoctorDay> days = daysByDoctor.remove(ordinal);
+        if (days != null) {
+            for (Long day : days.keySet()) {
+                for (BitSet slot : freeDoctorsByDay.get(day)) {
+                    slot.clear(ordinal);
+                }
+            }
+        }
+        availabilityEntries.values().removeIf(entry -> entry.ordinal == ordinal);
+        bookingEntries.values().removeIf(entry -> entry.ordinal == ordinal);
+    }
+
+    private void putAvailability(Long availabilityId, Long doctorId, LocalDate date, LocalTime startTime,
+                                 LocalTime endTime, DoctorAvailability.AvailabilityType type) {
+        int start = minuteOfDay(startTime);
+        int end = endMinute(startTime, endTime);
+        Entry entry = type == DoctorAvailability.AvailabilityType.AVAILABLE
+                // Only slots fully inside an available range are offered
+                ? new Entry(ordinalOf(doctorId), date.toEpochDay(), ceilSlot(start), end / SLOT_MINUTES, true)
+                // Any overlap with a blocked range takes the slot away
+                : new Entry(ordinalOf(doctorId), date.toEpochDay(), start / SLOT_MINUTES, ceilSlot(end), false);
+        putEntry(availabilityEntries, availabilityId, entry);
+    }
+
+    private void putBooking(Long appointmentId, Long doctorId, LocalDate date, LocalTime time, Integer durationMinutes) {
+        int start = minuteOfDay(time);
+        int end = Math.min(MINUTES_PER_DAY, start + (durationMinutes != null ? durationMinutes : 60));
+        putEntry(bookingEntries, appointmentId,
+                new Entry(ordinalOf(doctorId), date.toEpochDay(), start / SLOT_MINUTES, ceilSlot(end), false));
+    }
+
+    private void putEntry(Map<Long, Entry> entries, Long id, Entry entry) {
+        removeEntry(entries, id);
+        entries.put(id, entry);
+        DoctorDay doctorDay = daysByDoctor.computeIfAbsent(entry.ordinal, ordinal -> new TreeMap<>())
+                .computeIfAbsent(entry.day, day -> new DoctorDay());
+        doctorDay.entries.add(entry);
+        refresh(entry.ordinal, entry.day, doctorDay);
+    }
+
+    private void removeEntry(Map<Long, Entry> entries, Long id) {
+        Entry previous = entries.remove(id);
+        if (previous == null) {
+            return;
+        }
+        NavigableMap<Long, DoctorDay> days = daysByDoctor.get(previous.ordinal);
+        DoctorDay doctorDay = days != null ? days.get(previous.day) : null;
+        if (doctorDay == null) {
+            return;
+        }
+        doctorDay.entries.remove(previous);
+        if (doctorDay.entries.isEmpty()) {
+            days.remove(previous.day);
+        }
+        refresh(previous.ordinal, previous.day, doctorDay);
+    }
+
+    /**
+     * Recompute one doctor's free slots for one day and write them into the day's slot bitmaps.
+     */
+    private void refresh(int ordinal, long day, DoctorDay doctorDay) {
+        long[] free = doctorDay.freeMask();
+        doctorDay.free = free;
+        BitSet[] slots = freeDoctorsByDay.get(day);
+        if (slots == null) {
+            if (isEmpty(free)) {
+                return;
+            }
+            slots = new BitSet[SLOTS_PER_DAY];
+            for (int slot = 0; slot < SLOTS_PER_DAY; slot++) {
+                slots[slot] = new BitSet();
+            }
+            freeDoctorsByDay.put(day, slots);
+        }
+        for (int slot = 0; slot < SLOTS_PER_DAY; slot++) {
+            slots[slot].set(ordinal, (free[slot >>> 6] & (1L << slot)) != 0);
+        }
+    }
+
+    private static boolean isEmpty(long[] mask) {
+        for (long word : mask) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int minuteOfDay(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+
+    /**
+     * End minute of a range, reading an end of midnight after a later start as the end of the day.
+     */
+    private static int endMinute(LocalTime startTime, LocalTime endTime) {
+        int end = minuteOfDay(endTime);
+        return end == 0 && minuteOfDay(startTime) > 0 ? MINUTES_PER_DAY : end;
+    }
+
+    private static int ceilSlot(int minute) {
+        return (minute + SLOT_MINUTES - 1) / SLOT_MINUTES;
+    }
+
+    /**
+     * Slot range [startSlot, endSlot) of one doctor on one day.
+     * Open entries come from AVAILABLE rows; closed ones from blocking rows and appointments.
+     */
+    private static final class Entry {
+        private final int ordinal;
+        private final long day;
+        private final int startSlot;
+        private final int endSlot;
+        private final boolean open;
+
+        Entry(int ordinal, long day, int startSlot, int endSlot, boolean open) {
+            this.ordinal = ordinal;
+            this.day = day;
+            this.startSlot = Math.max(0, startSlot);
+            this.endSlot = Math.min(SLOTS_PER_DAY, endSlot);
+            this.open = open;
+        }
+    }
+
+    /**
+     * Entries of one doctor on one day.
+     */
+    private static final class DoctorDay {
+        private final List<Entry> entries = new ArrayList<>();
+
+        // Last result of freeMask(), kept for the earliest-slot merge
+        private long[] free = new long[(SLOTS_PER_DAY + 63) / 64];
+
+        /**
+         * Slots covered by an open entry and by no closed one, one bit per slot.
+         */
+        long[] freeMask() {
+            long[] open = new long[(SLOTS_PER_DAY + 63) / 64];
+            long[] closed = new long[open.length];
+            for (Entry entry : entries) {
+                long[] mask = entry.open ? open : closed;
+                for (int slot = entry.startSlot; slot < entry.endSlot; slot++) {
+                    mask[slot >>> 6] |= 1L << slot;
+                }
+            }
+            for (int i = 0; i < open.length; i++) {
+                open[i] &= ~closed[i];
+            }
+            return open;
+        }
+    }
+
+    /**
+     * Position of one doctor in the earliest-slot merge: the start of its next free run of
+     * length slots, as epoch day and slot, walking the doctor's days in order.
+     */
+    private static final class SlotCursor {
+        private final Long doctorId;
+        private final Iterator<Map.Entry<Long, DoctorDay>> days;
+        private final int length;
+        private final long firstDay;
+        private final int firstSlot;
+        private long day;
+        private long[] free;
+        private int slot;
+        private long position;
+
+        SlotCursor(Long doctorId, Iterator<Map.Entry<Long, DoctorDay>> days, int length, long firstDay, int firstSlot) {
+            this.doctorId = doctorId;
+            this.days = days;
+            this.length = length;
+            this.firstDay = firstDay;
+            this.firstSlot = firstSlot;
+        }
+
+        /**
+         * Move to the next run starting at or after fromSlot on the current day, or on a later day.
+         * Returns false when the doctor has no further run in the search range.
+         */
+        boolean advance(int fromSlot) {
+            while (true) {
+                if (free != null) {
+                    int start = findRun(free, fromSlot, length);
+                    if (start >= 0) {
+                        slot = start;
+                        position = day * SLOTS_PER_DAY + start;
+                        return true;
+                    }
+                }
+                if (!days.hasNext()) {
+                    return false;
+                }
+                Map.Entry<Long, DoctorDay> next = days.next();
+                day = next.getKey();
+                free = next.getValue().free;
+                fromSlot = day == firstDay ? firstSlot : 0;
+            }
+        }
+
+        private static int findRun(long[] mask, int fromSlot, int length) {
+            int run = 0;
+            for (int slot = fromSlot; slot < SLOTS_PER_DAY; slot++) {
+                if ((mask[slot >>> 6] & (1L << slot)) != 0) {
+                    if (++run == length) {
+                        return slot - length + 1;
+                    }
+                } else {
+                    run = 0;
+                }
+            }
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.smartclinic.service;
+
+import com.smartclinic.dto.DashboardSummary;
+import com.smartclinic.model.Appointment;
+import com.smartclinic.model.AppointmentEvent;
+import com.smartclinic.repository.AppointmentEventRepository;
+import com.smartclinic.repository.AppointmentRepository;
+import com.smartclinic.repository.DoctorRepository;
+import com.smartclinic.repository.PatientRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory dashboard counters.
+ * Doctor and patient counts are updated by their services after commit, appointment counts
+ * from the appointment event outbox; all are periodically reconciled against the database
+ * to correct any drift.
+ *
+ * A reconcile must neither lose nor repeat a change. Doctor and patient commits hold the read side
+ * of countLock from just before they commit until their counter update, so the recount under the
+ * write side sees each one either in both the table and the counters or in neither. Appointment
+ * counts are taken while the outbox is paused, minus the events still pending in the same snapshot,
+ * since the worker applies those afterwards.
+ */
+@Service
+public class DashboardStatsService implements AppointmentEventConsumer {
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private AppointmentEventRepository eventRepository;
+
+    // Lazy because the outbox in turn collects every AppointmentEventConsumer
+    @Autowired
+    @Lazy
+    private AppointmentEventOutbox eventOutbox;
+
+    private final ReadWriteLock countLock = new ReentrantReadWriteLock();
+
+    private final LongAdder totalDoctors = new LongAdder();
+
+    private final LongAdder activeDoctors = new LongAdder();
+
+    private final LongAdder activePatients = new LongAdder();
+
+    private final Map<Appointment.AppointmentStatus, LongAdder> appointmentsByStatus =
+            new EnumMap<>(Appointment.AppointmentStatus.class);
+
+    private volatile LocalDateTime reconciledAt;
+
+    public DashboardStatsService() {
+        for (Appointment.AppointmentStatus status : Appointment.AppointmentStatus.values()) {
+            appointmentsByStatus.put(status, new LongAdder());
+        }
+    }
+
+    /**
+     * Reload all counters from the database.
+     * Runs at startup and every clinic.dashboard.reconcile-interval-ms (default 5 minutes).
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${clinic.dashboard.reconcile-interval-ms:300000}",
+               initialDelayString = "${clinic.dashboard.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        eventOutbox.withDeliveryPaused(status -> {
+            countLock.writeLock().lock();
+            try {
+                reset(totalDoctors, doctorRepository.countTotalDoctors());
+                reset(activeDoctors, doctorRepository.countActiveDoctors());
+                reset(activePatients, patientRepository.countActivePatients());
+
+                Map<Appointment.AppointmentStatus, Long> counts = new EnumMap<>(Appointment.AppointmentStatus.class);
+                for (Object[] row : appointmentRepository.countAppointmentsByStatus()) {
+                    counts.put((Appointment.AppointmentStatus) row[0], (Long) row[1]);
+                }
+                // Undo the pending changes the counts already contain; the worker applies them once resumed
+                for (Object[] row : eventRepository.countPendingByStatusChange()) {
+                    Appointment.AppointmentStatus previous = (Appointment.AppointmentStatus) row[0];
+                    Appointment.AppointmentStatus current = (Appointment.AppointmentStatus) row[1];
+                    long count = (Long) row[2];
+                    if (previous == current) {
+                        continue;
+                    }
+                    if (previous != null) {
+                        counts.merge(previous, count, Long::sum);
+                    }
+                    if (current != null) {
+                        counts.merge(current, -count, Long::sum);
+                    }
+                }
+                appointmentsByStatus.forEach((bucket, adder) -> reset(adder, counts.getOrDefault(bucket, 0L)));
+                reconciledAt = LocalDateTime.now();
+            } finally {
+                countLock.writeLock().unlock();
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Get the current counter values.
+     * Constant cost regardless of table sizes.
+     */
+    public DashboardSummary getSummary() {
+        Map<String, Long> byStatus = new LinkedHashMap<>();
+        long totalAppointments = 0;
+        for (Map.Entry<Appointment.AppointmentStatus, LongAdder> entry : appointmentsByStatus.entrySet()) {
+            long count = entry.getValue().sum();
+            byStatus.put(entry.getKey().name(), count);
+            totalAppointments += count;
+        }
+        return new DashboardSummary(totalDoctors.sum(), activeDoctors.sum(), activePatients.sum(),
+                totalAppointments, byStatus, reconciledAt);
+    }
+
+    /**
+     * Count a doctor that was created (delta 1) or deleted (delta -1).
+     */
+    public void doctorChanged(boolean active, int delta) {
+        TransactionCallbacks.afterCommitHolding(countLock.readLock(), () -> {
+            totalDoctors.add(delta);
+            if (active) {
+                activeDoctors.add(delta);
+            }
+        });
+    }
+
+    /**
+     * Count a patient that was created (delta 1) or deleted (delta -1).
+     */
+    public void patientChanged(boolean active, int delta) {
+        if (!active) {
+            return;
+        }
+        TransactionCallbacks.afterCommitHolding(countLock.readLock(), () -> activePatients.add(delta));
+    }
+
+    /**
+     * Move a doctor between active and inactive after an update.
+     */
+    public void doctorActivated(boolean wasActive, boolean active) {
+        if (wasActive == active) {
+            return;
+        }
+        TransactionCallbacks.afterCommitHolding(countLock.readLock(), () -> activeDoctors.add(active ? 1 : -1));
+    }
+
+    /**
+     * Move a patient between active and inactive after an update.
+     */
+    public void patientActivated(boolean wasActive, boolean active) {
+        if (wasActive == active) {
+            return;
+        }
+        TransactionCallbacks.afterCommitHolding(countLock.readLock(), () -> activePatients.add(active ? 1 : -1));
+    }
+
+    /**
+     * Move appointments between status buckets for a batch of outbox events.
+     * A null previous status is a new appointment, a null status a deleted one.
+     */
+    @Override
+    public void onAppointmentEvents(List<AppointmentEvent> events) {
+        for (AppointmentEvent event : events) {
+            Appointment.AppointmentStatus previous = event.getPreviousStatus();
+            Appointment.AppointmentStatus current = event.getStatus();
+            if (previous == current) {
+                continue;
+            }
+            if (previous != null) {
+                appointmentsByStatus.get(previous).decrement();
+            }
+            if (current != null) {
+                appointmentsByStatus.get(current).increment();
+            }
+        }
+    }
+
+    private static void reset(LongAdder adder, Long value) {
+        adder.reset();
+        adder.add(value != null ? value : 0L);
+    }
+}
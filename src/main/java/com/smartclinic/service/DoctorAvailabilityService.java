@@ -0,0 +1,318 @@
+package com.smartclinic.service;
+
+import com.smartclinic.dto.CursorPage;
+import com.smartclinic.dto.FreeSlot;
+import com.smartclinic.model.Doctor;
+import com.smartclinic.model.DoctorAvailability;
+import com.smartclinic.repository.DoctorAvailabilityRepository;
+import com.smartclinic.repository.DoctorRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Service class for DoctorAvailability operations.
+ * Maintains doctor schedule rows, expands recurring rows into concrete slots and answers
+ * free-slot searches from the AvailabilityIndex.
+ *
+ * A recurring row (isRecurring) is a template: its date is the first occurrence and its
+ * recurrencePattern one of DAILY, WEEKDAYS, WEEKLY, WEEKLY:MON,WED,..., BIWEEKLY or MONTHLY.
+ * Materialization writes every occurrence, the anchor date included, as a concrete row, so bulk
+ * type changes reach all of them without touching the template.
+ */
+@Service
+@Transactional
+public class DoctorAvailabilityService {
+
+    /**
+     * Longest horizon a single materialization may cover.
+     */
+    public static final int MAX_HORIZON_DAYS = 366;
+
+    private static final int INSERT_BATCH_SIZE = 1000;
+
+    @Autowired
+    private DoctorAvailabilityRepository availabilityRepository;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private AvailabilityIndex availabilityIndex;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Serializes materialization runs until their transaction completes, so an overlapping run
+     * sees the rows of the previous one instead of inserting the same occurrences again.
+     */
+    private final ReentrantLock materializeLock = new ReentrantLock();
+
+    /**
+     * Horizon kept materialized by the nightly job.
+     */
+    @Value("${clinic.availability.horizon-days:90}")
+    private int horizonDays;
+
+    /**
+     * Add an availability row to a doctor's schedule.
+     * UNAVAILABLE and BREAK rows may overlap AVAILABLE ones; they take precedence.
+     */
+    public DoctorAvailability createAvailability(Long doctorId, DoctorAvailability availability) {
+        Doctor doctor = doctorRepository.findById(doctorId)
+                .orElseThrow(() -> new RuntimeException("Doctor not found with id: " + doctorId));
+
+        if (!availability.getEndTime().isAfter(availability.getStartTime())) {
+            throw new RuntimeException("End time must be after start time");
+        }
+        if (Boolean.TRUE.equals(availability.getIsRecurring())) {
+            validatePattern(availability.getRecurrencePattern());
+        }
+
+        availability.setDoctor(doctor);
+        DoctorAvailability savedAvailability = availabilityRepository.save(availability);
+        availabilityIndex.availabilityChanged(savedAvailability);
+        return savedAvailability;
+    }
+
+    /**
+     * Remove an availability row from a doctor's schedule.
+     */
+    public void deleteAvailability(Long doctorId, Long availabilityId) {
+        DoctorAvailability availability = availabilityRepository.findById(availabilityId)
+                .filter(row -> doctorId.equals(row.getDoctorId()))
+                .orElseThrow(() -> new RuntimeException("Availability not found with id: " + availabilityId));
+        availabilityRepository.delete(availability);
+        availabilityIndex.availabilityRemoved(availabilityId);
+    }
+
+    /**
+     * Expand the recurring rows of one doctor, or of every doctor when doctorId is null,
+     * into concrete slots from startDate for the given number of days.
+     * Occurrences that already exist as concrete rows (same doctor, date and times, of any type, so
+     * slots whose type was changed since count too) are skipped, so running it again is harmless.
+     * Runs are serialized within this instance, from the manual endpoints and the nightly job alike,
+     * and hold the lock until commit or rollback. New rows are written with JDBC batch inserts and the
+     * availability index is rebuilt after commit. Returns the number of rows created.
+     */
+    public int materializeRecurring(Long doctorId, LocalDate startDate, int days) {
+        if (days < 1 || days > MAX_HORIZON_DAYS) {
+            throw new RuntimeException("Horizon must be between 1 and " + MAX_HORIZON_DAYS + " days");
+        }
+        // Taken before the first read and released after completion, so the existing-slot check below
+        // always sees what an overlapping run committed
+        materializeLock.lock();
+        TransactionCallbacks.afterCompletion(materializeLock::unlock);
+        LocalDate endDate = startDate.plusDays(days - 1L);
+        List<Object[]> templates = availabilityRepository.findRecurringTemplates(doctorId, endDate);
+        if (templates.isEmpty()) {
+            return 0;
+        }
+
+        Set<List<Object>> existing = new HashSet<>();
+        for (Object[] row : availabilityRepository.findSlotKeysBetween(doctorId, startDate, endDate)) {
+            existing.add(List.of(row));
+        }
+
+        List<Object[]> rows = new ArrayList<>();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (Object[] template : templates) {
+            Long templateDoctorId = (Long) template[0];
+            LocalDate anchor = (LocalDate) template[1];
+            LocalTime startTime = (LocalTime) template[2];
+            LocalTime endTime = (LocalTime) template[3];
+            DoctorAvailability.AvailabilityType type = (DoctorAvailability.AvailabilityType) template[4];
+            Recurrence recurrence = Recurrence.parse((String) template[6]);
+            if (recurrence == null) {
+                continue;
+            }
+            for (LocalDate date = anchor.isAfter(startDate) ? anchor : startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+                if (recurrence.occursOn(anchor, date)
+                        && existing.add(List.of(templateDoctorId, date, startTime, endTime))) {
+                    rows.add(new Object[]{templateDoctorId, Date.valueOf(date), Time.valueOf(startTime),
+                            Time.valueOf(endTime), type.name(), template[5], now});
+                }
+            }
+        }
+
+        jdbcTemplate.batchUpdate("INSERT INTO doctor_availability (doctor_id, date, start_time, end_time, " +
+                "availability_type, reason, is_recurring, created_at) VALUES (?, ?, ?, ?, ?, ?, false, ?)",
+                rows, INSERT_BATCH_SIZE, (statement, row) -> {
+                    for (int i = 0; i < row.length; i++) {
+                        statement.setObject(i + 1, row[i]);
+                    }
+                });
+        if (!rows.isEmpty()) {
+            TransactionCallbacks.afterCommit(availabilityIndex::rebuild);
+        }
+        return rows.size();
+    }
+
+    /**
+     * Keep every doctor's recurring schedule materialized clinic.availability.horizon-days ahead.
+     * Runs nightly at clinic.availability.materialize-cron (default 02:30).
+     */
+    @Scheduled(cron = "${clinic.availability.materialize-cron:0 30 2 * * *}")
+    public void extendRecurringAvailability() {
+        materializeRecurring(null, LocalDate.now(), Math.min(horizonDays, MAX_HORIZON_DAYS));
+    }
+
+    /**
+     * Change every concrete slot of currentType between startDate and endDate (inclusive) to newType
+     * with one set-based UPDATE. Limited to the given doctors unless doctorIds is null or empty.
+     * The availability index is rebuilt after commit. Returns the number of updated rows.
+     */
+    public int updateAvailabilityType(Collection<Long> doctorIds, LocalDate startDate, LocalDate endDate,
+                                      DoctorAvailability.AvailabilityType currentType,
+                                      DoctorAvailability.AvailabilityType newType) {
+        if (endDate.isBefore(startDate)) {
+            throw new RuntimeException("End date must not be before start date");
+        }
+        int updated = doctorIds == null || doctorIds.isEmpty()
+                ? availabilityRepository.updateAvailabilityTypeBetween(startDate, endDate, currentType, newType)
+                : availabilityRepository.updateAvailabilityTypeBetween(doctorIds, startDate, endDate, currentType, newType);
+        if (updated > 0) {
+            TransactionCallbacks.afterCommit(availabilityIndex::rebuild);
+        }
+        return updated;
+    }
+
+    /**
+     * Find the first free slots of a doctor long enough for durationMinutes.
+     * Starts now when from is null; days and limit are clamped to the index maximums.
+     */
+    @Transactional(readOnly = true)
+    public List<FreeSlot> getFreeSlots(Long doctorId, LocalDateTime from, int days, int durationMinutes, int limit) {
+        validateDuration(durationMinutes);
+        return availabilityIndex.findFreeSlots(doctorId, startOrNow(from), clampDays(days), durationMinutes,
+                CursorPage.clampLimit(limit));
+    }
+
+    /**
+     * Find the earliest free slots long enough for durationMinutes across all active doctors
+     * of a specialization. Starts now when from is null; days and limit are clamped to the index maximums.
+     */
+    @Transactional(readOnly = true)
+    public List<FreeSlot> getFreeSlots(String specialization, LocalDateTime from, int days, int durationMinutes,
+                                       int limit) {
+        validateDuration(durationMinutes);
+        return availabilityIndex.findFreeSlots(specialization, startOrNow(from), clampDays(days), durationMinutes,
+                CursorPage.clampLimit(limit));
+    }
+
+    private static LocalDateTime startOrNow(LocalDateTime from) {
+        return from != null ? from : LocalDateTime.now();
+    }
+
+    private static int clampDays(int days) {
+        return Math.max(1, Math.min(days, AvailabilityIndex.MAX_SEARCH_DAYS));
+    }
+
+    private static void validateDuration(int durationMinutes) {
+        if (durationMinutes < 1 || durationMinutes > AvailabilityIndex.MAX_DURATION_MINUTES) {
+            throw new RuntimeException("Duration must be between 1 and " + AvailabilityIndex.MAX_DURATION_MINUTES + " minutes");
+        }
+    }
+
+    private static void validatePattern(String pattern) {
+        if (Recurrence.parse(pattern) == null) {
+            throw new RuntimeException("Unsupported recurrence pattern: " + pattern);
+        }
+    }
+
+    /**
+     * Parsed recurrence pattern.
+     */
+    private static final class Recurrence {
+        private final String kind;
+        private final Set<DayOfWeek> days;
+
+        private Recurrence(String kind, Set<DayOfWeek> days) {
+            this.kind = kind;
+            this.days = days;
+        }
+
+        /**
+         * Parse a pattern, or return null when it is missing or not supported.
+         */
+        static Recurrence parse(String pattern) {
+            if (pattern == null || pattern.isBlank()) {
+                return null;
+            }
+            String normalized = pattern.trim().toUpperCase(Locale.ROOT);
+            if (normalized.startsWith("WEEKLY:")) {
+                Set<DayOfWeek> days = EnumSet.noneOf(DayOfWeek.class);
+                for (String day : normalized.substring("WEEKLY:".length()).split(",")) {
+                    DayOfWeek dayOfWeek = dayOfWeek(day.trim());
+                    if (dayOfWeek == null) {
+                        return null;
+                    }
+                    days.add(dayOfWeek);
+                }
+                return days.isEmpty() ? null : new Recurrence("WEEKLY", days);
+            }
+            switch (normalized) {
+                case "DAILY":
+                case "WEEKLY":
+                case "BIWEEKLY":
+                case "MONTHLY":
+                    return new Recurrence(normalized, null);
+                case "WEEKDAYS":
+                    return new Recurrence("WEEKLY", EnumSet.range(DayOfWeek.MONDAY, DayOfWeek.FRIDAY));
+                default:
+                    return null;
+            }
+        }
+
+        /**
+         * Whether the series that starts on anchor has an occurrence on date.
+         */
+        boolean occursOn(LocalDate anchor, LocalDate date) {
+            if (date.isBefore(anchor)) {
+                return false;
+            }
+            switch (kind) {
+                case "DAILY":
+                    return true;
+                case "WEEKLY":
+                    return days != null ? days.contains(date.getDayOfWeek()) : date.getDayOfWeek() == anchor.getDayOfWeek();
+                case "BIWEEKLY":
+                    return ChronoUnit.DAYS.between(anchor, date) % 14 == 0;
+                case "MONTHLY":
+                    return date.getDayOfMonth() == anchor.getDayOfMonth();
+                default:
+                    return false;
+            }
+        }
+
+        private static DayOfWeek dayOfWeek(String abbreviation) {
+            for (DayOfWeek dayOfWeek : DayOfWeek.values()) {
+                if (dayOfWeek.name().startsWith(abbreviation) && abbreviation.length() >= 2) {
+                    return dayOfWeek;
+                }
+            }
+            return null;
+        }
+    }
+}
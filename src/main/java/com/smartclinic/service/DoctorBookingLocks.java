@@ -0,0 +1,86 @@
+package com.smartclinic.service;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Striped lock registry for appointment booking, keyed by doctor ID.
+ * Bookings for the same doctor serialize their check-and-reserve step while
+ * bookings for different doctors (on different stripes) run in parallel.
+ */
+@Component
+public class DoctorBookingLocks {
+
+    @Value("${clinic.booking.lock-stripes:256}")
+    private int stripeCount;
+
+    private ReentrantLock[] stripes;
+
+    private int mask;
+
+    @PostConstruct
+    void init() {
+        int size = Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1;
+        stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        mask = size - 1;
+    }
+
+    /**
+     * Get the lock guarding bookings for a doctor.
+     */
+    public Lock lockFor(Long doctorId) {
+        return stripes[stripeIndex(doctorId)];
+    }
+
+    /**
+     * Acquire the locks of several doctors at once.
+     * Stripes are taken in ascending order so concurrent callers cannot deadlock.
+     * The returned handle releases all of them when closed.
+     */
+    public LockHandle lockAll(Collection<Long> doctorIds) {
+        int[] indexes = doctorIds.stream()
+                .mapToInt(this::stripeIndex)
+                .distinct()
+                .sorted()
+                .toArray();
+        int acquired = 0;
+        try {
+            for (int index : indexes) {
+                stripes[index].lock();
+                acquired++;
+            }
+        } catch (RuntimeException e) {
+            unlock(indexes, acquired);
+            throw e;
+        }
+        return () -> unlock(indexes, indexes.length);
+    }
+
+    private void unlock(int[] indexes, int count) {
+        for (int i = count - 1; i >= 0; i--) {
+            stripes[indexes[i]].unlock();
+        }
+    }
+
+    private int stripeIndex(Long doctorId) {
+        int hash = doctorId.hashCode();
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    /**
+     * Handle for a group of held stripe locks.
+     */
+    @FunctionalInterface
+    public interface LockHandle extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
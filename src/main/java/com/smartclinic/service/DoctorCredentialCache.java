@@ -0,0 +1,73 @@
+package com.smartclinic.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Email to credential cache for doctor logins.
+ * Saves the doctor lookup on repeated logins; DoctorService invalidates entries
+ * whenever an email or password hash changes.
+ */
+@Component
+public class DoctorCredentialCache {
+
+    @Value("${security.login.credential-cache.max-entries:10000}")
+    private int maxEntries;
+
+    private final Map<String, Credentials> credentialsByEmail = new ConcurrentHashMap<>();
+
+    /**
+     * Get cached credentials, or null if the email is not cached.
+     */
+    public Credentials get(String email) {
+        return credentialsByEmail.get(email);
+    }
+
+    /**
+     * Cache credentials for an email and return them.
+     * Not stored once the cache is full so it cannot grow without bound.
+     */
+    public Credentials put(String email, Long doctorId, String passwordHash) {
+        Credentials credentials = new Credentials(doctorId, passwordHash);
+        if (credentialsByEmail.size() < maxEntries) {
+            credentialsByEmail.put(email, credentials);
+        }
+        return credentials;
+    }
+
+    /**
+     * Drop an email now and again after the current transaction commits.
+     * The second removal discards entries a concurrent login reloaded before the change was visible.
+     */
+    public void invalidate(String email) {
+        if (email == null) {
+            return;
+        }
+        credentialsByEmail.remove(email);
+        TransactionCallbacks.afterCommit(() -> credentialsByEmail.remove(email));
+    }
+
+    /**
+     * Doctor ID and password hash for one email.
+     */
+    public static final class Credentials {
+        private final Long doctorId;
+        private final String passwordHash;
+
+        Credentials(Long doctorId, String passwordHash) {
+            this.doctorId = doctorId;
+            this.passwordHash = passwordHash;
+        }
+
+        public Long getDoctorId() {
+            return doctorId;
+        }
+
+        public String getPasswordHash() {
+            return passwordHash;
+        }
+    }
+}
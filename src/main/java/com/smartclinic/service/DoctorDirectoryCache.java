@@ -0,0 +1,33 @@
+package com.smartclinic.service;
+
+import com.smartclinic.config.CacheConfig;
+import com.smartclinic.model.Doctor;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Explicit invalidation of the doctor second-level cache regions.
+ * Hibernate already keeps the regions consistent for writes made through the session;
+ * evicting after commit also covers bulk and native updates that bypass it.
+ */
+@Component
+public class DoctorDirectoryCache {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Evict one doctor (when doctorId is not null) and the directory queries once the transaction commits.
+     */
+    public void evict(Long doctorId) {
+        TransactionCallbacks.afterCommit(() -> {
+            if (doctorId != null) {
+                entityManagerFactory.getCache().evict(Doctor.class, doctorId);
+            }
+            entityManagerFactory.unwrap(SessionFactory.class).getCache()
+                    .evictQueryRegion(CacheConfig.DOCTOR_DIRECTORY_REGION);
+        });
+    }
+}
@@ -0,0 +1,278 @@
+package com.smartclinic.service;
+
+import com.smartclinic.dto.DoctorSchedule;
+import com.smartclinic.dto.ScheduleSegment;
+import com.smartclinic.model.Appointment;
+import com.smartclinic.model.DoctorAvailability;
+import com.smartclinic.repository.AppointmentRepository;
+import com.smartclinic.repository.DoctorAvailabilityRepository;
+import com.smartclinic.repository.DoctorRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Builds a doctor's schedule timeline for a date range.
+ * Appointments and availability rows are read with one range query each and merged day by day
+ * into free, busy and blocked segments: an active appointment makes a period busy, an UNAVAILABLE
+ * or BREAK row blocks it, and an AVAILABLE row leaves the rest free. Periods covered by nothing
+ * are left out. Cancelled appointments do not occupy time, as in the availability index.
+ * An availability row ending at 00:00 runs to the end of its day.
+ *
+ * The ETag comes from a COUNT/MAX query per table, so a conditional request can be answered
+ * with 304 before any row is loaded.
+ */
+@Service
+@Transactional(readOnly = true)
+public class DoctorScheduleService {
+
+    /**
+     * Longest range one schedule request may cover.
+     */
+    public static final int MAX_SCHEDULE_DAYS = 31;
+
+    private static final int SECONDS_PER_DAY = 24 * 60 * 60;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private DoctorAvailabilityRepository availabilityRepository;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    /**
+     * Check whether a doctor exists.
+     */
+    public boolean doctorExists(Long doctorId) {
+        return doctorRepository.existsById(doctorId);
+    }
+
+    /**
+     * Get the ETag of a doctor's timeline without building it.
+     * Equal to the ETag of getSchedule for the same arguments while nothing in the range changes.
+     */
+    public String getScheduleEtag(Long doctorId, LocalDate from, LocalDate to) {
+        validateRange(from, to);
+        Object[] appointments = appointmentRepository.findScheduleVersionBetween(doctorId, from, to).get(0);
+        Object[] availability = availabilityRepository.findScheduleVersionBetween(doctorId, from, to).get(0);
+        return etag(doctorId, from, to, ((Number) appointments[0]).longValue(), (LocalDateTime) appointments[1],
+                ((Number) availability[0]).longValue(), (LocalDateTime) availability[1]);
+    }
+
+    /**
+     * Get the timeline of one doctor from one date to another, both inclusive.
+     */
+    public DoctorSchedule getSchedule(Long doctorId, LocalDate from, LocalDate to) {
+        validateRange(from, to);
+        List<Object[]> appointments = appointmentRepository.findScheduleRowsBetween(doctorId, from, to);
+        List<Object[]> availability = availabilityRepository.findScheduleRowsBetween(doctorId, from, to);
+
+        List<ScheduleSegment> segments = new ArrayList<>();
+        int a = 0;
+        int v = 0;
+        while (a < appointments.size() || v < availability.size()) {
+            LocalDate day = earliestDate(appointments, a, availability, v);
+            List<Interval> intervals = new ArrayList<>();
+            for (; a < appointments.size() && day.equals(appointments.get(a)[1]); a++) {
+                Object[] row = appointments.get(a);
+                if (row[4] == Appointment.AppointmentStatus.CANCELLED) {
+                    continue;
+                }
+                int start = ((LocalTime) row[2]).toSecondOfDay();
+                int duration = row[3] != null ? (Integer) row[3] : 0;
+                intervals.add(new Interval(ScheduleSegment.State.BUSY, start,
+                        Math.min(start + duration * 60, SECONDS_PER_DAY), row));
+            }
+            for (; v < availability.size() && day.equals(availability.get(v)[1]); v++) {
+                Object[] row = availability.get(v);
+                ScheduleSegment.State state = row[4] == DoctorAvailability.AvailabilityType.AVAILABLE
+                        ? ScheduleSegment.State.FREE : ScheduleSegment.State.BLOCKED;
+                LocalTime end = (LocalTime) row[3];
+                intervals.add(new Interval(state, ((LocalTime) row[2]).toSecondOfDay(),
+                        end.equals(LocalTime.MIDNIGHT) ? SECONDS_PER_DAY : end.toSecondOfDay(), row));
+            }
+            appendDay(day, intervals, segments);
+        }
+        return new DoctorSchedule(doctorId, from, to, segments, etag(doctorId, from, to,
+                appointments.size(), latestChange(appointments, 7), availability.size(), latestChange(availability, 6)));
+    }
+
+    private static void validateRange(LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new RuntimeException("End date must not be before start date");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_SCHEDULE_DAYS) {
+            throw new RuntimeException("Schedule range must not exceed " + MAX_SCHEDULE_DAYS + " days");
+        }
+    }
+
+    private static LocalDate earliestDate(List<Object[]> appointments, int a, List<Object[]> availability, int v) {
+        if (a >= appointments.size()) {
+            return (LocalDate) availability.get(v)[1];
+        }
+        if (v >= availability.size()) {
+            return (LocalDate) appointments.get(a)[1];
+        }
+        LocalDate appointmentDate = (LocalDate) appointments.get(a)[1];
+        LocalDate availabilityDate = (LocalDate) availability.get(v)[1];
+        return appointmentDate.isBefore(availabilityDate) ? appointmentDate : availabilityDate;
+    }
+
+    /**
+     * Sweep the start and end points of one day's intervals in time order, emitting a segment
+     * whenever the interval that decides the state changes. Busy beats blocked beats free;
+     * among intervals of the same state the one that started first wins.
+     */
+    private static void appendDay(LocalDate day, List<Interval> intervals, List<ScheduleSegment> segments) {
+        List<Boundary> boundaries = new ArrayList<>(intervals.size() * 2);
+        for (Interval interval : intervals) {
+            if (interval.end > interval.start) {
+                boundaries.add(new Boundary(interval.start, true, interval));
+                boundaries.add(new Boundary(interval.end, false, interval));
+            }
+        }
+        // Ends before starts at the same instant, so back-to-back intervals do not overlap
+        boundaries.sort(Comparator.comparingInt((Boundary b) -> b.time).thenComparing(b -> b.start));
+
+        List<List<Interval>> active = List.of(new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+        Interval current = null;
+        int currentStart = 0;
+        int i = 0;
+        while (i < boundaries.size()) {
+            int time = boundaries.get(i).time;
+            for (; i < boundaries.size() && boundaries.get(i).time == time; i++) {
+                Boundary boundary = boundaries.get(i);
+                List<Interval> list = active.get(boundary.interval.state.ordinal());
+                if (boundary.start) {
+                    list.add(boundary.interval);
+                } else {
+                    list.remove(boundary.interval);
+                }
+            }
+            Interval deciding = deciding(active);
+            if (deciding != current) {
+                if (current != null && time > currentStart) {
+                    append(segments, current.toSegment(day, currentStart, time));
+                }
+                current = deciding;
+                currentStart = time;
+            }
+        }
+    }
+
+    private static Interval deciding(List<List<Interval>> active) {
+        for (ScheduleSegment.State state : List.of(ScheduleSegment.State.BUSY, ScheduleSegment.State.BLOCKED,
+                ScheduleSegment.State.FREE)) {
+            List<Interval> intervals = active.get(state.ordinal());
+            if (!intervals.isEmpty()) {
+                return intervals.get(0);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Add a segment, extending the previous one instead when it ends where this one starts
+     * and describes the same thing.
+     */
+    private static void append(List<ScheduleSegment> segments, ScheduleSegment segment) {
+        if (!segments.isEmpty()) {
+            ScheduleSegment last = segments.get(segments.size() - 1);
+            if (last.getEnd().equals(segment.getStart())
+                    && last.getState() == segment.getState()
+                    && Objects.equals(last.getAppointmentId(), segment.getAppointmentId())
+                    && last.getAvailabilityType() == segment.getAvailabilityType()
+                    && Objects.equals(last.getReason(), segment.getReason())) {
+                segments.set(segments.size() - 1, new ScheduleSegment(last.getState(), last.getStart(),
+                        segment.getEnd(), last.getAppointmentId(), last.getPatientId(), last.getAppointmentStatus(),
+                        last.getAppointmentType(), last.getAvailabilityType(), last.getReason()));
+                return;
+            }
+        }
+        segments.add(segment);
+    }
+
+    /**
+     * Entity tag of a schedule: the number of appointment and availability rows in the range and
+     * the latest change among each. Any insert, update or delete in the range changes one of them.
+     */
+    private static String etag(Long doctorId, LocalDate from, LocalDate to,
+                               long appointmentCount, LocalDateTime appointmentsChanged,
+                               long availabilityCount, LocalDateTime availabilityChanged) {
+        String version = doctorId + "|" + from + "|" + to
+                + "|" + appointmentCount + "|" + appointmentsChanged
+                + "|" + availabilityCount + "|" + availabilityChanged;
+        return "\"" + DigestUtils.md5DigestAsHex(version.getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    private static LocalDateTime latestChange(List<Object[]> rows, int column) {
+        LocalDateTime latest = null;
+        for (Object[] row : rows) {
+            LocalDateTime changed = (LocalDateTime) row[column];
+            if (changed != null && (latest == null || changed.isAfter(latest))) {
+                latest = changed;
+            }
+        }
+        return latest;
+    }
+
+    private static final class Interval {
+
+        private final ScheduleSegment.State state;
+
+        private final int start;
+
+        private final int end;
+
+        private final Object[] row;
+
+        private Interval(ScheduleSegment.State state, int start, int end, Object[] row) {
+            this.state = state;
+            this.start = start;
+            this.end = end;
+            this.row = row;
+        }
+
+        private ScheduleSegment toSegment(LocalDate day, int from, int to) {
+            LocalDateTime start = day.atStartOfDay().plusSeconds(from);
+            LocalDateTime end = day.atStartOfDay().plusSeconds(to);
+            if (state == ScheduleSegment.State.BUSY) {
+                return new ScheduleSegment(state, start, end, (Long) row[0], (Long) row[6],
+                        (Appointment.AppointmentStatus) row[4], (String) row[5], null, null);
+            }
+            if (state == ScheduleSegment.State.BLOCKED) {
+                return new ScheduleSegment(state, start, end, null, null, null, null,
+                        (DoctorAvailability.AvailabilityType) row[4], (String) row[5]);
+            }
+            return new ScheduleSegment(state, start, end, null, null, null, null, null, null);
+        }
+    }
+
+    private static final class Boundary {
+
+        private final int time;
+
+        private final boolean start;
+
+        private final Interval interval;
+
+        private Boundary(int time, boolean start, Interval interval) {
+            this.time = time;
+            this.start = start;
+            this.interval = interval;
+        }
+    }
+}
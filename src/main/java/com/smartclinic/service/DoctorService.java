@@ -1,14 +1,26 @@
 package com.smartclinic.service;
 
+import com.smartclinic.dto.CursorPage;
+import com.smartclinic.dto.DoctorSummary;
+import com.smartclinic.model.Appointment;
+import com.smartclinic.model.AppointmentEvent;
 import com.smartclinic.model.Doctor;
 import com.smartclinic.repository.DoctorRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -25,6 +37,33 @@ public class DoctorService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private DashboardStatsService dashboardStats;
+
+    @Autowired
+    private PasswordVerifier passwordVerifier;
+
+    @Autowired
+    private DoctorCredentialCache credentialCache;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private NameSearchIndex nameSearchIndex;
+
+    @Autowired
+    private AvailabilityIndex availabilityIndex;
+
+    @Autowired
+    private DoctorDirectoryCache directoryCache;
+
+    @Autowired
+    private AppointmentEventOutbox eventOutbox;
+
+    @Autowired
+    private AppointmentSlotIndex slotIndex;
+
     /**
      * Create a new doctor.
      * Validates uniqueness and encrypts password before saving.
@@ -43,7 +82,12 @@ public class DoctorService {
         // Encode password
         doctor.setPasswordHash(passwordEncoder.encode(doctor.getPasswordHash()));
         
-        return doctorRepository.save(doctor);
+        Doctor savedDoctor = doctorRepository.save(doctor);
+        dashboardStats.doctorChanged(savedDoctor.isActive(), 1);
+        nameSearchIndex.doctorChanged(savedDoctor);
+        availabilityIndex.doctorChanged(savedDoctor);
+        directoryCache.evict(savedDoctor.getDoctorId());
+        return savedDoctor;
     }
 
     /**
@@ -51,7 +95,8 @@ public class DoctorService {
      * Validates uniqueness for email and phone (excluding current doctor).
      */
     public Doctor updateDoctor(Long id, Doctor doctorDetails) {
-        Doctor doctor = getDoctorById(id);
+        // The updated doctor is returned in full, so load it the way the detail view does
+        Doctor doctor = getDoctorDetail(id);
         
         // Check email uniqueness (excluding current doctor)
         if (!doctor.getEmail().equals(doctorDetails.getEmail()) && 
@@ -65,74 +110,136 @@ public class DoctorService {
             throw new RuntimeException("Phone " + doctorDetails.getPhoneNumber() + " is already in use");
         }
         
+        credentialCache.invalidate(doctor.getEmail());
+
         // Update fields
         doctor.setFirstName(doctorDetails.getFirstName());
         doctor.setLastName(doctorDetails.getLastName());
         doctor.setEmail(doctorDetails.getEmail());
         doctor.setPhoneNumber(doctorDetails.getPhoneNumber());
         doctor.setSpecialization(doctorDetails.getSpecialization());
+
+        boolean wasActive = doctor.isActive();
+        if (doctorDetails.getIsActive() != null) {
+            doctor.setIsActive(doctorDetails.getIsActive());
+        }
         
         // Only update password if provided
         if (doctorDetails.getPasswordHash() != null && !doctorDetails.getPasswordHash().isEmpty()) {
             doctor.setPasswordHash(passwordEncoder.encode(doctorDetails.getPasswordHash()));
         }
         
-        return doctorRepository.save(doctor);
+        Doctor savedDoctor = doctorRepository.save(doctor);
+        nameSearchIndex.doctorChanged(savedDoctor);
+        availabilityIndex.doctorChanged(savedDoctor);
+        dashboardStats.doctorActivated(wasActive, savedDoctor.isActive());
+        directoryCache.evict(savedDoctor.getDoctorId());
+        return savedDoctor;
     }
 
     /**
      * Get doctor by ID.
      * Throws exception if not found.
      */
+    @Transactional(readOnly = true)
     public Doctor getDoctorById(Long id) {
         return doctorRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Doctor not found with id: " + id));
     }
 
+    /**
+     * Get doctor by ID for the detail view.
+     * Appointments and their patients come in one statement and availability slots in a second,
+     * so serializing the doctor issues no further queries.
+     */
+    @Transactional(readOnly = true)
+    public Doctor getDoctorDetail(Long id) {
+        return doctorRepository.findWithAppointmentsByDoctorId(id)
+                .map(this::withAvailabilitySlots)
+                .orElseThrow(() -> new RuntimeException("Doctor not found with id: " + id));
+    }
+
     /**
      * Get doctor by email.
      * Used for authentication and login.
      */
+    @Transactional(readOnly = true)
     public Optional<Doctor> getDoctorByEmail(String email) {
         return doctorRepository.findByEmail(email);
     }
 
+    /**
+     * Get doctor by email for the detail view, loaded like getDoctorDetail.
+     */
+    @Transactional(readOnly = true)
+    public Optional<Doctor> getDoctorDetailByEmail(String email) {
+        return doctorRepository.findWithAppointmentsByEmail(email).map(this::withAvailabilitySlots);
+    }
+
     /**
      * Get all doctors.
      * Used for admin management and public directory.
      */
+    @Transactional(readOnly = true)
     public List<Doctor> getAllDoctors() {
         return doctorRepository.findAll();
     }
 
+    /**
+     * Get one page of doctors ordered by ID.
+     * Keyset pagination for the doctor directory; after is the last ID of the previous page.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<DoctorSummary> getDoctorsPage(Long after, int limit) {
+        int pageSize = CursorPage.clampLimit(limit);
+        List<DoctorSummary> rows = doctorRepository.findSummariesAfter(
+                after != null ? after : 0L, PageRequest.of(0, pageSize + 1));
+        return CursorPage.of(rows, pageSize, doctor -> String.valueOf(doctor.getDoctorId()));
+    }
+
     /**
      * Search doctors by name.
-     * Supports partial name matching for patient search.
+     * Supports partial name matching for patient search; also matches specialization and
+     * office location. Answered from NameSearchIndex, best match first.
      */
-    public List<Doctor> searchDoctorsByName(String name) {
-        return doctorRepository.findByNameContainingIgnoreCase(name);
+    @Transactional(readOnly = true)
+    public List<DoctorSummary> searchDoctorsByName(String name) {
+        return findSummariesInOrder(nameSearchIndex.searchDoctors(name, CursorPage.MAX_LIMIT));
+    }
+
+    /**
+     * Typeahead lookup for the doctor search box.
+     * Returns at most limit doctors, best match first.
+     */
+    @Transactional(readOnly = true)
+    public List<DoctorSummary> typeaheadDoctors(String query, int limit) {
+        return findSummariesInOrder(nameSearchIndex.searchDoctors(query, CursorPage.clampLimit(limit)));
     }
 
     /**
      * Search doctors by specialization.
      * Core functionality for appointment booking.
      */
-    public List<Doctor> searchDoctorsBySpecialization(String specialization) {
-        return doctorRepository.findBySpecializationContainingIgnoreCase(specialization);
+    @Transactional(readOnly = true)
+    public List<DoctorSummary> searchDoctorsBySpecialization(String specialization) {
+        return doctorRepository.findSummariesBySpecialization(specialization);
     }
 
     /**
      * Find available doctors by specialization and time.
-     * Critical for appointment booking system.
+     * Critical for appointment booking system. Answered from AvailabilityIndex, which also
+     * leaves out doctors who are blocked or already booked in that 15-minute slot.
      */
-    public List<Doctor> findAvailableDoctors(String specialization, LocalDateTime dateTime) {
-        return doctorRepository.findAvailableDoctorsBySpecializationAndTime(specialization, dateTime);
+    @Transactional(readOnly = true)
+    public List<DoctorSummary> findAvailableDoctors(String specialization, LocalDateTime dateTime) {
+        return findSummariesInOrder(availabilityIndex.findAvailableDoctors(specialization, dateTime));
     }
 
     /**
      * Get all specializations.
      * Used for filter dropdowns and specialization management.
      */
+    @Transactional(readOnly = true)
     public List<String> getAllSpecializations() {
         return doctorRepository.findAllSpecializations();
     }
@@ -143,38 +250,82 @@ public class DoctorService {
      */
     public void deleteDoctor(Long id) {
         Doctor doctor = getDoctorById(id);
+        // Appointments are removed by cascade, so publish their deletion for the status counters as well
+        // and release them in the conflict index
+        for (Appointment appointment : doctor.getAppointments()) {
+            eventOutbox.publish(AppointmentEvent.EventType.DELETED, appointment, appointment.getStatus());
+            slotIndex.remove(appointment.getAppointmentId());
+        }
         doctorRepository.delete(doctor);
+        credentialCache.invalidate(doctor.getEmail());
+        nameSearchIndex.doctorRemoved(doctor.getDoctorId());
+        availabilityIndex.doctorRemoved(doctor.getDoctorId());
+        directoryCache.evict(doctor.getDoctorId());
+        dashboardStats.doctorChanged(doctor.isActive(), -1);
     }
 
     /**
      * Authenticate doctor login.
-     * Verifies email and password for doctor portal access.
+     * Verifies email and password for doctor portal access. Runs outside a transaction so no
+     * database connection is held while the hash is checked on the PasswordVerifier pool.
+     * Hashes made with a lower BCrypt strength than configured are upgraded on success.
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Optional<Doctor> authenticateDoctor(String email, String password) {
-        Optional<Doctor> doctorOpt = doctorRepository.findByEmail(email);
-        
-        if (doctorOpt.isPresent()) {
-            Doctor doctor = doctorOpt.get();
-            if (passwordEncoder.matches(password, doctor.getPasswordHash())) {
-                return Optional.of(doctor);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "failure";
+        try {
+            DoctorCredentialCache.Credentials credentials = credentialCache.get(email);
+            if (credentials == null) {
+                Optional<Doctor> doctorOpt = doctorRepository.findByEmail(email);
+                if (doctorOpt.isEmpty()) {
+                    return Optional.empty();
+                }
+                Doctor doctor = doctorOpt.get();
+                credentials = credentialCache.put(email, doctor.getDoctorId(), doctor.getPasswordHash());
             }
+
+            if (!passwordVerifier.matches(password, credentials.getPasswordHash())) {
+                return Optional.empty();
+            }
+
+            Optional<Doctor> doctorOpt = doctorRepository.findById(credentials.getDoctorId());
+            doctorOpt.ifPresent(doctor -> {
+                if (passwordEncoder.upgradeEncoding(doctor.getPasswordHash())) {
+                    doctor.setPasswordHash(passwordEncoder.encode(password));
+                    doctorRepository.save(doctor);
+                    credentialCache.invalidate(email);
+                    directoryCache.evict(doctor.getDoctorId());
+                }
+            });
+            outcome = doctorOpt.isPresent() ? "success" : "failure";
+            return doctorOpt;
+        } catch (PasswordVerifier.BusyException e) {
+            outcome = "rejected";
+            throw e;
+        } finally {
+            sample.stop(Timer.builder("clinic.auth.login")
+                    .description("Doctor login latency")
+                    .tag("outcome", outcome)
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .register(meterRegistry));
         }
-        
-        return Optional.empty();
     }
 
     /**
      * Get doctors with upcoming appointments.
      * Used for dashboard and schedule management.
      */
-    public List<Doctor> getDoctorsWithUpcomingAppointments() {
-        return doctorRepository.findDoctorsWithUpcomingAppointments();
+    @Transactional(readOnly = true)
+    public List<DoctorSummary> getDoctorsWithUpcomingAppointments() {
+        return doctorRepository.findSummariesWithUpcomingAppointments();
     }
 
     /**
      * Get doctor statistics.
      * Used for reporting and analytics.
      */
+    @Transactional(readOnly = true)
     public Long getTotalDoctorCount() {
         return doctorRepository.countTotalDoctors();
     }
@@ -183,6 +334,7 @@ public class DoctorService {
      * Get doctor count by specialization.
      * Used for specialization distribution analysis.
      */
+    @Transactional(readOnly = true)
     public List<Object[]> getDoctorCountBySpecialization() {
         return doctorRepository.countDoctorsBySpecialization();
     }
@@ -200,5 +352,34 @@ public class DoctorService {
         
         doctor.setPasswordHash(passwordEncoder.encode(newPassword));
         doctorRepository.save(doctor);
+        credentialCache.invalidate(doctor.getEmail());
+        directoryCache.evict(doctor.getDoctorId());
+    }
+
+    /**
+     * Load doctor summaries by ID in one statement, keeping the order of the given IDs.
+     */
+    private List<DoctorSummary> findSummariesInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, DoctorSummary> byId = new HashMap<>();
+        for (DoctorSummary doctor : doctorRepository.findSummariesByIdIn(ids)) {
+            byId.put(doctor.getDoctorId(), doctor);
+        }
+        List<DoctorSummary> doctors = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            DoctorSummary doctor = byId.get(id);
+            if (doctor != null) {
+                doctors.add(doctor);
+            }
+        }
+        return doctors;
+    }
+
+    private Doctor withAvailabilitySlots(Doctor doctor) {
+        // A second bag cannot join the same fetch as appointments, so it is loaded separately
+        Hibernate.initialize(doctor.getAvailabilitySlots());
+        return doctor;
     }
 }
@@ -0,0 +1,185 @@
+package com.smartclinic.service;
+
+import com.smartclinic.model.Doctor;
+import com.smartclinic.model.Patient;
+import com.smartclinic.repository.DoctorRepository;
+import com.smartclinic.repository.PatientRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * In-memory trigram search over doctor and patient names.
+ * Doctors are searchable by full name, specialization and office location, patients by full name
+ * and, in a separate index, by email and phone number. Warmed at startup and kept in sync after commit by DoctorService and PatientService;
+ * returns ranked IDs without touching the database.
+ */
+@Component
+public class NameSearchIndex {
+
+    /**
+     * Result limit used by typeahead when the client does not ask for one.
+     */
+    public static final int DEFAULT_TYPEAHEAD_LIMIT = 10;
+
+    private static final int WARM_UP_BATCH_SIZE = 10000;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    private final TrigramIndex doctors = new TrigramIndex();
+
+    private final TrigramIndex patients = new TrigramIndex();
+
+    private final TrigramIndex patientContacts = new TrigramIndex();
+
+    private volatile boolean warmed;
+
+    /**
+     * Load all doctors and patients once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        ensureWarm();
+    }
+
+    /**
+     * Find up to limit doctor IDs matching the query, best match first.
+     */
+    public List<Long> searchDoctors(String query, int limit) {
+        ensureWarm();
+        return doctors.search(query, limit);
+    }
+
+    /**
+     * Find up to limit patient IDs matching the query, best match first.
+     */
+    public List<Long> searchPatients(String query, int limit) {
+        ensureWarm();
+        return patients.search(query, limit);
+    }
+
+    /**
+     * Find up to limit patient IDs whose email or phone number matches the query, best match first.
+     */
+    public List<Long> searchPatientContacts(String query, int limit) {
+        ensureWarm();
+        return patientContacts.search(query, limit);
+    }
+
+    /**
+     * Index the current fields of a doctor once the surrounding transaction commits.
+     */
+    public void doctorChanged(Doctor doctor) {
+        Long doctorId = doctor.getDoctorId();
+        String text = doctorText(doctor.getFirstName(), doctor.getLastName(),
+                doctor.getSpecialization(), doctor.getOfficeLocation());
+        TransactionCallbacks.afterCommit(() -> doctors.put(doctorId, text));
+    }
+
+    /**
+     * Drop a doctor once the surrounding transaction commits.
+     */
+    public void doctorRemoved(Long doctorId) {
+        TransactionCallbacks.afterCommit(() -> doctors.remove(doctorId));
+    }
+
+    /**
+     * Index the current name and contact details of a patient once the surrounding transaction commits.
+     */
+    public void patientChanged(Patient patient) {
+        Long patientId = patient.getPatientId();
+        String text = patientText(patient.getFirstName(), patient.getLastName());
+        String contacts = join(patient.getEmail(), patient.getPhoneNumber());
+        TransactionCallbacks.afterCommit(() -> {
+            patients.put(patientId, text);
+            patientContacts.put(patientId, contacts);
+        });
+    }
+
+    /**
+     * Drop a patient once the surrounding transaction commits.
+     */
+    public void patientRemoved(Long patientId) {
+        TransactionCallbacks.afterCommit(() -> {
+            patients.remove(patientId);
+            patientContacts.remove(patientId);
+        });
+    }
+
+    /**
+     * Discard all indexes and reload them from the database.
+     * Patients are read in keyset batches so the whole table is never held in memory as entities.
+     */
+    public synchronized void rebuild() {
+        doctors.clear();
+        for (Object[] row : doctorRepository.findSearchFields()) {
+            doctors.put((Long) row[0], doctorText((String) row[1], (String) row[2], (String) row[3], (String) row[4]));
+        }
+
+        patients.clear();
+        patientContacts.clear();
+        long after = 0L;
+        List<Object[]> rows;
+        do {
+            rows = patientRepository.findSearchFieldsAfter(after, PageRequest.of(0, WARM_UP_BATCH_SIZE));
+            for (Object[] row : rows) {
+                after = (Long) row[0];
+                patients.put(after, patientText((String) row[1], (String) row[2]));
+                patientContacts.put(after, join((String) row[3], (String) row[4]));
+            }
+        } while (rows.size() == WARM_UP_BATCH_SIZE);
+        warmed = true;
+    }
+
+    /**
+     * Number of indexed doctors.
+     * Used for diagnostics and reconciliation.
+     */
+    public int doctorCount() {
+        return doctors.size();
+    }
+
+    /**
+     * Number of indexed patients.
+     * Used for diagnostics and reconciliation.
+     */
+    public int patientCount() {
+        return patients.size();
+    }
+
+    private void ensureWarm() {
+        if (!warmed) {
+            synchronized (this) {
+                if (!warmed) {
+                    rebuild();
+                }
+            }
+        }
+    }
+
+    private static String doctorText(String firstName, String lastName, String specialization, String officeLocation) {
+        return join(firstName, lastName, specialization, officeLocation);
+    }
+
+    private static String patientText(String firstName, String lastName) {
+        return join(firstName, lastName);
+    }
+
+    private static String join(String... fields) {
+        StringBuilder text = new StringBuilder();
+        for (String field : fields) {
+            if (field != null && !field.isBlank()) {
+                text.append(' ').append(field);
+            }
+        }
+        return text.toString();
+    }
+}
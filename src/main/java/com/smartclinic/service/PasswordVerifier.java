@@ -0,0 +1,114 @@
+package com.smartclinic.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs password hash verification on a dedicated bounded executor.
+ * Keeps login storms from occupying every request thread with BCrypt work;
+ * once the queue is full further logins are rejected with BusyException instead of piling up.
+ */
+@Component
+public class PasswordVerifier {
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${security.login.verifier-threads:0}")
+    private int threads;
+
+    @Value("${security.login.verifier-queue:64}")
+    private int queueCapacity;
+
+    @Value("${security.login.verify-timeout-ms:5000}")
+    private long timeoutMillis;
+
+    private ThreadPoolExecutor executor;
+
+    /**
+     * Create the verification pool.
+     * Defaults to one thread per available processor since the work is CPU bound.
+     */
+    @PostConstruct
+    public void init() {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-verifier-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder("clinic.auth.verifier.queued", this, PasswordVerifier::getQueuedCount)
+                .description("Password verifications waiting for a thread")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Check a raw password against a stored hash on the verification pool.
+     * Throws BusyException when the pool is saturated or the check does not finish in time.
+     */
+    public boolean matches(String rawPassword, String passwordHash) {
+        Future<Boolean> result;
+        try {
+            result = executor.submit(() -> passwordEncoder.matches(rawPassword, passwordHash));
+        } catch (RejectedExecutionException e) {
+            throw new BusyException();
+        }
+
+        try {
+            return result.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            result.cancel(true);
+            throw new BusyException();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Password verification interrupted");
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Password verification failed", e.getCause());
+        }
+    }
+
+    /**
+     * Number of verifications waiting for a thread.
+     * Exposed as the clinic.auth.verifier.queued gauge.
+     */
+    public int getQueuedCount() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * Signals that a login was shed because verification capacity is exhausted.
+     */
+    public static class BusyException extends RuntimeException {
+        public BusyException() {
+            super("Too many login attempts in progress, please retry shortly");
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.smartclinic.service;
+
+import com.smartclinic.dto.CursorPage;
+import com.smartclinic.dto.PatientSummary;
+import com.smartclinic.model.Appointment;
+import com.smartclinic.model.AppointmentEvent;
+import com.smartclinic.model.Patient;
+import com.smartclinic.repository.PatientRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Service class for Patient entity operations.
+ * Contains business logic for patient registration, profile management, and lookup.
+ */
+@Service
+@Transactional
+public class PatientService {
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private DashboardStatsService dashboardStats;
+
+    @Autowired
+    private NameSearchIndex nameSearchIndex;
+
+    @Autowired
+    private AppointmentEventOutbox eventOutbox;
+
+    @Autowired
+    private AppointmentSlotIndex slotIndex;
+
+    /**
+     * Register a new patient.
+     * Validates email uniqueness and encrypts password before saving.
+     */
+    public Patient createPatient(Patient patient) {
+        if (patientRepository.findByEmail(patient.getEmail()).isPresent()) {
+            throw new RuntimeException("Patient with email " + patient.getEmail() + " already exists");
+        }
+
+        patient.setPasswordHash(passwordEncoder.encode(patient.getPasswordHash()));
+
+        Patient savedPatient = patientRepository.save(patient);
+        dashboardStats.patientChanged(savedPatient.isActive(), 1);
+        nameSearchIndex.patientChanged(savedPatient);
+        return savedPatient;
+    }
+
+    /**
+     * Update an existing patient.
+     * Updates profile and medical fields; the password is only changed when provided.
+     */
+    public Patient updatePatient(Long id, Patient patientDetails) {
+        // The updated patient is returned in full, so load it the way the detail view does
+        Patient patient = getPatientDetail(id);
+
+        if (!patient.getEmail().equals(patientDetails.getEmail()) &&
+            patientRepository.findByEmail(patientDetails.getEmail()).isPresent()) {
+            throw new RuntimeException("Email " + patientDetails.getEmail() + " is already in use");
+        }
+
+        patient.setFirstName(patientDetails.getFirstName());
+        patient.setLastName(patientDetails.getLastName());
+        patient.setEmail(patientDetails.getEmail());
+        patient.setPhoneNumber(patientDetails.getPhoneNumber());
+        patient.setDateOfBirth(patientDetails.getDateOfBirth());
+        patient.setGender(patientDetails.getGender());
+        patient.setAddress(patientDetails.getAddress());
+        patient.setEmergencyContactName(patientDetails.getEmergencyContactName());
+        patient.setEmergencyContactPhone(patientDetails.getEmergencyContactPhone());
+        patient.setBloodType(patientDetails.getBloodType());
+        patient.setAllergies(patientDetails.getAllergies());
+        patient.setMedicalHistory(patientDetails.getMedicalHistory());
+
+        boolean wasActive = patient.isActive();
+        if (patientDetails.getIsActive() != null) {
+            patient.setIsActive(patientDetails.getIsActive());
+        }
+
+        if (patientDetails.getPasswordHash() != null && !patientDetails.getPasswordHash().isEmpty()) {
+            patient.setPasswordHash(passwordEncoder.encode(patientDetails.getPasswordHash()));
+        }
+
+        Patient savedPatient = patientRepository.save(patient);
+        nameSearchIndex.patientChanged(savedPatient);
+        dashboardStats.patientActivated(wasActive, savedPatient.isActive());
+        return savedPatient;
+    }
+
+    /**
+     * Get patient by ID.
+     * Throws exception if not found.
+     */
+    @Transactional(readOnly = true)
+    public Patient getPatientById(Long id) {
+        return patientRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Patient not found with id: " + id));
+    }
+
+    /**
+     * Get patient by ID for the detail view.
+     * Appointments and their doctors come in the same statement, so serializing the patient
+     * issues no further queries.
+     */
+    @Transactional(readOnly = true)
+    public Patient getPatientDetail(Long id) {
+        return patientRepository.findWithAppointmentsByPatientId(id)
+                .orElseThrow(() -> new RuntimeException("Patient not found with id: " + id));
+    }
+
+    /**
+     * Get one page of patients ordered by ID.
+     * Keyset pagination for patient listings; after is the last ID of the previous page.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<PatientSummary> getPatientsPage(Long after, int limit) {
+        int pageSize = CursorPage.clampLimit(limit);
+        List<PatientSummary> rows = patientRepository.findSummariesAfter(
+                after != null ? after : 0L, PageRequest.of(0, pageSize + 1));
+        return CursorPage.of(rows, pageSize, patient -> String.valueOf(patient.getPatientId()));
+    }
+
+    /**
+     * Search patients by name.
+     * Supports partial name matching for patient lookup; answered from NameSearchIndex, best match first.
+     */
+    @Transactional(readOnly = true)
+    public List<PatientSummary> searchPatientsByName(String name) {
+        return findSummariesInOrder(nameSearchIndex.searchPatients(name, CursorPage.MAX_LIMIT));
+    }
+
+    /**
+     * Search patients by name, email or phone number.
+     * Name matches come first, best match first, followed by email and phone matches; at most
+     * CursorPage.MAX_LIMIT patients in total. Both come from NameSearchIndex, so no table is scanned.
+     */
+    @Transactional(readOnly = true)
+    public List<PatientSummary> searchPatients(String query) {
+        Set<Long> matches = new LinkedHashSet<>(nameSearchIndex.searchPatients(query, CursorPage.MAX_LIMIT));
+        matches.addAll(nameSearchIndex.searchPatientContacts(query, CursorPage.MAX_LIMIT));
+        return findSummariesInOrder(matches.stream().limit(CursorPage.MAX_LIMIT).toList());
+    }
+
+    /**
+     * Typeahead lookup for the patient search box.
+     * Returns at most limit patients, best match first.
+     */
+    @Transactional(readOnly = true)
+    public List<PatientSummary> typeaheadPatients(String query, int limit) {
+        return findSummariesInOrder(nameSearchIndex.searchPatients(query, CursorPage.clampLimit(limit)));
+    }
+
+    /**
+     * Delete patient by ID.
+     * Admin functionality for patient management.
+     */
+    public void deletePatient(Long id) {
+        Patient patient = getPatientById(id);
+        // Appointments are removed by cascade, so publish their deletion for the counters and free slots
+        // and release them in the conflict index
+        for (Appointment appointment : patient.getAppointments()) {
+            eventOutbox.publish(AppointmentEvent.EventType.DELETED, appointment, appointment.getStatus());
+            slotIndex.remove(appointment.getAppointmentId());
+        }
+        patientRepository.delete(patient);
+        dashboardStats.patientChanged(patient.isActive(), -1);
+        nameSearchIndex.patientRemoved(patient.getPatientId());
+    }
+
+    /**
+     * Load patient summaries by ID in one statement, keeping the order of the given IDs.
+     */
+    private List<PatientSummary> findSummariesInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, PatientSummary> byId = new HashMap<>();
+        for (PatientSummary patient : patientRepository.findSummariesByIdIn(ids)) {
+            byId.put(patient.getPatientId(), patient);
+        }
+        List<PatientSummary> patients = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            PatientSummary patient = byId.get(id);
+            if (patient != null) {
+                patients.add(patient);
+            }
+        }
+        return patients;
+    }
+}
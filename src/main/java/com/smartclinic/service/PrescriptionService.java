@@ -0,0 +1,184 @@
+package com.smartclinic.service;
+
+import com.smartclinic.dto.CursorPage;
+import com.smartclinic.model.Prescription;
+import com.smartclinic.repository.PrescriptionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Service class for Prescription operations, enabled by the mongo profile.
+ * Everything is reactive: results are Flux or Mono backed by the reactive MongoDB driver, and
+ * every listing carries a server-side limit so a single request cannot read the whole collection.
+ * Not @Transactional: the only transaction manager here is the JPA one, which cannot manage
+ * reactive MongoDB calls; each operation is a single-document write or a read.
+ */
+@Service
+@Profile("mongo")
+public class PrescriptionService {
+
+    /**
+     * Largest number of documents one export stream may return.
+     */
+    public static final int MAX_STREAM_LIMIT = 10000;
+
+    private static final Sort BY_PATIENT_NAME = Sort.by("patientInfo.name", "id");
+
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "id");
+
+    @Autowired
+    private PrescriptionRepository prescriptionRepository;
+
+    /**
+     * Create a prescription, refusing a second one for the same appointment.
+     */
+    public Mono<Prescription> createPrescription(Prescription prescription) {
+        if (prescription.getAppointmentId() == null) {
+            return prescriptionRepository.save(prescription);
+        }
+        return prescriptionRepository.existsByAppointmentId(prescription.getAppointmentId())
+                .flatMap(exists -> exists
+                        ? Mono.<Prescription>error(new RuntimeException("Prescription already exists for this appointment"))
+                        : prescriptionRepository.save(prescription));
+    }
+
+    /**
+     * Get a prescription by ID; empty when it does not exist.
+     */
+    public Mono<Prescription> getPrescriptionById(String id) {
+        return prescriptionRepository.findById(id);
+    }
+
+    /**
+     * Update a prescription; empty when it does not exist.
+     */
+    public Mono<Prescription> updatePrescription(String id, Prescription details) {
+        return prescriptionRepository.findById(id)
+                .flatMap(prescription -> {
+                    prescription.setAppointmentId(details.getAppointmentId());
+                    prescription.setPatientId(details.getPatientId());
+                    prescription.setDoctorId(details.getDoctorId());
+                    prescription.setPrescriptionDate(details.getPrescriptionDate());
+                    if (details.getPatientInfo() != null) {
+                        prescription.setPatientInfo(details.getPatientInfo());
+                    }
+                    if (details.getDoctorInfo() != null) {
+                        prescription.setDoctorInfo(details.getDoctorInfo());
+                    }
+                    if (details.getMedications() != null) {
+                        prescription.setMedications(details.getMedications());
+                    }
+                    return prescriptionRepository.save(prescription);
+                });
+    }
+
+    /**
+     * Delete a prescription; emits false when it does not exist.
+     */
+    public Mono<Boolean> deletePrescription(String id) {
+        return prescriptionRepository.findById(id)
+                .flatMap(prescription -> prescriptionRepository.delete(prescription).thenReturn(true))
+                .defaultIfEmpty(false);
+    }
+
+    /**
+     * List prescriptions ordered by patient name.
+     */
+    public Flux<Prescription> getAllPrescriptions(int limit) {
+        return prescriptionRepository.findAllBy(page(limit, BY_PATIENT_NAME));
+    }
+
+    /**
+     * List the newest prescriptions first.
+     */
+    public Flux<Prescription> getRecentPrescriptions(int limit) {
+        return prescriptionRepository.findAllBy(page(limit, NEWEST_FIRST));
+    }
+
+    /**
+     * Stream prescriptions newest first, of one patient when patientId is given.
+     * The limit is clamped to MAX_STREAM_LIMIT rather than the page maximum.
+     */
+    public Flux<Prescription> streamPrescriptions(Long patientId, int limit) {
+        Pageable pageable = PageRequest.of(0, Math.max(1, Math.min(limit, MAX_STREAM_LIMIT)), NEWEST_FIRST);
+        return patientId != null
+                ? prescriptionRepository.findByPatientId(patientId, pageable)
+                : prescriptionRepository.findAllBy(pageable);
+    }
+
+    /**
+     * Search prescriptions by patient name (case-insensitive, contains).
+     */
+    public Flux<Prescription> searchByPatientName(String patientName, int limit) {
+        return prescriptionRepository.findByPatientNameMatching(Pattern.quote(patientName), page(limit, BY_PATIENT_NAME));
+    }
+
+    /**
+     * Get the prescription of an appointment; empty when there is none.
+     */
+    public Mono<Prescription> getPrescriptionByAppointmentId(Long appointmentId) {
+        return prescriptionRepository.findFirstByAppointmentId(appointmentId);
+    }
+
+    /**
+     * Search prescriptions by medication name (case-insensitive, contains).
+     */
+    public Flux<Prescription> searchByMedication(String medication, int limit) {
+        return prescriptionRepository.findByMedicationMatching(Pattern.quote(medication), page(limit, NEWEST_FIRST));
+    }
+
+    /**
+     * Find prescriptions with a medication of the given dosage.
+     */
+    public Flux<Prescription> getByDosage(String dosage, int limit) {
+        return prescriptionRepository.findByMedicationsDosage(dosage, page(limit, NEWEST_FIRST));
+    }
+
+    /**
+     * Search prescriptions by additional instructions (case-insensitive, contains).
+     */
+    public Flux<Prescription> searchByInstructions(String text, int limit) {
+        return prescriptionRepository.findByInstructionsMatching(Pattern.quote(text), page(limit, NEWEST_FIRST));
+    }
+
+    /**
+     * Get the prescriptions of several appointments, at most CursorPage.MAX_LIMIT IDs at a time.
+     */
+    public Flux<Prescription> getByAppointmentIds(Collection<Long> appointmentIds) {
+        if (appointmentIds.size() > CursorPage.MAX_LIMIT) {
+            return Flux.error(new RuntimeException("At most " + CursorPage.MAX_LIMIT + " appointment IDs per request"));
+        }
+        return prescriptionRepository.findByAppointmentIdIn(appointmentIds);
+    }
+
+    /**
+     * Check whether an appointment has a prescription.
+     */
+    public Mono<Boolean> existsForAppointment(Long appointmentId) {
+        return prescriptionRepository.existsByAppointmentId(appointmentId);
+    }
+
+    /**
+     * Count prescriptions and prescribed medications.
+     */
+    public Mono<Map<String, Object>> getStatistics() {
+        return Mono.zip(prescriptionRepository.count(), prescriptionRepository.countMedications().defaultIfEmpty(0L))
+                .map(counts -> Map.<String, Object>of(
+                        "totalPrescriptions", counts.getT1(),
+                        "totalMedications", counts.getT2()));
+    }
+
+    private static Pageable page(int limit, Sort sort) {
+        return PageRequest.of(0, CursorPage.clampLimit(limit), sort);
+    }
+}
@@ -0,0 +1,211 @@
+package com.smartclinic.service;
+
+import com.smartclinic.dto.SlowQuery;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the most recent statements that ran over clinic.sql.slow-query.threshold-ms.
+ * The JDBC layer only times statements and hands slow ones over; rendering parameters,
+ * running EXPLAIN and logging happen on a single background thread. When that thread
+ * falls behind, further slow statements are counted as dropped rather than queued.
+ */
+@Component
+public class SlowQueryLog {
+
+    private static final Logger log = LoggerFactory.getLogger(SlowQueryLog.class);
+
+    private static final int MAX_PARAMETER_LENGTH = 200;
+
+    @Value("${clinic.sql.slow-query.threshold-ms:200}")
+    private long thresholdMillis;
+
+    @Value("${clinic.sql.slow-query.sample-rate:1.0}")
+    private double sampleRate;
+
+    @Value("${clinic.sql.slow-query.buffer-size:200}")
+    private int bufferSize;
+
+    @Value("${clinic.sql.slow-query.queue-size:100}")
+    private int queueSize;
+
+    @Value("${clinic.sql.slow-query.explain:true}")
+    private boolean explain;
+
+    private long thresholdNanos;
+
+    private ThreadPoolExecutor executor;
+
+    // Ring buffer of the last bufferSize entries; next is the slot written next
+    private SlowQuery[] buffer;
+
+    private int next;
+
+    private long recorded;
+
+    private final AtomicLong dropped = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMillis);
+        buffer = new SlowQuery[Math.max(1, bufferSize)];
+        executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueSize)),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "slow-query-log");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                (runnable, pool) -> dropped.incrementAndGet());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Whether a statement that took elapsedNanos should be recorded.
+     * Called on the executing thread for every statement, so it only compares and samples.
+     */
+    public boolean isSlow(long elapsedNanos) {
+        return elapsedNanos >= thresholdNanos
+                && (sampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < sampleRate);
+    }
+
+    /**
+     * Record a slow statement asynchronously.
+     * parameters are the bind values by position (index 0 is parameter 1); planSource is used
+     * to run EXPLAIN and should bypass any statement timing wrapper.
+     */
+    public void record(String sql, Object[] parameters, long elapsedNanos, String caller, DataSource planSource) {
+        LocalDateTime executedAt = LocalDateTime.now();
+        executor.execute(() -> {
+            String plan = explain && planSource != null ? explain(sql, parameters, planSource) : null;
+            SlowQuery query = new SlowQuery(executedAt, elapsedNanos / 1_000_000.0, caller, sql,
+                    render(parameters), plan);
+            log.warn("Slow query {} ms from {}: {} {}", String.format(Locale.ROOT, "%.1f", query.getElapsedMillis()),
+                    caller, sql, query.getParameters());
+            synchronized (this) {
+                buffer[next] = query;
+                next = (next + 1) % buffer.length;
+                recorded++;
+            }
+        });
+    }
+
+    /**
+     * Get up to limit recorded statements, most recent first.
+     */
+    public synchronized List<SlowQuery> getRecent(int limit) {
+        List<SlowQuery> result = new ArrayList<>();
+        for (int i = 1; i <= buffer.length && result.size() < limit; i++) {
+            SlowQuery query = buffer[(next - i + buffer.length) % buffer.length];
+            if (query == null) {
+                break;
+            }
+            result.add(query);
+        }
+        return result;
+    }
+
+    public synchronized long getRecordedCount() {
+        return recorded;
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    public long getThresholdMillis() {
+        return thresholdMillis;
+    }
+
+    public synchronized void clear() {
+        Arrays.fill(buffer, null);
+        next = 0;
+    }
+
+    /**
+     * Run EXPLAIN for a query with the same bind values.
+     * Only SELECT statements are explained; returns null for others and the error text on failure.
+     */
+    private static String explain(String sql, Object[] parameters, DataSource dataSource) {
+        String statement = sql.stripLeading().toLowerCase(Locale.ROOT);
+        if (!statement.startsWith("select") && !statement.startsWith("with")) {
+            return null;
+        }
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement explain = connection.prepareStatement("EXPLAIN " + sql)) {
+            explain.setQueryTimeout(5);
+            for (int i = 0; parameters != null && i < parameters.length; i++) {
+                if (parameters[i] == null) {
+                    explain.setNull(i + 1, Types.NULL);
+                } else {
+                    explain.setObject(i + 1, parameters[i]);
+                }
+            }
+            StringBuilder plan = new StringBuilder();
+            try (ResultSet rows = explain.executeQuery()) {
+                ResultSetMetaData metaData = rows.getMetaData();
+                int columns = metaData.getColumnCount();
+                if (columns > 1) {
+                    for (int c = 1; c <= columns; c++) {
+                        plan.append(c > 1 ? "\t" : "").append(metaData.getColumnLabel(c));
+                    }
+                    plan.append('\n');
+                }
+                while (rows.next()) {
+                    for (int c = 1; c <= columns; c++) {
+                        plan.append(c > 1 ? "\t" : "").append(rows.getString(c));
+                    }
+                    plan.append('\n');
+                }
+            }
+            return plan.toString().strip();
+        } catch (SQLException | RuntimeException e) {
+            return "EXPLAIN failed: " + e.getMessage();
+        }
+    }
+
+    private static List<String> render(Object[] parameters) {
+        List<String> rendered = new ArrayList<>();
+        if (parameters == null) {
+            return rendered;
+        }
+        for (Object parameter : parameters) {
+            String value;
+            if (parameter == null) {
+                value = "null";
+            } else if (parameter instanceof byte[] bytes) {
+                value = "<" + bytes.length + " bytes>";
+            } else {
+                value = String.valueOf(parameter);
+            }
+            rendered.add(value.length() > MAX_PARAMETER_LENGTH ? value.substring(0, MAX_PARAMETER_LENGTH) + "..." : value);
+        }
+        return rendered;
+    }
+}
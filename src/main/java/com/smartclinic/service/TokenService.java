@@ -2,13 +2,24 @@ package com.smartclinic.service;
 
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 /**
@@ -25,8 +36,85 @@ public class TokenService {
     @Value("${jwt.expiration:86400000}") // 24 hours in milliseconds
     private Long expiration;
 
+    @Value("${jwt.claims-cache.max-entries:10000}")
+    private int claimsCacheMaxEntries;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Timer verifyValid;
+
+    private Timer verifyInvalid;
+
+    private Timer sign;
+
+    private Counter claimsCacheHits;
+
+    private Counter claimsCacheMisses;
+
+    private volatile SecretKey signingKey;
+
+    private volatile JwtParser parser;
+
+    private final Map<String, CachedClaims> claimsCache = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        verifyValid = verifyTimer("valid");
+        verifyInvalid = verifyTimer("invalid");
+        sign = Timer.builder("clinic.jwt.sign")
+                .description("JWT signing latency")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        claimsCacheHits = claimsCacheCounter("hit");
+        claimsCacheMisses = claimsCacheCounter("miss");
+    }
+
+    private Timer verifyTimer(String outcome) {
+        return Timer.builder("clinic.jwt.verify")
+                .description("JWT parse and signature verification latency")
+                .tag("outcome", outcome)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+
+    private Counter claimsCacheCounter(String result) {
+        return Counter.builder("clinic.jwt.claims.cache")
+                .description("Verified-claims cache lookups")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Get the HMAC key, building it on first use.
+     * Built lazily so that a missing or weak secret only fails token operations, not startup.
+     */
     private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+        SecretKey key = signingKey;
+        if (key == null) {
+            synchronized (this) {
+                if (signingKey == null) {
+                    signingKey = Keys.hmacShaKeyFor(secret.getBytes());
+                }
+                key = signingKey;
+            }
+        }
+        return key;
+    }
+
+    private JwtParser getParser() {
+        JwtParser jwtParser = parser;
+        if (jwtParser == null) {
+            synchronized (this) {
+                if (parser == null) {
+                    parser = Jwts.parserBuilder()
+                            .setSigningKey(getSigningKey())
+                            .build();
+                }
+                jwtParser = parser;
+            }
+        }
+        return jwtParser;
     }
 
     /**
@@ -56,14 +144,66 @@ public class TokenService {
 
     /**
      * Extract all claims from JWT token.
-     * Used internally for claim extraction.
+     * Verified claims are cached by token digest until the token expires,
+     * so repeated calls for the same token verify the signature only once.
      */
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        if (claimsCacheMaxEntries <= 0 || token == null) {
+            return parseClaims(token);
+        }
+        String key = digest(token);
+        long now = System.currentTimeMillis();
+        CachedClaims cached = claimsCache.get(key);
+        if (cached != null) {
+            if (cached.expiresAt > now) {
+                claimsCacheHits.increment();
+                return cached.claims;
+            }
+            claimsCache.remove(key, cached);
+        }
+
+        claimsCacheMisses.increment();
+        Claims claims = parseClaims(token);
+        Date tokenExpiration = claims.getExpiration();
+        if (tokenExpiration != null && reserveCacheSlot(now)) {
+            claimsCache.put(key, new CachedClaims(claims, tokenExpiration.getTime()));
+        }
+        return claims;
+    }
+
+    private Claims parseClaims(String token) {
+        long start = System.nanoTime();
+        Timer timer = verifyInvalid;
+        try {
+            Claims claims = getParser()
+                    .parseClaimsJws(token)
+                    .getBody();
+            timer = verifyValid;
+            return claims;
+        } finally {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Make room for one more cache entry by dropping expired ones.
+     * Returns false when the cache is still full, in which case the claims are not cached.
+     */
+    private boolean reserveCacheSlot(long now) {
+        if (claimsCache.size() < claimsCacheMaxEntries) {
+            return true;
+        }
+        claimsCache.values().removeIf(entry -> entry.expiresAt <= now);
+        return claimsCache.size() < claimsCacheMaxEntries;
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 
     /**
@@ -90,13 +230,13 @@ public class TokenService {
      * Internal method for token creation.
      */
     private String createToken(Map<String, Object> claims, String subject) {
-        return Jwts.builder()
+        return sign.record(() -> Jwts.builder()
                 .setClaims(claims)
                 .setSubject(subject)
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + expiration))
                 .signWith(getSigningKey(), SignatureAlgorithm.HS256)
-                .compact();
+                .compact());
     }
 
     /**
@@ -105,8 +245,8 @@ public class TokenService {
      */
     public Boolean validateToken(String token, String username) {
         try {
-            final String extractedUsername = extractUsername(token);
-            return (extractedUsername.equals(username) && !isTokenExpired(token));
+            final Claims claims = extractAllClaims(token);
+            return (claims.getSubject().equals(username) && !claims.getExpiration().before(new Date()));
         } catch (JwtException | IllegalArgumentException e) {
             return false;
         }
@@ -195,4 +335,17 @@ public class TokenService {
     public String generatePatientToken(String email, Long patientId) {
         return generateToken(email, "PATIENT", patientId);
     }
+
+    /**
+     * Verified claims of one token and the instant the cache entry stops being valid.
+     */
+    private static final class CachedClaims {
+        private final Claims claims;
+        private final long expiresAt;
+
+        CachedClaims(Claims claims, long expiresAt) {
+            this.claims = claims;
+            this.expiresAt = expiresAt;
+        }
+    }
 }
@@ -0,0 +1,108 @@
+package com.smartclinic.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.locks.Lock;
+
+/**
+ * Helpers for deferring in-memory side effects until the surrounding transaction completes.
+ * Keeps caches and indexes from observing writes that are later rolled back.
+ */
+final class TransactionCallbacks {
+
+    private TransactionCallbacks() {
+    }
+
+    /**
+     * Run the action after the current transaction commits.
+     * Runs immediately when no transaction synchronization is active.
+     */
+    static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * Run the action after the current transaction commits, holding the lock from just before the
+     * commit until the transaction completes.
+     * Whoever takes the lock exclusively sees either both the committed rows and the action's effect or
+     * neither. Runs immediately under the lock when no transaction synchronization is active.
+     */
+    static void afterCommitHolding(Lock lock, Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            lock.lock();
+            try {
+                action.run();
+            } finally {
+                lock.unlock();
+            }
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private boolean locked;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                lock.lock();
+                locked = true;
+            }
+
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (locked) {
+                    locked = false;
+                    lock.unlock();
+                }
+            }
+        });
+    }
+
+    /**
+     * Run the action once the current transaction has committed or rolled back.
+     * Runs immediately when no transaction synchronization is active.
+     */
+    static void afterCompletion(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * Run the action if the current transaction rolls back.
+     * Does nothing when no transaction synchronization is active.
+     */
+    static void afterRollback(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    action.run();
+                }
+            }
+        });
+    }
+}
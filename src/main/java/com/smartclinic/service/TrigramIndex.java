@@ -0,0 +1,310 @@
+package com.smartclinic.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory trigram index mapping IDs to searchable text.
+ * Each text is lower-cased, padded with a leading space per word and split into trigrams;
+ * every trigram keeps a sorted array of the IDs containing it. A query intersects the
+ * posting lists of its own trigrams and then verifies and ranks the survivors, so the cost
+ * depends on the rarest trigram of the query rather than on the number of entries.
+ * Query words of up to two characters only match the start of a word.
+ */
+final class TrigramIndex {
+
+    /**
+     * Shortest query that is looked up, and the longest word matched only as a prefix.
+     */
+    static final int MIN_QUERY_LENGTH = 2;
+
+    private final Map<Long, Postings> postingsByTrigram = new HashMap<>();
+
+    private final Map<Long, String> textById = new HashMap<>();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Index or re-index the text of an ID. A null or blank text removes the ID.
+     */
+    void put(Long id, String text) {
+        String normalized = normalize(text);
+        lock.writeLock().lock();
+        try {
+            String previous = normalized.isEmpty() ? textById.remove(id) : textById.put(id, normalized);
+            if (previous != null) {
+                for (long trigram : trigrams(previous)) {
+                    Postings postings = postingsByTrigram.get(trigram);
+                    if (postings != null && postings.remove(id) && postings.size == 0) {
+                        postingsByTrigram.remove(trigram);
+                    }
+                }
+            }
+            if (!normalized.isEmpty()) {
+                for (long trigram : trigrams(normalized)) {
+                    postingsByTrigram.computeIfAbsent(trigram, key -> new Postings()).add(id);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drop an ID from the index.
+     */
+    void remove(Long id) {
+        put(id, null);
+    }
+
+    /**
+     * Drop every entry.
+     */
+    void clear() {
+        lock.writeLock().lock();
+        try {
+            postingsByTrigram.clear();
+            textById.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Number of indexed IDs.
+     */
+    int size() {
+        lock.readLock().lock();
+        try {
+            return textById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Find up to limit IDs whose text contains every word of the query.
+     * Ranked by match quality (text starts with the query, the query starts a word,
+     * every query word starts a word, then anywhere), then by ID.
+     */
+    List<Long> search(String query, int limit) {
+        String padded = normalize(query);
+        if (limit <= 0 || padded.length() <= MIN_QUERY_LENGTH) {
+            return List.of();
+        }
+        String[] words = padded.substring(1).split(" ");
+        long[] queryTrigrams = queryTrigrams(words);
+        if (queryTrigrams.length == 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Postings[] lists = new Postings[queryTrigrams.length];
+            for (int i = 0; i < queryTrigrams.length; i++) {
+                lists[i] = postingsByTrigram.get(queryTrigrams[i]);
+                if (lists[i] == null) {
+                    return List.of();
+                }
+            }
+            Arrays.sort(lists, Comparator.comparingInt((Postings postings) -> postings.size));
+            long[] candidates = Arrays.copyOf(lists[0].ids, lists[0].size);
+            int count = candidates.length;
+            for (int i = 1; i < lists.length && count > 0; i++) {
+                count = lists[i].retainAll(candidates, count);
+            }
+
+            String[] wordStarts = new String[words.length];
+            for (int i = 0; i < words.length; i++) {
+                wordStarts[i] = " " + words[i];
+            }
+            PriorityQueue<Match> best = new PriorityQueue<>(Comparator.reverseOrder());
+            for (int i = 0; i < count; i++) {
+                long id = candidates[i];
+                String text = textById.get(id);
+                int rank = rank(text, padded, words, wordStarts);
+                if (rank < 0) {
+                    continue;
+                }
+                if (best.size() < limit) {
+                    best.add(new Match(id, rank));
+                } else if (rank < best.peek().rank) {
+                    best.poll();
+                    best.add(new Match(id, rank));
+                }
+                // Candidates come in ID order, so nothing later can beat a full set of best-rank matches
+                if (best.size() == limit && best.peek().rank == 0) {
+                    break;
+                }
+            }
+
+            Match[] ordered = best.toArray(new Match[0]);
+            Arrays.sort(ordered);
+            List<Long> ids = new ArrayList<>(ordered.length);
+            for (Match match : ordered) {
+                ids.add(match.id);
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Rank of a candidate, lower is better, or -1 when a query word is missing.
+     * Trigram overlap alone does not guarantee the characters occur contiguously.
+     */
+    private static int rank(String text, String padded, String[] words, String[] wordStarts) {
+        if (text.startsWith(padded)) {
+            return 0;
+        }
+        boolean allWordStarts = true;
+        for (int i = 0; i < words.length; i++) {
+            if (!text.contains(wordStarts[i])) {
+                if (words[i].length() <= MIN_QUERY_LENGTH || !text.contains(words[i])) {
+                    return -1;
+                }
+                allWordStarts = false;
+            }
+        }
+        if (text.contains(padded)) {
+            return 1;
+        }
+        return allWordStarts ? 2 : 3;
+    }
+
+    /**
+     * Trigrams a candidate must contain.
+     * Words of two characters must start a word; longer words may match anywhere.
+     * Single characters add no trigram and are only checked when ranking.
+     */
+    private static long[] queryTrigrams(String[] words) {
+        List<long[]> parts = new ArrayList<>();
+        for (String word : words) {
+            if (word.length() == MIN_QUERY_LENGTH) {
+                parts.add(trigrams(" " + word));
+            } else if (word.length() > MIN_QUERY_LENGTH) {
+                parts.add(trigrams(word));
+            }
+        }
+        return parts.stream().flatMapToLong(Arrays::stream).distinct().toArray();
+    }
+
+    /**
+     * Lower-case the text, collapse whitespace and prefix every word with a single space.
+     */
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String collapsed = text.toLowerCase(Locale.ROOT).trim().replaceAll("\\s+", " ");
+        return collapsed.isEmpty() ? "" : " " + collapsed;
+    }
+
+    /**
+     * Distinct trigrams of a normalized text, each packed into a long.
+     */
+    private static long[] trigrams(String text) {
+        if (text.length() < 3) {
+            return new long[0];
+        }
+        long[] result = new long[text.length() - 2];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = ((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2);
+        }
+        return Arrays.stream(result).distinct().toArray();
+    }
+
+    /**
+     * Sorted, growable array of IDs.
+     * Appends in ID order are constant time, which keeps warm-up from the database cheap.
+     */
+    private static final class Postings {
+        private long[] ids = new long[4];
+        private int size;
+
+        void add(long id) {
+            int position = size > 0 && ids[size - 1] < id ? -(size + 1) : Arrays.binarySearch(ids, 0, size, id);
+            if (position >= 0) {
+                return;
+            }
+            int insertAt = -(position + 1);
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            ids[insertAt] = id;
+            size++;
+        }
+
+        boolean remove(long id) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position < 0) {
+                return false;
+            }
+            System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+            size--;
+            return true;
+        }
+
+        /**
+         * Keep only the first count sorted candidates that are also in this list.
+         * Returns the new count; merges linearly, galloping ahead through the longer list.
+         */
+        int retainAll(long[] candidates, int count) {
+            int kept = 0;
+            int from = 0;
+            for (int i = 0; i < count && from < size; i++) {
+                long id = candidates[i];
+                int position = Arrays.binarySearch(ids, from, Math.min(size, from + gallop(from, id)), id);
+                if (position >= 0) {
+                    candidates[kept++] = id;
+                    from = position + 1;
+                } else {
+                    from = -(position + 1);
+                }
+            }
+            return kept;
+        }
+
+        /**
+         * Width of the window starting at from that is guaranteed to reach past id.
+         */
+        private int gallop(int from, long id) {
+            int step = 1;
+            while (from + step < size && ids[from + step] < id) {
+                step <<= 1;
+            }
+            return step + 1;
+        }
+    }
+
+    /**
+     * Candidate with its rank; natural order is best first.
+     */
+    private static final class Match implements Comparable<Match> {
+        private final long id;
+        private final int rank;
+
+        Match(long id, int rank) {
+            this.id = id;
+            this.rank = rank;
+        }
+
+        @Override
+        public int compareTo(Match other) {
+            if (rank != other.rank) {
+                return Integer.compare(rank, other.rank);
+            }
+            return Long.compare(id, other.id);
+        }
+    }
+}
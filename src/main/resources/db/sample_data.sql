@@ -34,9 +34,10 @@ INSERT INTO doctor_availability (doctor_id, date, start_time, end_time, availabi
 (5, '2025-10-02', '14:00:00', '15:00:00', 'AVAILABLE', false, CURRENT_TIMESTAMP);
 
 -- Insert sample appointments with proper entity structure
-INSERT INTO appointments (doctor_id, patient_id, appointment_date, appointment_time, status, appointment_type, reason_for_visit, duration_minutes, created_at, updated_at) VALUES
-(1, 1, '2025-10-15', '09:00:00', 'SCHEDULED', 'Consultation', 'Chest pain evaluation', 60, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP),
-(1, 2, '2025-10-15', '10:00:00', 'SCHEDULED', 'Follow-up', 'Heart checkup', 30, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP),
-(2, 3, '2025-10-16', '10:00:00', 'SCHEDULED', 'Consultation', 'Headache concerns', 45, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP),
-(2, 4, '2025-10-16', '11:00:00', 'CONFIRMED', 'Examination', 'Neurological assessment', 60, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP),
-(3, 5, '2025-10-17', '08:00:00', 'SCHEDULED', 'Surgery Consultation', 'Knee pain evaluation', 45, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP);
+-- IDs come from the pooled appointments_seq sequence used by Hibernate
+INSERT INTO appointments (appointment_id, doctor_id, patient_id, appointment_date, appointment_time, status, appointment_type, reason_for_visit, duration_minutes, created_at, updated_at) VALUES
+(NEXT VALUE FOR appointments_seq, 1, 1, '2025-10-15', '09:00:00', 'SCHEDULED', 'Consultation', 'Chest pain evaluation', 60, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP),
+(NEXT VALUE FOR appointments_seq, 1, 2, '2025-10-15', '10:00:00', 'SCHEDULED', 'Follow-up', 'Heart checkup', 30, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP),
+(NEXT VALUE FOR appointments_seq, 2, 3, '2025-10-16', '10:00:00', 'SCHEDULED', 'Consultation', 'Headache concerns', 45, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP),
+(NEXT VALUE FOR appointments_seq, 2, 4, '2025-10-16', '11:00:00', 'CONFIRMED', 'Examination', 'Neurological assessment', 60, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP),
+(NEXT VALUE FOR appointments_seq, 3, 5, '2025-10-17', '08:00:00', 'SCHEDULED', 'Surgery Consultation', 'Knee pain evaluation', 45, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP);
@@ -0,0 +1,54 @@
+// Smart Clinic Management System - Keyset-paginated list loading
+
+// Rows requested per page; the list endpoints default to 50 and cap a page at 500
+const CURSOR_PAGE_LIMIT = 50;
+
+// Fetch one page of a list endpoint; next is the X-Next-Cursor response header, null on the last page
+async function fetchPage(endpoint, params = {}, after = null) {
+    const pageParams = { ...params, limit: CURSOR_PAGE_LIMIT };
+    if (after !== null) {
+        pageParams.after = after;
+    }
+    const response = await axios.get(endpoint, { params: pageParams });
+    return { items: response.data, next: response.headers['x-next-cursor'] || null };
+}
+
+// Show the first page of a list as a table in container and append one more page per "Load more" click.
+// head is the table markup up to and including </thead>, renderRow returns the <tr> of one item.
+// Errors loading the first page are thrown to the caller; a failed later page leaves the button to retry.
+async function showPagedTable(container, { endpoint, params = {}, head, renderRow, emptyHtml }) {
+    const first = await fetchPage(endpoint, params);
+    if (first.items.length === 0) {
+        container.innerHTML = emptyHtml;
+        return;
+    }
+
+    container.innerHTML = `${head}<tbody></tbody></table>
+        <div style="text-align: center; margin-top: 15px;">
+            <button class="btn btn-secondary load-more">Load more</button>
+        </div>`;
+    const tbody = container.querySelector('tbody');
+    const button = container.querySelector('.load-more');
+    let next = first.next;
+
+    const append = items => {
+        tbody.insertAdjacentHTML('beforeend', items.map(renderRow).join(''));
+        button.style.display = next !== null ? '' : 'none';
+    };
+    append(first.items);
+
+    button.addEventListener('click', async () => {
+        button.disabled = true;
+        button.textContent = 'Loading...';
+        try {
+            const page = await fetchPage(endpoint, params, next);
+            next = page.next;
+            append(page.items);
+        } catch (error) {
+            console.error(`Error loading more from ${endpoint}:`, error);
+        } finally {
+            button.disabled = false;
+            button.textContent = 'Load more';
+        }
+    });
+}
@@ -8,17 +8,11 @@ document.addEventListener('DOMContentLoaded', function() {
 // Load initial dashboard statistics
 async function loadDashboardStats() {
     try {
-        // Load patient count
-        const patients = await fetchData('/api/patients');
-        document.getElementById('totalPatients').textContent = patients.length || 0;
-        
-        // Load doctor count  
-        const doctors = await fetchData('/api/doctors');
-        document.getElementById('totalDoctors').textContent = doctors.length || 0;
-        
-        // Load appointment count
-        const appointments = await fetchData('/api/appointments');
-        document.getElementById('totalAppointments').textContent = appointments.length || 0;
+        // Counts come pre-aggregated from the server in a single request
+        const summary = await fetchData('/api/dashboard/summary');
+        document.getElementById('totalPatients').textContent = summary.activePatients || 0;
+        document.getElementById('totalDoctors').textContent = summary.totalDoctors || 0;
+        document.getElementById('totalAppointments').textContent = summary.totalAppointments || 0;
         
         // Load admin count (placeholder)
         document.getElementById('totalAdmins').textContent = '3';
@@ -49,14 +43,10 @@ async function loadPatients() {
     showDataDisplay('Patient List', 'Loading patients...');
     
     try {
-        const patients = await fetchData('/api/patients');
-        
-        if (patients.length === 0) {
-            showDataDisplay('Patient List', '<p>No patients found. <a href="/patients" class="btn">Add New Patient</a></p>');
-            return;
-        }
-        
-        let html = `
+        await showPagedTable(document.getElementById('dataContent'), {
+            endpoint: '/api/patients',
+            emptyHtml: '<p>No patients found. <a href="/patients" class="btn">Add New Patient</a></p>',
+            head: `
             <table class="table">
                 <thead>
                     <tr>
@@ -69,11 +59,8 @@ async function loadPatients() {
                         <th>Actions</th>
                     </tr>
                 </thead>
-                <tbody>
-        `;
-        
-        patients.forEach(patient => {
-            html += `
+            `,
+            renderRow: patient => `
                 <tr>
                     <td>${patient.patientId || 'N/A'}</td>
                     <td>${patient.firstName || ''} ${patient.lastName || ''}</td>
@@ -85,12 +72,8 @@ async function loadPatients() {
                         <button class="btn" onclick="viewPatient(${patient.patientId})">View</button>
                     </td>
                 </tr>
-            `;
+            `
         });
-        
-        html += '</tbody></table>';
-        showDataDisplay('Patient List', html);
-        
     } catch (error) {
         showDataDisplay('Patient List', '<div class="alert alert-error">Error loading patients. Please try again.</div>');
     }
@@ -101,14 +84,10 @@ async function loadDoctors() {
     showDataDisplay('Doctor List', 'Loading doctors...');
     
     try {
-        const doctors = await fetchData('/api/doctors');
-        
-        if (doctors.length === 0) {
-            showDataDisplay('Doctor List', '<p>No doctors found. <a href="/doctors" class="btn">Add New Doctor</a></p>');
-            return;
-        }
-        
-        let html = `
+        await showPagedTable(document.getElementById('dataContent'), {
+            endpoint: '/api/doctors',
+            emptyHtml: '<p>No doctors found. <a href="/doctors" class="btn">Add New Doctor</a></p>',
+            head: `
             <table class="table">
                 <thead>
                     <tr>
@@ -121,11 +100,8 @@ async function loadDoctors() {
                         <th>Actions</th>
                     </tr>
                 </thead>
-                <tbody>
-        `;
-        
-        doctors.forEach(doctor => {
-            html += `
+            `,
+            renderRow: doctor => `
                 <tr>
                     <td>${doctor.doctorId || 'N/A'}</td>
                     <td>${doctor.firstName || ''} ${doctor.lastName || ''}</td>
@@ -137,12 +113,8 @@ async function loadDoctors() {
                         <button class="btn" onclick="viewDoctor(${doctor.doctorId})">View</button>
                     </td>
                 </tr>
-            `;
+            `
         });
-        
-        html += '</tbody></table>';
-        showDataDisplay('Doctor List', html);
-        
     } catch (error) {
         showDataDisplay('Doctor List', '<div class="alert alert-error">Error loading doctors. Please try again.</div>');
     }
@@ -153,14 +125,10 @@ async function loadAppointments() {
     showDataDisplay('Appointment List', 'Loading appointments...');
     
     try {
-        const appointments = await fetchData('/api/appointments');
-        
-        if (appointments.length === 0) {
-            showDataDisplay('Appointment List', '<p>No appointments found. <a href="/appointments" class="btn">Schedule New Appointment</a></p>');
-            return;
-        }
-        
-        let html = `
+        await showPagedTable(document.getElementById('dataContent'), {
+            endpoint: '/api/appointments',
+            emptyHtml: '<p>No appointments found. <a href="/appointments" class="btn">Schedule New Appointment</a></p>',
+            head: `
             <table class="table">
                 <thead>
                     <tr>
@@ -173,11 +141,8 @@ async function loadAppointments() {
                         <th>Actions</th>
                     </tr>
                 </thead>
-                <tbody>
-        `;
-        
-        appointments.forEach(appointment => {
-            html += `
+            `,
+            renderRow: appointment => `
                 <tr>
                     <td>${appointment.appointmentId || 'N/A'}</td>
                     <td>Patient ${appointment.patientId || 'N/A'}</td>
@@ -189,12 +154,8 @@ async function loadAppointments() {
                         <button class="btn" onclick="viewAppointment(${appointment.appointmentId})">View</button>
                     </td>
                 </tr>
-            `;
+            `
         });
-        
-        html += '</tbody></table>';
-        showDataDisplay('Appointment List', html);
-        
     } catch (error) {
         showDataDisplay('Appointment List', '<div class="alert alert-error">Error loading appointments. Please try again.</div>');
     }
@@ -282,24 +243,20 @@ async function loadSystemStats() {
     showDataDisplay('System Statistics', 'Loading system information...');
     
     try {
-        const [patients, doctors, appointments] = await Promise.all([
-            fetchData('/api/patients'),
-            fetchData('/api/doctors'),
-            fetchData('/api/appointments')
-        ]);
+        const summary = await fetchData('/api/dashboard/summary');
         
         const stats = `
             <div class="stats-grid">
                 <div class="stat-card">
-                    <div class="stat-number">${patients.length}</div>
+                    <div class="stat-number">${summary.activePatients || 0}</div>
                     <div class="stat-label">Total Patients</div>
                 </div>
                 <div class="stat-card">
-                    <div class="stat-number">${doctors.length}</div>
+                    <div class="stat-number">${summary.totalDoctors || 0}</div>
                     <div class="stat-label">Total Doctors</div>
                 </div>
                 <div class="stat-card">
-                    <div class="stat-number">${appointments.length}</div>
+                    <div class="stat-number">${summary.totalAppointments || 0}</div>
                     <div class="stat-label">Total Appointments</div>
                 </div>
                 <div class="stat-card">
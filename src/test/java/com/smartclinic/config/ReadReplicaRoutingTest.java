@@ -0,0 +1,77 @@
+package com.smartclinic.config;
+
+import com.smartclinic.dto.DoctorSummary;
+import com.smartclinic.model.Patient;
+import com.smartclinic.repository.DoctorRepository;
+import com.smartclinic.service.DoctorService;
+import com.smartclinic.service.PatientService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Routing of the read-replica profile over two separate H2 databases.
+ * The primary holds the full schema and sample data; the replica only a doctors table with one
+ * doctor the primary does not have, so every result shows which database answered it.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:rr_primary;DB_CLOSE_DELAY=-1",
+        "clinic.datasource.replica.url=jdbc:h2:mem:rr_replica;DB_CLOSE_DELAY=-1;"
+                + "INIT=RUNSCRIPT FROM 'classpath:db/replica_doctors.sql'"
+})
+@ActiveProfiles("read-replica")
+class ReadReplicaRoutingTest {
+
+    @Autowired
+    private DoctorService doctorService;
+
+    @Autowired
+    private PatientService patientService;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void readOnlyServiceTransactionReadsReplica() {
+        List<DoctorSummary> replicaOnly = doctorService.searchDoctorsBySpecialization("Replica");
+        assertThat(replicaOnly).extracting(DoctorSummary::getDoctorId).containsExactly(900L);
+        assertThat(doctorService.searchDoctorsBySpecialization("Cardio")).isEmpty();
+    }
+
+    @Test
+    void repositoryCallOutsideServiceReadsPrimary() {
+        assertThat(doctorRepository.findSummariesBySpecialization("Replica")).isEmpty();
+        assertThat(doctorRepository.findSummariesBySpecialization("Cardio")).isNotEmpty();
+    }
+
+    @Test
+    void plainJdbcReadsPrimary() {
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM doctors WHERE specialization = 'Replica Medicine'", Integer.class)).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM patients", Integer.class)).isPositive();
+    }
+
+    @Test
+    void serviceWriteGoesToPrimary() {
+        // The replica has no patients table, so the insert only succeeds on the primary
+        Patient patient = patientService.createPatient(new Patient("replica.routing@example.com", "routingPass1",
+                "Routing", "Test", "+15550001111", LocalDate.of(1990, 1, 1), Patient.Gender.OTHER));
+        try {
+            assertThat(jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM patients WHERE patient_id = ?", Integer.class, patient.getPatientId()))
+                    .isEqualTo(1);
+        } finally {
+            patientService.deletePatient(patient.getPatientId());
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.smartclinic.controller;
+
+import com.smartclinic.model.Appointment;
+import com.smartclinic.model.Doctor;
+import com.smartclinic.model.Patient;
+import com.smartclinic.repository.AppointmentRepository;
+import com.smartclinic.repository.DoctorRepository;
+import com.smartclinic.repository.PatientRepository;
+import com.smartclinic.service.AppointmentService;
+import com.smartclinic.service.DoctorService;
+import com.smartclinic.support.ThreadStatementRecorder;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * JDBC statements prepared per request for the list, search and detail endpoints.
+ * Each budget is exact and independent of the number of rows returned: the same budgets hold
+ * over the sample data and after adding several doctors with appointments across several patients,
+ * so a lazy association touched while rendering JSON (an N+1) changes the count and fails the test.
+ * Only statements of the request thread are counted. With open-in-view off such an access fails
+ * the request outright.
+ */
+@SpringBootTest(properties = ThreadStatementRecorder.PROPERTY)
+@AutoConfigureMockMvc
+class EndpointStatementCountTest {
+
+    private static final int EXTRA_DOCTORS = 3;
+
+    private static final int APPOINTMENTS_PER_DOCTOR = 3;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private DoctorService doctorService;
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Test
+    void doctorEndpoints() throws Exception {
+        Long doctorId = doctorRepository.findAll().get(0).getDoctorId();
+        assertStatements("/api/doctors", 1);
+        assertStatements("/api/doctors/search/name?name=Adams", 1);
+        assertStatements("/api/doctors/search/specialization?specialization=Cardiology", 1);
+        // Appointments with their patients, then availability slots
+        assertStatements("/api/doctors/" + doctorId, 2);
+    }
+
+    @Test
+    void patientEndpoints() throws Exception {
+        Long patientId = patientRepository.findAll().get(0).getPatientId();
+        assertStatements("/api/patients", 1);
+        assertStatements("/api/patients/search/name?name=Jane", 1);
+        assertStatements("/api/patients/" + patientId, 1);
+    }
+
+    @Test
+    void appointmentEndpoints() throws Exception {
+        Long appointmentId = appointmentRepository.findAll().get(0).getAppointmentId();
+        Long doctorId = doctorRepository.findAll().get(0).getDoctorId();
+        assertStatements("/api/appointments", 1);
+        assertStatements("/api/appointments/doctor/" + doctorId, 1);
+        assertStatements("/api/appointments/" + appointmentId, 1);
+    }
+
+    @Test
+    void budgetsHoldWithMoreDoctorsAndAppointments() throws Exception {
+        List<Patient> patients = patientRepository.findAll();
+        Long lastAppointmentId = appointmentRepository.findAll().stream()
+                .mapToLong(Appointment::getAppointmentId).max().orElse(0L);
+        long run = Math.floorMod(System.nanoTime(), 1_000_000L);
+        LocalDate day = LocalDate.now().plusDays(230);
+        List<Doctor> doctors = new ArrayList<>();
+        try {
+            for (int i = 0; i < EXTRA_DOCTORS; i++) {
+                Doctor doctor = new Doctor("count" + run + "." + i + "@example.com", "countTest123", "Count", "Doctor" + i,
+                        "Statement Counting", "SC" + run + i, "+1776" + String.format("%06d", run) + i);
+                doctor.setConsultationFee(new BigDecimal("100.00"));
+                doctors.add(doctorService.createDoctor(doctor));
+                for (int j = 0; j < APPOINTMENTS_PER_DOCTOR; j++) {
+                    appointmentService.createAppointment(new Appointment(patients.get((i + j) % patients.size()),
+                            doctors.get(i), day, LocalTime.of(9, 0).plusHours(j), 30, "Statement count test"));
+                }
+            }
+
+            Long doctorId = doctors.get(0).getDoctorId();
+            Long patientId = patients.get(0).getPatientId();
+            assertStatements("/api/doctors?limit=500", 1);
+            assertStatements("/api/doctors/" + doctorId, 2);
+            assertStatements("/api/patients?limit=500", 1);
+            assertStatements("/api/patients/" + patientId, 1);
+            // Only the added appointments, spread over every added doctor and several patients
+            assertStatements("/api/appointments?after=" + lastAppointmentId, 1);
+            assertStatements("/api/appointments/doctor/" + doctorId, 1);
+        } finally {
+            // Cascades to the appointments booked above
+            for (Doctor doctor : doctors) {
+                doctorService.deleteDoctor(doctor.getDoctorId());
+            }
+        }
+    }
+
+    private void assertStatements(String uri, int expectedStatements) throws Exception {
+        ThreadStatementRecorder.start();
+        try {
+            mockMvc.perform(get(uri)).andExpect(status().isOk());
+        } catch (Exception | AssertionError e) {
+            ThreadStatementRecorder.stop();
+            throw e;
+        }
+        assertThat(ThreadStatementRecorder.stop())
+                .as("statements prepared for GET %s", uri)
+                .hasSize(expectedStatements);
+    }
+}
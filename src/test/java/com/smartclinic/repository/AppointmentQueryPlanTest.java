@@ -0,0 +1,121 @@
+package com.smartclinic.repository;
+
+import com.smartclinic.model.Appointment;
+import com.smartclinic.support.ThreadStatementRecorder;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Time;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * H2 plans of the appointment queries that select by day, date range, doctor or patient.
+ * Each test calls the repository method, captures the SQL Hibernate generates for it and explains
+ * that statement with the same arguments, so a query rewritten to wrap a column in a function
+ * fails here. The statement must reach the appointments table through the named index, never a
+ * table scan. The rollup backfill is plain JDBC and is explained as written.
+ */
+@SpringBootTest(properties = ThreadStatementRecorder.PROPERTY)
+class AppointmentQueryPlanTest {
+
+    private static final LocalDate START = LocalDate.of(2025, 3, 1);
+
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 3);
+
+    private static final LocalDate END = LocalDate.of(2025, 3, 31);
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void appointmentsByDateUseDateIndex() {
+        String sql = capture(() -> appointmentRepository.findAppointmentsByDate(DAY));
+        assertIndexed(sql, "IDX_APPOINTMENTS_DATE_TIME", Date.valueOf(DAY));
+    }
+
+    @Test
+    void appointmentsBetweenDatesUseDateIndex() {
+        LocalTime startTime = LocalTime.of(8, 0);
+        LocalTime endTime = LocalTime.of(18, 0);
+        String sql = capture(() -> appointmentRepository.findAppointmentsBetweenDates(START, startTime, END, endTime));
+        assertIndexed(sql, "IDX_APPOINTMENTS_DATE_TIME", Date.valueOf(START), Date.valueOf(END),
+                Date.valueOf(START), Time.valueOf(startTime), Date.valueOf(END), Time.valueOf(endTime));
+    }
+
+    @Test
+    void todaysAppointmentsOfDoctorUseDoctorIndex() {
+        String sql = capture(() -> appointmentRepository.findTodaysAppointmentsByDoctorId(1L));
+        assertIndexed(sql, "IDX_APPOINTMENTS_DOCTOR_DATE_TIME", 1L);
+    }
+
+    @Test
+    void upcomingAppointmentsOfPatientUsePatientIndex() {
+        String sql = capture(() -> appointmentRepository.findUpcomingAppointmentsByPatientId(1L));
+        assertIndexed(sql, "IDX_APPOINTMENTS_PATIENT_DATE", 1L);
+    }
+
+    @Test
+    void dailyReportDoesNotScanAppointments() {
+        String sql = capture(() -> appointmentRepository.findDailyAppointmentReportByDoctor(DAY));
+        assertIndexed(sql, "IDX_APPOINTMENTS_DATE_TIME", Date.valueOf(DAY));
+    }
+
+    @Test
+    void exportStreamDoesNotScanAppointments() {
+        String sql = capture(() -> new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            try (Stream<Appointment> rows = appointmentRepository.streamAppointmentsBetweenDates(START, END)) {
+                rows.count();
+            }
+        }));
+        assertIndexed(sql, "IDX_APPOINTMENTS_DATE_TIME", Date.valueOf(START), Date.valueOf(END));
+    }
+
+    @Test
+    void rollupBackfillUsesDateIndex() {
+        assertIndexed("SELECT appointment_date, doctor_id, status, COUNT(*) FROM appointments "
+                + "WHERE appointment_date BETWEEN ? AND ? "
+                + "GROUP BY appointment_date, doctor_id, status",
+                "IDX_APPOINTMENTS_DATE_TIME", Date.valueOf(START), Date.valueOf(END));
+    }
+
+    /**
+     * Run the query and return the first statement it sent against the appointments table.
+     */
+    private static String capture(Runnable query) {
+        ThreadStatementRecorder.start();
+        try {
+            query.run();
+        } catch (RuntimeException e) {
+            ThreadStatementRecorder.stop();
+            throw e;
+        }
+        List<String> statements = ThreadStatementRecorder.stop();
+        return statements.stream()
+                .filter(sql -> sql.toLowerCase(Locale.ROOT).contains("from appointments"))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No appointments query among " + statements));
+    }
+
+    private void assertIndexed(String sql, String index, Object... args) {
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, args);
+        assertThat(plan).as("plan of %s", sql).doesNotContainIgnoringCase("APPOINTMENTS.tableScan");
+        assertThat(plan).as("plan of %s", sql).containsIgnoringCase(index);
+    }
+}
@@ -0,0 +1,156 @@
+package com.smartclinic.repository;
+
+import com.smartclinic.model.Prescription;
+import com.smartclinic.service.PrescriptionService;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+/**
+ * Prescription queries of the mongo profile against an in-memory MongoDB server in the test JVM.
+ * The regex searches must treat user input literally, and the NDJSON stream must honour its limit,
+ * write one document per line and only fetch documents as they are requested.
+ * Needs neither Docker nor network access, so it always runs.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("mongo")
+class PrescriptionMongoTest {
+
+    private static final long PATIENT_ID = 987_654_321L;
+
+    private static final MongoServer mongo = new MongoServer(new MemoryBackend());
+
+    private static final InetSocketAddress mongoAddress = mongo.bind();
+
+    @DynamicPropertySource
+    static void mongoUri(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri", () -> "mongodb://" + mongoAddress.getHostString() + ":"
+                + mongoAddress.getPort() + "/cms_documents");
+    }
+
+    @AfterAll
+    static void stopMongo() {
+        mongo.shutdownNow();
+    }
+
+    @Autowired
+    private PrescriptionRepository prescriptionRepository;
+
+    @Autowired
+    private PrescriptionService prescriptionService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private List<Prescription> saved;
+
+    @BeforeEach
+    void savePrescriptions() {
+        List<Prescription> prescriptions = new ArrayList<>();
+        prescriptions.add(prescription("Pat (Jr.) Literal", "Co-Amoxiclav 500+125", "Take 1/2 tablet [with food]"));
+        prescriptions.add(prescription("Pat Jrx Literal", "Co-Amoxiclav 5000125", "Take 1/2 tablet with food"));
+        prescriptions.add(prescription("Pat Jr Literal", "Co-Amoxiclav 500125", "Take 12 tablets"));
+        prescriptions.add(prescription("Pat Plain Literal", "Paracetamol", "Rest"));
+        // Saved one at a time so the ObjectId order, and with it newest-first, is the list order
+        saved = Flux.fromIterable(prescriptions).concatMap(prescriptionRepository::save).collectList().block();
+    }
+
+    @AfterEach
+    void deletePrescriptions() {
+        prescriptionRepository.deleteAll(saved).block();
+    }
+
+    @Test
+    void patientNameSearchTreatsInputLiterally() {
+        assertThat(names(prescriptionService.searchByPatientName("(jr.)", 50)))
+                .containsExactly("Pat (Jr.) Literal");
+        assertThat(names(prescriptionService.searchByPatientName("jr", 50)))
+                .containsExactly("Pat (Jr.) Literal", "Pat Jr Literal", "Pat Jrx Literal");
+        assertThat(names(prescriptionService.searchByPatientName(".*", 50))).isEmpty();
+    }
+
+    @Test
+    void medicationSearchTreatsInputLiterally() {
+        assertThat(names(prescriptionService.searchByMedication("500+125", 50)))
+                .containsExactly("Pat (Jr.) Literal");
+    }
+
+    @Test
+    void instructionSearchTreatsInputLiterally() {
+        assertThat(names(prescriptionService.searchByInstructions("1/2 TABLET [WITH", 50)))
+                .containsExactly("Pat (Jr.) Literal");
+    }
+
+    @Test
+    void patientListingIsFetchedOnDemand() {
+        StepVerifier.create(prescriptionRepository.findByPatientId(PATIENT_ID,
+                        PageRequest.of(0, 3, Sort.by(Sort.Direction.DESC, "id"))), 0)
+                .expectSubscription()
+                .thenRequest(1)
+                .expectNextMatches(p -> p.getId().equals(saved.get(3).getId()))
+                .thenRequest(2)
+                .expectNextCount(2)
+                .verifyComplete();
+    }
+
+    @Test
+    void streamWritesOneDocumentPerLineUpToTheLimit() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/prescriptions/stream")
+                        .param("patientId", String.valueOf(PATIENT_ID))
+                        .param("limit", "3")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        result.getAsyncResult(10_000);
+
+        String body = result.getResponse().getContentAsString();
+        String[] lines = body.strip().split("\n");
+        assertThat(result.getResponse().getContentType()).startsWith(MediaType.APPLICATION_NDJSON_VALUE);
+        assertThat(lines).hasSize(3);
+        assertThat(lines[0]).startsWith("{").contains(saved.get(3).getId());
+        assertThat(lines[2]).contains(saved.get(1).getId());
+    }
+
+    private static Prescription prescription(String patientName, String medication, String instruction) {
+        Prescription prescription = new Prescription();
+        prescription.setPatientId(PATIENT_ID);
+        prescription.setPatientInfo(new Prescription.PatientInfo(patientName, 40));
+        prescription.setMedications(new ArrayList<>(List.of(
+                new Prescription.Medication(medication, "1 tablet", "Twice daily", "7 days", 14))));
+        prescription.setAdditionalInstructions(new ArrayList<>(List.of(instruction)));
+        return prescription;
+    }
+
+    private static List<String> names(Flux<Prescription> prescriptions) {
+        return prescriptions
+                .map(p -> p.getPatientInfo().getName())
+                .filter(name -> name.endsWith(" Literal"))
+                .collectList()
+                .block();
+    }
+}
@@ -0,0 +1,269 @@
+package com.smartclinic.service;
+
+import com.smartclinic.model.Appointment;
+import com.smartclinic.model.Doctor;
+import com.smartclinic.model.Patient;
+import com.smartclinic.repository.PatientRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Time;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Thousands of parallel bookings against doctors created for the test, all on one day.
+ * Requests overlap heavily, so most must be rejected; whatever is accepted must not overlap
+ * another non-cancelled appointment of the same doctor, every doctor must be served, and a
+ * rolled-back reschedule must not hand its old slot to another booking.
+ */
+@SpringBootTest
+class AppointmentBookingConcurrencyTest {
+
+    private static final int BOOKINGS = 3000;
+
+    private static final int THREADS = 32;
+
+    private static final int DOCTORS = 4;
+
+    private static final int[] DURATIONS = {15, 30, 45, 60};
+
+    /**
+     * Quarter-hour slots from 09:00 to 17:00.
+     */
+    private static final int SLOTS_PER_DAY = 32;
+
+    private static final int REQUESTS_PER_SLOT = 8;
+
+    private static final String[] NAMES = {"Alpha", "Bravo", "Charlie", "Delta", "Echo", "Foxtrot"};
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private DoctorService doctorService;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final LocalDate day = LocalDate.now().plusDays(200);
+
+    private final List<Doctor> doctors = new ArrayList<>();
+
+    private List<Patient> patients;
+
+    @BeforeEach
+    void createDoctors() {
+        long run = Math.floorMod(System.nanoTime(), 1_000_000L);
+        for (int i = 0; i < DOCTORS; i++) {
+            Doctor doctor = new Doctor("load" + run + "." + i + "@example.com", "loadTest123", "Load", NAMES[i],
+                    "Load Testing", "LT" + run + i, "+1777" + String.format("%06d", run) + i);
+            doctor.setConsultationFee(new BigDecimal("100.00"));
+            doctors.add(doctorService.createDoctor(doctor));
+        }
+        patients = patientRepository.findAll();
+    }
+
+    @AfterEach
+    void deleteDoctors() {
+        // Cascades to the appointments booked by the test
+        for (Doctor doctor : doctors) {
+            doctorService.deleteDoctor(doctor.getDoctorId());
+        }
+    }
+
+    @Test
+    void parallelBookingsNeverOverlap() throws Exception {
+        List<Callable<Appointment>> requests = new ArrayList<>();
+        for (int i = 0; i < BOOKINGS; i++) {
+            Doctor doctor = doctors.get(i % DOCTORS);
+            // 09:00 to 16:45 in 15-minute steps, so many requests compete for each slot
+            LocalTime time = LocalTime.of(9, 0).plusMinutes(15L * ((i * 7) % SLOTS_PER_DAY));
+            int duration = DURATIONS[i % DURATIONS.length];
+            Patient patient = patients.get(i % patients.size());
+            requests.add(() -> appointmentService.createAppointment(
+                    new Appointment(patient, doctor, day, time, duration, "Concurrency test")));
+        }
+
+        Map<Long, AtomicInteger> accepted = runInParallel(requests);
+
+        for (Doctor doctor : doctors) {
+            assertThat(accepted.get(doctor.getDoctorId())).as("bookings accepted for doctor %s", doctor.getDoctorId())
+                    .isNotNull();
+            assertNoOverlap(doctor.getDoctorId());
+        }
+    }
+
+    @Test
+    void everySlotOfEveryDoctorIsBookedExactlyOnce() throws Exception {
+        List<Callable<Appointment>> requests = new ArrayList<>();
+        for (Doctor doctor : doctors) {
+            for (int slot = 0; slot < SLOTS_PER_DAY; slot++) {
+                LocalTime time = LocalTime.of(9, 0).plusMinutes(15L * slot);
+                for (int r = 0; r < REQUESTS_PER_SLOT; r++) {
+                    Patient patient = patients.get((slot + r) % patients.size());
+                    requests.add(() -> appointmentService.createAppointment(
+                            new Appointment(patient, doctor, day, time, 15, "Throughput test")));
+                }
+            }
+        }
+        Collections.shuffle(requests, new Random(42));
+
+        Map<Long, AtomicInteger> accepted = runInParallel(requests);
+
+        // Bookings for different doctors never block one another, so every doctor's day fills up completely
+        for (Doctor doctor : doctors) {
+            assertThat(accepted.get(doctor.getDoctorId()).get())
+                    .as("bookings accepted for doctor %s", doctor.getDoctorId())
+                    .isEqualTo(SLOTS_PER_DAY);
+            assertNoOverlap(doctor.getDoctorId());
+        }
+    }
+
+    @Test
+    void rolledBackRescheduleKeepsItsSlot() throws Exception {
+        Doctor doctor = doctors.get(0);
+        Appointment booked = appointmentService.createAppointment(
+                new Appointment(patients.get(0), doctor, day, LocalTime.of(10, 0), 30, "Reschedule test"));
+
+        ExecutorService other = Executors.newSingleThreadExecutor();
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                appointmentService.rescheduleAppointment(booked.getAppointmentId(), day.atTime(14, 0));
+                // Until this transaction ends both the old and the new range stay reserved
+                assertThat(bookFrom(other, doctor, LocalTime.of(10, 0))).isFalse();
+                assertThat(bookFrom(other, doctor, LocalTime.of(14, 0))).isFalse();
+                status.setRollbackOnly();
+            });
+        } finally {
+            other.shutdownNow();
+        }
+
+        assertThatThrownBy(() -> appointmentService.createAppointment(
+                new Appointment(patients.get(1), doctor, day, LocalTime.of(10, 0), 30, "Reschedule test")))
+                .isInstanceOf(RuntimeException.class);
+        appointmentService.createAppointment(
+                new Appointment(patients.get(1), doctor, day, LocalTime.of(14, 0), 30, "Reschedule test"));
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT appointment_time FROM appointments WHERE appointment_id = ?", Time.class,
+                booked.getAppointmentId()).toLocalTime()).isEqualTo(LocalTime.of(10, 0));
+        assertNoOverlap(doctor.getDoctorId());
+    }
+
+    @Test
+    void committedRescheduleFreesItsOldSlot() {
+        Doctor doctor = doctors.get(1);
+        Appointment booked = appointmentService.createAppointment(
+                new Appointment(patients.get(0), doctor, day, LocalTime.of(10, 0), 30, "Reschedule test"));
+        appointmentService.rescheduleAppointment(booked.getAppointmentId(), LocalDateTime.of(day, LocalTime.of(14, 0)));
+
+        appointmentService.createAppointment(
+                new Appointment(patients.get(1), doctor, day, LocalTime.of(10, 0), 30, "Reschedule test"));
+        assertNoOverlap(doctor.getDoctorId());
+    }
+
+    /**
+     * Book a 30-minute appointment on another thread, outside the caller's transaction.
+     */
+    private boolean bookFrom(ExecutorService executor, Doctor doctor, LocalTime time) {
+        try {
+            return executor.submit(() -> {
+                try {
+                    appointmentService.createAppointment(
+                            new Appointment(patients.get(1), doctor, day, time, 30, "Reschedule test"));
+                    return true;
+                } catch (RuntimeException e) {
+                    return false;
+                }
+            }).get(30, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Run the booking requests from THREADS threads at once; returns the accepted count per doctor.
+     */
+    private Map<Long, AtomicInteger> runInParallel(List<Callable<Appointment>> requests) throws Exception {
+        Map<Long, AtomicInteger> accepted = new ConcurrentHashMap<>();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (Callable<Appointment> request : requests) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        Appointment booked = request.call();
+                        accepted.computeIfAbsent(booked.getDoctor().getDoctorId(), id -> new AtomicInteger())
+                                .incrementAndGet();
+                    } catch (RuntimeException e) {
+                        rejected.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(2, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        int acceptedTotal = accepted.values().stream().mapToInt(AtomicInteger::get).sum();
+        assertThat(acceptedTotal + rejected.get()).isEqualTo(requests.size());
+        return accepted;
+    }
+
+    private void assertNoOverlap(Long doctorId) {
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "SELECT appointment_id, appointment_time, duration_minutes FROM appointments "
+                        + "WHERE doctor_id = ? AND appointment_date = ? AND status <> 'CANCELLED' "
+                        + "ORDER BY appointment_time",
+                doctorId, Date.valueOf(day));
+        int previousEnd = -1;
+        Object previousId = null;
+        for (Map<String, Object> row : rows) {
+            int start = ((Time) row.get("appointment_time")).toLocalTime().toSecondOfDay() / 60;
+            assertThat(start)
+                    .as("appointment %s overlaps %s for doctor %s", row.get("appointment_id"), previousId, doctorId)
+                    .isGreaterThanOrEqualTo(previousEnd);
+            previousEnd = start + ((Number) row.get("duration_minutes")).intValue();
+            previousId = row.get("appointment_id");
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.smartclinic.service;
+
+import com.smartclinic.model.Appointment;
+import com.smartclinic.model.AppointmentDailyRollup;
+import com.smartclinic.model.Doctor;
+import com.smartclinic.model.Patient;
+import com.smartclinic.repository.AppointmentEventRepository;
+import com.smartclinic.repository.PatientRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A backfill that recounts a day while bookings for it are committed but their outbox events not yet
+ * delivered. The rollup must count each booking once after the worker has caught up.
+ */
+@SpringBootTest
+class AppointmentRollupBackfillTest {
+
+    private static final int BOOKINGS = 5;
+
+    @Autowired
+    private AppointmentRollupService rollupService;
+
+    @Autowired
+    private AppointmentEventOutbox eventOutbox;
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private DoctorService doctorService;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private AppointmentEventRepository eventRepository;
+
+    private final LocalDate day = LocalDate.now().plusDays(220);
+
+    private Doctor doctor;
+
+    @BeforeEach
+    void createDoctor() {
+        long run = Math.floorMod(System.nanoTime(), 1_000_000L);
+        Doctor created = new Doctor("rollup" + run + "@example.com", "rollupTest123", "Rollup", "Doctor",
+                "Rollup Testing", "RB" + run, "+1779" + String.format("%06d", run));
+        created.setConsultationFee(new BigDecimal("100.00"));
+        doctor = doctorService.createDoctor(created);
+    }
+
+    @AfterEach
+    void deleteDoctor() {
+        doctorService.deleteDoctor(doctor.getDoctorId());
+    }
+
+    @Test
+    void backfillLeavesOutUndeliveredEvents() throws Exception {
+        List<Patient> patients = patientRepository.findAll();
+        ExecutorService booking = Executors.newSingleThreadExecutor();
+        try {
+            eventOutbox.withDeliveryPaused(status -> {
+                // Committed on another thread, so their events stay pending until delivery resumes
+                for (int i = 0; i < BOOKINGS; i++) {
+                    LocalTime time = LocalTime.of(9, 0).plusMinutes(30L * i);
+                    Patient patient = patients.get(i % patients.size());
+                    await(booking.submit(() -> appointmentService.createAppointment(
+                            new Appointment(patient, doctor, day, time, 30, "Rollup test"))));
+                }
+                rollupService.backfill(day, day);
+                return null;
+            });
+        } finally {
+            booking.shutdownNow();
+        }
+
+        awaitOutboxDrained();
+        long scheduled = rollupService.getDailyRollups(day).stream()
+                .filter(rollup -> rollup.getDoctorId().equals(doctor.getDoctorId()))
+                .mapToLong(AppointmentDailyRollup::getAppointmentCount)
+                .sum();
+        assertThat(scheduled).isEqualTo(BOOKINGS);
+    }
+
+    private static void await(Future<?> future) {
+        try {
+            future.get(30, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void awaitOutboxDrained() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (eventRepository.countPending() > 0) {
+            assertThat(System.nanoTime()).as("outbox drained in time").isLessThan(deadline);
+            Thread.sleep(50);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.smartclinic.service;
+
+import com.smartclinic.dto.DashboardSummary;
+import com.smartclinic.model.Appointment;
+import com.smartclinic.model.Doctor;
+import com.smartclinic.model.Patient;
+import com.smartclinic.repository.AppointmentEventRepository;
+import com.smartclinic.repository.PatientRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Dashboard reconciles racing bookings whose outbox events are still pending, and activity changes
+ * made through the update endpoints. Once the outbox has drained the counters must match the tables.
+ */
+@SpringBootTest
+class DashboardStatsReconcileTest {
+
+    private static final int BOOKINGS = 64;
+
+    @Autowired
+    private DashboardStatsService dashboardStats;
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private DoctorService doctorService;
+
+    @Autowired
+    private PatientService patientService;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private AppointmentEventRepository eventRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final LocalDate day = LocalDate.now().plusDays(210);
+
+    private Doctor doctor;
+
+    @BeforeEach
+    void createDoctor() {
+        long run = Math.floorMod(System.nanoTime(), 1_000_000L);
+        Doctor created = new Doctor("stats" + run + "@example.com", "statsTest123", "Stats", "Doctor",
+                "Dashboard Testing", "DS" + run, "+1778" + String.format("%06d", run));
+        created.setConsultationFee(new BigDecimal("100.00"));
+        doctor = doctorService.createDoctor(created);
+    }
+
+    @AfterEach
+    void deleteDoctor() {
+        doctorService.deleteDoctor(doctor.getDoctorId());
+    }
+
+    @Test
+    void reconcileDuringBookingsCountsEachAppointmentOnce() throws Exception {
+        List<Patient> patients = patientRepository.findAll();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<?> bookings = executor.submit(() -> {
+                for (int i = 0; i < BOOKINGS; i++) {
+                    appointmentService.createAppointment(new Appointment(patients.get(i % patients.size()), doctor,
+                            day, LocalTime.of(8, 0).plusMinutes(10L * i), 10, "Dashboard test"));
+                }
+            });
+            while (!bookings.isDone()) {
+                dashboardStats.reconcile();
+            }
+            bookings.get(1, TimeUnit.MINUTES);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        awaitOutboxDrained();
+        assertThat(dashboardStats.getSummary().getTotalAppointments()).isEqualTo(
+                jdbcTemplate.queryForObject("SELECT COUNT(*) FROM appointments", Long.class));
+    }
+
+    @Test
+    void deactivatingDoctorAndPatientMovesActiveCounters() {
+        Patient patient = patientService.createPatient(new Patient("stats.active@example.com", "statsPass1",
+                "Stats", "Patient", "+15550002222", LocalDate.of(1985, 5, 5), Patient.Gender.OTHER));
+        try {
+            DashboardSummary before = dashboardStats.getSummary();
+
+            Doctor doctorDetails = doctorService.getDoctorDetail(doctor.getDoctorId());
+            doctorDetails.setIsActive(false);
+            doctorDetails.setPasswordHash(null);
+            doctorService.updateDoctor(doctor.getDoctorId(), doctorDetails);
+            Patient patientDetails = patientService.getPatientDetail(patient.getPatientId());
+            patientDetails.setIsActive(false);
+            patientDetails.setPasswordHash(null);
+            patientService.updatePatient(patient.getPatientId(), patientDetails);
+
+            DashboardSummary after = dashboardStats.getSummary();
+            assertThat(after.getActiveDoctors()).isEqualTo(before.getActiveDoctors() - 1);
+            assertThat(after.getActivePatients()).isEqualTo(before.getActivePatients() - 1);
+            assertThat(after.getTotalDoctors()).isEqualTo(before.getTotalDoctors());
+
+            dashboardStats.reconcile();
+            assertThat(dashboardStats.getSummary().getActiveDoctors()).isEqualTo(after.getActiveDoctors());
+            assertThat(dashboardStats.getSummary().getActivePatients()).isEqualTo(after.getActivePatients());
+        } finally {
+            patientService.deletePatient(patient.getPatientId());
+        }
+    }
+
+    private void awaitOutboxDrained() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (eventRepository.countPending() > 0) {
+            assertThat(System.nanoTime()).as("outbox drained in time").isLessThan(deadline);
+            Thread.sleep(50);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.smartclinic.service;
+
+import com.smartclinic.model.DoctorAvailability;
+import com.smartclinic.repository.DoctorRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Overlapping materialization runs over the same daily template, as when the nightly job and a
+ * manual POST .../materialize meet. Each occurrence, the anchor date included, must be written
+ * exactly once, and a bulk type change must reach all of them and survive another run.
+ */
+@SpringBootTest
+class RecurringAvailabilityMaterializeTest {
+
+    private static final int RUNS = 8;
+
+    private static final int DAYS = 30;
+
+    @Autowired
+    private DoctorAvailabilityService availabilityService;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final LocalDate anchor = LocalDate.now().plusDays(300);
+
+    private Long doctorId;
+
+    @AfterEach
+    void deleteRows() {
+        jdbcTemplate.update("DELETE FROM doctor_availability WHERE doctor_id = ? AND date BETWEEN ? AND ?",
+                doctorId, Date.valueOf(anchor), Date.valueOf(anchor.plusDays(DAYS)));
+    }
+
+    @BeforeEach
+    void createTemplate() {
+        doctorId = doctorRepository.findAll().get(0).getDoctorId();
+        DoctorAvailability template = new DoctorAvailability(null, anchor, LocalTime.of(6, 0), LocalTime.of(7, 0));
+        template.setAvailabilityType(DoctorAvailability.AvailabilityType.AVAILABLE);
+        template.setIsRecurring(true);
+        template.setRecurrencePattern("DAILY");
+        availabilityService.createAvailability(doctorId, template);
+    }
+
+    @Test
+    void overlappingRunsWriteEachOccurrenceOnce() throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(RUNS);
+        int created = 0;
+        try {
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (int i = 0; i < RUNS; i++) {
+                // Every other run covers every doctor, like the nightly job
+                Long runDoctorId = i % 2 == 0 ? doctorId : null;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return availabilityService.materializeRecurring(runDoctorId, anchor, DAYS);
+                }));
+            }
+            start.countDown();
+            for (Future<Integer> future : futures) {
+                created += future.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(created).isEqualTo(DAYS);
+        assertThat(concreteRows(null)).isEqualTo(DAYS);
+        Integer duplicates = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM (SELECT date FROM doctor_availability WHERE doctor_id = ? "
+                        + "AND start_time = TIME '06:00:00' AND end_time = TIME '07:00:00' AND is_recurring = false "
+                        + "GROUP BY date HAVING COUNT(*) > 1) d",
+                Integer.class, doctorId);
+        assertThat(duplicates).isZero();
+    }
+
+    @Test
+    void typeChangeReachesAnchorDateAndIsNotMaterializedAgain() {
+        availabilityService.materializeRecurring(doctorId, anchor, DAYS);
+
+        int updated = availabilityService.updateAvailabilityType(List.of(doctorId), anchor, anchor.plusDays(DAYS - 1),
+                DoctorAvailability.AvailabilityType.AVAILABLE, DoctorAvailability.AvailabilityType.UNAVAILABLE);
+
+        assertThat(updated).isEqualTo(DAYS);
+        assertThat(concreteRows(DoctorAvailability.AvailabilityType.UNAVAILABLE)).isEqualTo(DAYS);
+        // A flipped slot still counts as the occurrence, so the next run does not add an AVAILABLE one beside it
+        assertThat(availabilityService.materializeRecurring(doctorId, anchor, DAYS)).isZero();
+        assertThat(concreteRows(null)).isEqualTo(DAYS);
+    }
+
+    /**
+     * Concrete 06:00-07:00 rows of the doctor in the test range, of the given type or of any type when null.
+     */
+    private Integer concreteRows(DoctorAvailability.AvailabilityType type) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM doctor_availability WHERE doctor_id = ? AND date BETWEEN ? AND ? "
+                        + "AND start_time = TIME '06:00:00' AND end_time = TIME '07:00:00' AND is_recurring = false "
+                        + "AND availability_type LIKE ?",
+                Integer.class, doctorId, Date.valueOf(anchor), Date.valueOf(anchor.plusDays(DAYS - 1)),
+                type != null ? type.name() : "%");
+    }
+}
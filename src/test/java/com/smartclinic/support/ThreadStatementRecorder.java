@@ -0,0 +1,45 @@
+package com.smartclinic.support;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records the SQL Hibernate prepares on the current thread between start and stop.
+ * Statements from other threads, such as the outbox worker polling in the background, are ignored,
+ * so counts and captured statements belong to the code under test alone.
+ * Enabled per test class with the {@link #PROPERTY} property.
+ */
+public class ThreadStatementRecorder implements StatementInspector {
+
+    public static final String PROPERTY = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+            + "com.smartclinic.support.ThreadStatementRecorder";
+
+    private static final ThreadLocal<List<String>> RECORDED = new ThreadLocal<>();
+
+    /**
+     * Start recording on the current thread, discarding anything recorded before.
+     */
+    public static void start() {
+        RECORDED.set(new ArrayList<>());
+    }
+
+    /**
+     * Stop recording on the current thread and return the statements in the order they were prepared.
+     */
+    public static List<String> stop() {
+        List<String> statements = RECORDED.get();
+        RECORDED.remove();
+        return statements != null ? statements : List.of();
+    }
+
+    @Override
+    public String inspect(String sql) {
+        List<String> statements = RECORDED.get();
+        if (statements != null) {
+            statements.add(sql);
+        }
+        return sql;
+    }
+}
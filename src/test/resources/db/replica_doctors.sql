@@ -0,0 +1,21 @@
+-- Replica stand-in for ReadReplicaRoutingTest: a doctors table holding only a row the primary does not have.
+-- Run by the H2 INIT setting on every new replica connection, so it must be repeatable.
+CREATE TABLE IF NOT EXISTS doctors (
+    doctor_id BIGINT PRIMARY KEY,
+    email VARCHAR(255),
+    first_name VARCHAR(100),
+    last_name VARCHAR(100),
+    specialization VARCHAR(200),
+    license_number VARCHAR(50),
+    phone_number VARCHAR(20),
+    years_experience INT,
+    consultation_fee DECIMAL(10, 2),
+    office_location VARCHAR(200),
+    working_hours_start TIME,
+    working_hours_end TIME,
+    profile_image_url VARCHAR(500),
+    is_active BOOLEAN
+);
+MERGE INTO doctors KEY (doctor_id) VALUES
+(900, 'replica.only@example.com', 'Replica', 'Only', 'Replica Medicine', 'RPL-900', '+15550000900',
+ 5, 100.00, 'Replica Wing', TIME '09:00:00', TIME '17:00:00', NULL, TRUE);